@@ -1,19 +1,28 @@
 package edu.cit.taskbounty.controller;
 
+import edu.cit.taskbounty.dto.UserProfileView;
 import edu.cit.taskbounty.dto.UserUpdateDTO;
 import edu.cit.taskbounty.model.User;
+import edu.cit.taskbounty.ratelimit.LoginAttemptTracker;
 import edu.cit.taskbounty.repository.UserRepository;
+import edu.cit.taskbounty.security.AuthenticatedUser;
 import edu.cit.taskbounty.service.AuthService;
+import edu.cit.taskbounty.service.CustomUserDetailsService;
+import edu.cit.taskbounty.service.PasswordHashingService;
+import edu.cit.taskbounty.service.ServiceBusyException;
+import edu.cit.taskbounty.service.TokenRevocationService;
+import edu.cit.taskbounty.util.ClientIpResolver;
 import edu.cit.taskbounty.util.JwtUtil;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.*;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import java.util.Date;
 import java.util.Map;
 import java.util.Optional;
 
@@ -31,7 +40,19 @@ public class AuthController {
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private LoginAttemptTracker loginAttemptTracker;
+
+    @Autowired
+    private ClientIpResolver clientIpResolver;
 
     @PostMapping("/register")
     public ResponseEntity<?> register(@Valid @RequestBody User user) {
@@ -48,6 +69,8 @@ public class AuthController {
                             "message", "User registered successfully. Please verify your email."
                     )
             ));
+        } catch (ServiceBusyException e) {
+            return serviceBusy(e);
         } catch (Exception e) {
             return ResponseEntity.status(401).body(Map.of("status", "error", "message", e.getMessage()));
         }
@@ -61,22 +84,28 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody Map<String, String> credentials) {
+    public ResponseEntity<?> login(@RequestBody Map<String, String> credentials, HttpServletRequest request) {
         String identifier = credentials.get("identifier");
         String password = credentials.get("password");
+        String clientIp = clientIpResolver.resolve(request);
+
+        // Locked-out identifiers and IPs are turned away before the user lookup and BCrypt verification
+        long lockedFor = loginAttemptTracker.lockedForSeconds(identifier, clientIp, System.currentTimeMillis());
+        if (lockedFor > 0) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(lockedFor))
+                    .body(Map.of("status", "error",
+                            "message", "Too many failed login attempts. Please try again in " + lockedFor + " seconds."));
+        }
 
         try {
             Optional<User> userOpt = authService.login(identifier, password);
             if (userOpt.isPresent()) {
                 User user = userOpt.get();
-                String token = jwtUtil.generateJwtToken(user.getUsername());
+                loginAttemptTracker.recordSuccess(identifier);
+                String token = jwtUtil.generateJwtToken(user);
 
-                ResponseCookie jwtCookie = ResponseCookie.from("jwt", token)
-                        .httpOnly(true)
-                        .secure(true)
-                        .path("/")
-                        .maxAge(24 * 60 * 60)
-                        .build();
+                ResponseCookie jwtCookie = jwtCookie(token, 24 * 60 * 60);
 
                 return ResponseEntity.ok()
                         .header(HttpHeaders.SET_COOKIE, jwtCookie.toString())
@@ -89,12 +118,26 @@ public class AuthController {
                                 )
                         ));
             }
+            loginAttemptTracker.recordFailure(identifier, clientIp, System.currentTimeMillis());
             return ResponseEntity.status(401).body(Map.of("status", "error", "message", "Invalid username/email or password"));
+        } catch (ServiceBusyException e) {
+            return serviceBusy(e);
         } catch (Exception e) {
             return ResponseEntity.status(401).body(Map.of("status", "error", "message", e.getMessage()));
         }
     }
 
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout() {
+        AuthenticatedUser principal = AuthenticatedUser.current();
+        if (principal != null) {
+            tokenRevocationService.revoke(principal.getTokenId(), principal.getId(), principal.getTokenExpiresAt());
+        }
+        return ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, jwtCookie("", 0).toString())
+                .body(Map.of("status", "success", "message", "Logged out"));
+    }
+
     @PostMapping("/resend_code")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<String> resendVerificationCode() {
@@ -129,8 +172,9 @@ public class AuthController {
                         .body(Map.of("status", "error", "message", "At least one field must be provided"));
             }
 
-            String username = getAuthenticatedUsername();
-            User user = userRepository.findByUsername(username);
+            AuthenticatedUser principal = getAuthenticatedUser();
+            String username = principal.getUsername();
+            User user = userRepository.findById(principal.getId()).orElse(null);
 
             if (user == null) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -139,16 +183,12 @@ public class AuthController {
 
             // Update fields if provided
             if (updateDTO.getPassword() != null) {
-                user.setPassword(passwordEncoder.encode(updateDTO.getPassword()));
+                user.setPassword(passwordHashingService.encode(updateDTO.getPassword()));
+                user.setTokensValidAfter(new Date()); // Signs out every session issued before the change
             }
 
             if (updateDTO.getUsername() != null) {
-                if (userRepository.findByUsername(updateDTO.getUsername()) != null &&
-                        !updateDTO.getUsername().equals(username)) {
-                    return ResponseEntity.status(HttpStatus.CONFLICT)
-                            .body(Map.of("status", "error", "message", "Username already exists"));
-                }
-                user.setUsername(updateDTO.getUsername());
+                user.setUsername(updateDTO.getUsername()); // Uniqueness is enforced by the index on save
             }
 
             if (updateDTO.getCountryCode() != null) {
@@ -159,9 +199,21 @@ public class AuthController {
                 user.setBirthDate(updateDTO.getBirthDate());
             }
 
-            userRepository.save(user);
+            try {
+                userRepository.save(user);
+            } catch (DuplicateKeyException e) {
+                return ResponseEntity.status(HttpStatus.CONFLICT)
+                        .body(Map.of("status", "error", "message", AuthService.duplicateMessage(e)));
+            }
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (updateDTO.getPassword() != null || updateDTO.getUsername() != null) {
+                userDetailsService.evict(username); // Cached credentials are stale now
+                // This session's token is now cut off or names the old username; replace it
+                tokenRevocationService.revoke(principal.getTokenId(), user.getId(), principal.getTokenExpiresAt());
+                response.header(HttpHeaders.SET_COOKIE, jwtCookie(jwtUtil.generateJwtToken(user), 24 * 60 * 60).toString());
+            }
 
-            return ResponseEntity.ok()
+            return response
                     .body(Map.of(
                             "status", "success",
                             "data", Map.of(
@@ -174,6 +226,8 @@ public class AuthController {
                             )
                     ));
 
+        } catch (ServiceBusyException e) {
+            return serviceBusy(e);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of("status", "error", "message", e.getMessage()));
@@ -183,67 +237,74 @@ public class AuthController {
     @GetMapping("/profile")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<?> getCurrentUserProfile() {
-        try {
-            String username = getAuthenticatedUsername();
-            User user = userRepository.findByUsername(username);
-
-            if (user == null) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                        .body(Map.of("status", "error", "message", "User not found"));
-            }
-
-            return ResponseEntity.ok()
-                    .body(Map.of(
-                            "status", "success",
-                            "data", Map.of(
-                                    "userId", user.getId(),
-                                    "username", user.getUsername(),
-                                    "email", user.getEmail(),
-                                    "birthDate", user.getBirthDate(),
-                                    "countryCode", user.getCountryCode(),
-                                    "verified", user.isVerified(),
-                                    "dateCreated", user.getDateCreated()
-                            )
-                    ));
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(Map.of("status", "error", "message", e.getMessage()));
-        }
+        return profileResponse(getAuthenticatedUser().getId());
     }
 
     @GetMapping("/profile/{userId}")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<?> getUserProfileById(@PathVariable String userId) {
+        return profileResponse(userId);
+    }
+
+    /**
+     * Reads only the exposed profile fields and attaches validators; a client revalidating with a matching
+     * {@code If-None-Match} or {@code If-Modified-Since} gets a 304 without a body.
+     */
+    private ResponseEntity<?> profileResponse(String userId) {
         try {
-            Optional<User> userOpt = userRepository.findById(userId);
+            Optional<UserProfileView> profileOpt = userRepository.findProfileById(userId);
 
-            if (userOpt.isEmpty()) {
+            if (profileOpt.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body(Map.of("status", "error", "message", "User not found"));
             }
 
-            User user = userOpt.get();
-            return ResponseEntity.ok()
-                    .body(Map.of(
-                            "status", "success",
-                            "data", Map.of(
-                                    "userId", user.getId(),
-                                    "username", user.getUsername(),
-                                    "email", user.getEmail(),
-                                    "birthDate", user.getBirthDate(),
-                                    "countryCode", user.getCountryCode(),
-                                    "verified", user.isVerified(),
-                                    "dateCreated", user.getDateCreated()
-                            )
-                    ));
+            UserProfileView profile = profileOpt.get();
+            Map<String, Object> data = Map.of(
+                    "userId", profile.getId(),
+                    "username", profile.getUsername(),
+                    "email", profile.getEmail(),
+                    "birthDate", profile.getBirthDate(),
+                    "countryCode", profile.getCountryCode(),
+                    "verified", profile.isVerified(),
+                    "dateCreated", profile.getDateCreated()
+            );
+
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    // Hashed from the content, so it also changes on writes that bypass auditing
+                    .eTag(Integer.toHexString(data.hashCode()))
+                    .cacheControl(CacheControl.noCache().cachePrivate());
+            if (profile.getUpdatedAt() != null) {
+                response.lastModified(profile.getUpdatedAt().getTime());
+            }
+            // Spring answers 304 itself when the request's validators match these headers
+            return response.body(Map.of("status", "success", "data", data));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of("status", "error", "message", e.getMessage()));
         }
     }
 
+    private ResponseEntity<?> serviceBusy(ServiceBusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("status", "error", "message", e.getMessage()));
+    }
+
+    private ResponseCookie jwtCookie(String token, long maxAgeSeconds) {
+        return ResponseCookie.from("jwt", token)
+                .httpOnly(true)
+                .secure(true)
+                .path("/")
+                .maxAge(maxAgeSeconds)
+                .build();
+    }
+
     private String getAuthenticatedUsername() {
-        UserDetails userDetails = (UserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        return userDetails.getUsername();
+        return getAuthenticatedUser().getUsername();
+    }
+
+    private AuthenticatedUser getAuthenticatedUser() {
+        return (AuthenticatedUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
     }
 }
\ No newline at end of file
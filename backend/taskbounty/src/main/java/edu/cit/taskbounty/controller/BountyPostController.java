@@ -1,20 +1,21 @@
 package edu.cit.taskbounty.controller;
 
+import edu.cit.taskbounty.dto.BountyPostFeed;
 import edu.cit.taskbounty.dto.BountyPostRequest;
+import edu.cit.taskbounty.dto.BountyPostSummary;
 import edu.cit.taskbounty.model.BountyPost;
-import edu.cit.taskbounty.model.User;
-import edu.cit.taskbounty.repository.UserRepository;
+import edu.cit.taskbounty.security.AuthenticatedUser;
 import edu.cit.taskbounty.service.BountyPostService;
+import edu.cit.taskbounty.service.TitleAutocompleteIndex;
 import org.bson.types.ObjectId;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
 import static org.springframework.http.HttpStatus.UNAUTHORIZED;
@@ -24,12 +25,11 @@ import static org.springframework.http.HttpStatus.UNAUTHORIZED;
 public class BountyPostController {
 
     private final BountyPostService bountyPostService;
+    private final TitleAutocompleteIndex titleAutocompleteIndex;
 
-    private final UserRepository userRepository;
-
-    public BountyPostController(BountyPostService bountyPostService, UserRepository userRepository) {
+    public BountyPostController(BountyPostService bountyPostService, TitleAutocompleteIndex titleAutocompleteIndex) {
         this.bountyPostService = bountyPostService;
-        this.userRepository = userRepository;
+        this.titleAutocompleteIndex = titleAutocompleteIndex;
     }
 
     @PostMapping
@@ -50,10 +50,10 @@ public class BountyPostController {
 
     @GetMapping("/draft")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<Page<BountyPost>> getDraftBountyPosts(
+    public ResponseEntity<Page<BountyPostSummary>> getDraftBountyPosts(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "25") int size) {
-        Page<BountyPost> draftPosts = bountyPostService.getDraftBountyPosts(page, size);
+        Page<BountyPostSummary> draftPosts = bountyPostService.getDraftBountyPosts(page, size);
         return new ResponseEntity<>(draftPosts, HttpStatus.OK);
     }
 
@@ -68,15 +68,53 @@ public class BountyPostController {
     }
 
     @GetMapping
-    public ResponseEntity<Page<BountyPost>> getBountyPosts(
+    public ResponseEntity<Page<BountyPostSummary>> getBountyPosts(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "25") int size,
             @RequestParam(defaultValue = "most_upvoted") String sortBy,
             @RequestParam(required = false) String search) {
-        Page<BountyPost> posts = bountyPostService.getBountyPosts(page, size, sortBy, search);
+        Page<BountyPostSummary> posts = bountyPostService.getBountyPosts(page, size, sortBy, search);
         return new ResponseEntity<>(posts, HttpStatus.OK);
     }
 
+    /**
+     * Cursor-paginated public feed: pass {@code nextCursor} from a response as {@code cursor} to continue.
+     */
+    @GetMapping("/feed")
+    public ResponseEntity<?> getBountyPostFeed(
+            @RequestParam(defaultValue = "most_upvoted") String sortBy,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "25") int size) {
+        try {
+            BountyPostFeed feed = bountyPostService.getBountyPostFeed(sortBy, cursor, size);
+            return ResponseEntity.ok(feed);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Title suggestions for the search box, served from memory (at most 10).
+     */
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<TitleAutocompleteIndex.Suggestion>> autocomplete(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "8") int limit) {
+        return ResponseEntity.ok(titleAutocompleteIndex.suggest(query, Math.max(1, Math.min(limit, 10))));
+    }
+
+    /**
+     * The current user's vote on each of the given posts (at most 100), so feed payloads don't need voter lists.
+     */
+    @GetMapping("/votes")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> getVoteStates(@RequestParam("ids") List<String> ids) {
+        if (ids.size() > 100) {
+            return ResponseEntity.badRequest().body("At most 100 post IDs per request");
+        }
+        return ResponseEntity.ok(bountyPostService.getVoteStates(ids));
+    }
+
     @GetMapping("/my_posts")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<?> getMyBountyPosts(
@@ -85,14 +123,12 @@ public class BountyPostController {
             @RequestParam(defaultValue = "most_upvoted") String sortBy,
             @RequestParam(required = false) String search) {
         try {
-            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            String username = auth.getName();
-            User user = userRepository.findByUsername(username);
+            AuthenticatedUser user = AuthenticatedUser.current();
             if (user == null) {
                 return ResponseEntity.status(UNAUTHORIZED).body("User not authenticated");
             }
 
-            Page<BountyPost> posts = bountyPostService.getBountyPostsByCreatorId(user.getId(), page, size, sortBy, search);
+            Page<BountyPostSummary> posts = bountyPostService.getBountyPostsByCreatorId(user.getId(), page, size, sortBy, search);
             return ResponseEntity.ok(posts);
         } catch (Exception e) {
             return ResponseEntity.status(INTERNAL_SERVER_ERROR).body("Unexpected error fetching bounty posts");
@@ -1,9 +1,8 @@
 package edu.cit.taskbounty.controller;
 
 import edu.cit.taskbounty.model.Comment;
-import edu.cit.taskbounty.model.User;
 import edu.cit.taskbounty.repository.BountyPostRepository;
-import edu.cit.taskbounty.repository.UserRepository;
+import edu.cit.taskbounty.security.AuthenticatedUser;
 import edu.cit.taskbounty.service.CommentService;
 import edu.cit.taskbounty.dto.CommentRequest;
 import org.bson.types.ObjectId;
@@ -15,8 +14,6 @@ import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -29,9 +26,6 @@ public class CommentController {
     @Autowired
     private CommentService commentService;
 
-    @Autowired
-    private UserRepository userRepository;
-
     @Autowired
     private BountyPostRepository bountyPostRepository;
 
@@ -43,9 +37,7 @@ public class CommentController {
         if (!ObjectId.isValid(postId)) {
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-        User user = userRepository.findByUsername(username);
+        AuthenticatedUser user = AuthenticatedUser.current();
         if (user == null) {
             return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
         }
@@ -135,9 +127,7 @@ public class CommentController {
     public ResponseEntity<Comment> updateComment(
             @PathVariable("commentId") String commentId,
             @RequestBody CommentRequest commentRequest) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-        User user = userRepository.findByUsername(username);
+        AuthenticatedUser user = AuthenticatedUser.current();
         if (user == null) {
             return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
         }
@@ -161,9 +151,7 @@ public class CommentController {
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<Void> deleteComment(
             @PathVariable("commentId") String commentId) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-        User user = userRepository.findByUsername(username);
+        AuthenticatedUser user = AuthenticatedUser.current();
         if (user == null) {
             return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
         }
@@ -0,0 +1,146 @@
+package edu.cit.taskbounty.controller;
+
+import edu.cit.taskbounty.ratelimit.LoginAttemptTracker;
+import edu.cit.taskbounty.ratelimit.RateLimitMetrics;
+import edu.cit.taskbounty.ratelimit.RateLimiterStore;
+import edu.cit.taskbounty.service.CustomUserDetailsService;
+import edu.cit.taskbounty.service.EmailOutboxSender;
+import edu.cit.taskbounty.service.PasswordHashingService;
+import edu.cit.taskbounty.service.TokenRevocationService;
+import edu.cit.taskbounty.service.VoteAggregator;
+import edu.cit.taskbounty.util.VerifiedClaimsCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/metrics")
+public class MetricsController {
+
+    // Operator endpoints: disabled (404) unless metrics.token is set, then requires it in X-Metrics-Token
+    @Value("${metrics.token:}")
+    private String metricsToken;
+
+    @Autowired
+    private RateLimitMetrics rateLimitMetrics;
+
+    @Autowired
+    private RateLimiterStore rateLimiterStore;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private VerifiedClaimsCache verifiedClaimsCache;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private LoginAttemptTracker loginAttemptTracker;
+
+    @Autowired
+    private EmailOutboxSender emailOutboxSender;
+
+    @Autowired
+    private VoteAggregator voteAggregator;
+
+    @GetMapping("/rate_limit")
+    public ResponseEntity<?> getRateLimitMetrics(
+            @RequestHeader(value = "X-Metrics-Token", required = false) String token,
+            @RequestParam(value = "top", defaultValue = "20") int top) {
+        ResponseEntity<?> denied = checkToken(token);
+        if (denied != null) {
+            return denied;
+        }
+
+        Map<String, Object> data = new LinkedHashMap<>(rateLimitMetrics.snapshot(Math.max(1, Math.min(top, rateLimitMetrics.getTopCapacity()))));
+        data.put("store", Map.of(
+                "size", rateLimiterStore.size(),
+                "maxEntries", rateLimiterStore.getMaxEntries(),
+                "idleEvictions", rateLimiterStore.getIdleEvictions(),
+                "capacityEvictions", rateLimiterStore.getCapacityEvictions()));
+        return ResponseEntity.ok(Map.of("status", "success", "data", data));
+    }
+
+    @GetMapping("/auth")
+    public ResponseEntity<?> getAuthMetrics(@RequestHeader(value = "X-Metrics-Token", required = false) String token) {
+        ResponseEntity<?> denied = checkToken(token);
+        if (denied != null) {
+            return denied;
+        }
+
+        long hits = userDetailsService.getHits();
+        long misses = userDetailsService.getMisses();
+        return ResponseEntity.ok(Map.of("status", "success", "data", Map.of(
+                "userDetailsCache", Map.of(
+                        "hits", hits,
+                        "misses", misses,
+                        "hitRatio", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses),
+                        "size", userDetailsService.getCacheSize()),
+                "verifiedClaimsCache", Map.of(
+                        "size", verifiedClaimsCache.size()),
+                "tokenRevocation", Map.of(
+                        "filterHits", tokenRevocationService.getFilterHits(),
+                        "confirmedRevocations", tokenRevocationService.getConfirmedRevocations()),
+                "passwordHashing", Map.of(
+                        "active", passwordHashingService.getActiveCount(),
+                        "queued", passwordHashingService.getQueueDepth(),
+                        "rejected", passwordHashingService.getRejected(),
+                        "rehashed", passwordHashingService.getRehashed()),
+                "loginAttempts", Map.of(
+                        "tracked", loginAttemptTracker.size(),
+                        "failures", loginAttemptTracker.getFailuresRecorded(),
+                        "lockedRejections", loginAttemptTracker.getLockedRejections(),
+                        "evicted", loginAttemptTracker.getEvicted()),
+                "emailOutbox", Map.of(
+                        "pending", emailOutboxSender.getPending(),
+                        "sent", emailOutboxSender.getSent(),
+                        "retried", emailOutboxSender.getRetried(),
+                        "abandoned", emailOutboxSender.getAbandoned()))));
+    }
+
+    @GetMapping("/votes")
+    public ResponseEntity<?> getVoteMetrics(@RequestHeader(value = "X-Metrics-Token", required = false) String token) {
+        ResponseEntity<?> denied = checkToken(token);
+        if (denied != null) {
+            return denied;
+        }
+
+        long votes = voteAggregator.getVotesRecorded();
+        long written = voteAggregator.getDocumentsWritten();
+        return ResponseEntity.ok(Map.of("status", "success", "data", Map.of(
+                "votesRecorded", votes,
+                "postDocumentsWritten", written,
+                // Post document writes per vote; 1.0 would mean no aggregation at all
+                "writeAmplification", votes == 0 ? 0.0 : (double) written / votes,
+                "flushes", voteAggregator.getFlushes(),
+                "flushFailures", voteAggregator.getFlushFailures(),
+                "pendingPosts", voteAggregator.getPendingPosts(),
+                "unreconciledPosts", voteAggregator.getUnreconciledPosts(),
+                "reconciled", voteAggregator.getReconciled(),
+                "unrepairedPosts", voteAggregator.getUnrepairedPosts(),
+                "repaired", voteAggregator.getRepaired())));
+    }
+
+    private ResponseEntity<?> checkToken(String token) {
+        if (metricsToken.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (token == null || !MessageDigest.isEqual(
+                metricsToken.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8))) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("status", "error", "message", "Invalid metrics token"));
+        }
+        return null;
+    }
+}
@@ -2,8 +2,7 @@ package edu.cit.taskbounty.controller;
 
 import edu.cit.taskbounty.dto.SubmitSolutionDTO;
 import edu.cit.taskbounty.model.Solution;
-import edu.cit.taskbounty.model.User;
-import edu.cit.taskbounty.repository.UserRepository;
+import edu.cit.taskbounty.security.AuthenticatedUser;
 import edu.cit.taskbounty.service.BountyPostService;
 import edu.cit.taskbounty.service.SolutionService;
 import org.bson.types.ObjectId;
@@ -15,8 +14,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import static org.springframework.http.HttpStatus.*;
@@ -29,13 +26,11 @@ public class SolutionController {
 
     private final SolutionService solutionService;
     private final BountyPostService bountyPostService;
-    private final UserRepository userRepository;
 
     @Autowired
-    public SolutionController(SolutionService solutionService, BountyPostService bountyPostService, UserRepository userRepository) {
+    public SolutionController(SolutionService solutionService, BountyPostService bountyPostService) {
         this.solutionService = solutionService;
         this.bountyPostService = bountyPostService;
-        this.userRepository = userRepository;
     }
 
     /**
@@ -85,12 +80,9 @@ public class SolutionController {
             @RequestParam(defaultValue = "10") int size) {
         logger.info("Fetching solutions for authenticated user, page: {}, size: {}", page, size);
         try {
-            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            String username = auth.getName();
-            logger.debug("Fetching user: {}", username);
-            User user = userRepository.findByUsername(username);
+            AuthenticatedUser user = AuthenticatedUser.current();
             if (user == null) {
-                logger.error("User not found: {}", username);
+                logger.error("No authenticated user");
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("User not authenticated");
             }
 
@@ -12,6 +12,7 @@ import edu.cit.taskbounty.model.User;
 import edu.cit.taskbounty.repository.BountyPostRepository;
 import edu.cit.taskbounty.repository.SolutionRepository;
 import edu.cit.taskbounty.repository.UserRepository;
+import edu.cit.taskbounty.security.AuthenticatedUser;
 import edu.cit.taskbounty.service.BountyPostService;
 import edu.cit.taskbounty.service.ProcessedDonationService;
 import edu.cit.taskbounty.service.SolutionService;
@@ -24,8 +25,6 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
@@ -66,12 +65,9 @@ public class StripeController {
     public ResponseEntity<?> createCheckoutSession(@PathVariable String bountyPostId) {
         logger.info("Creating checkout session for bountyPostId: {}", bountyPostId);
         try {
-            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            String username = auth.getName();
-            logger.debug("Fetching current user: {}", username);
-            User currentUser = userRepository.findByUsername(username);
+            AuthenticatedUser currentUser = AuthenticatedUser.current();
             if (currentUser == null) {
-                logger.warn("User {} not found", username);
+                logger.warn("No authenticated user");
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body("User not found");
             }
@@ -134,16 +130,16 @@ public class StripeController {
             logger.debug("Retrieving Stripe session: {}", session_id);
             Session session = Session.retrieve(session_id);
             if ("paid".equals(session.getPaymentStatus()) && bountyPostId.equals(session.getMetadata().get("bountyPostId"))) {
+                // The browser redirect from Stripe may arrive without the session cookie; the paid session is the proof
                 logger.debug("Fetching bounty post: {}", bountyPostId);
-                ResponseEntity<BountyPost> bountyPostResponse = bountyPostService.getBountyPostById(new ObjectId(bountyPostId));
-                if (bountyPostResponse.getStatusCode() != HttpStatus.OK || bountyPostResponse.getBody() == null) {
-                    logger.warn("Bounty post {} not found or inaccessible", bountyPostId);
-                    return ResponseEntity.status(bountyPostResponse.getStatusCode())
+                Optional<BountyPost> bountyPost = bountyPostService.findBountyPostForPayment(new ObjectId(bountyPostId));
+                if (bountyPost.isEmpty()) {
+                    logger.warn("Bounty post {} not found", bountyPostId);
+                    return ResponseEntity.status(HttpStatus.NOT_FOUND)
                             .body(Map.of("error", "Bounty post not found or inaccessible"));
                 }
-                BountyPost post = bountyPostResponse.getBody();
-                post.setPublic(true);
-                bountyPostRepository.save(post);
+                BountyPost post = bountyPost.get();
+                bountyPostService.publishBountyPost(post);
                 logger.info("Bounty post {} set to public", bountyPostId);
 
                 processedDonationService.markAsProcessed(session_id);
@@ -170,12 +166,9 @@ public class StripeController {
     public ResponseEntity<String> approveSolutionAndPayout(@RequestParam String solutionId) {
         logger.info("Approving solution and initiating payout for solutionId: {}", solutionId);
         try {
-            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            String username = auth.getName();
-            logger.debug("Fetching current user: {}", username);
-            User currentUser = userRepository.findByUsername(username);
+            AuthenticatedUser currentUser = AuthenticatedUser.current();
             if (currentUser == null) {
-                logger.warn("User {} not found", username);
+                logger.warn("No authenticated user");
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body("User not found");
             }
@@ -281,12 +274,9 @@ public class StripeController {
     public ResponseEntity<String> approveSolutionAndTransfer(@RequestParam String solutionId) {
         logger.info("Approving solution and initiating transfer for solutionId: {}", solutionId);
         try {
-            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            String username = auth.getName();
-            logger.debug("Fetching current user: {}", username);
-            User currentUser = userRepository.findByUsername(username);
+            AuthenticatedUser currentUser = AuthenticatedUser.current();
             if (currentUser == null) {
-                logger.warn("User {} not found", username);
+                logger.warn("No authenticated user");
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body("User not found");
             }
@@ -373,11 +363,12 @@ public class StripeController {
     @GetMapping("/onboarding")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<String> onboardUser() {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String username = auth.getName();
+        AuthenticatedUser currentUser = AuthenticatedUser.current();
 
         try {
-            User user = userRepository.findByUsername(username);
+            // The Stripe account ID is set after sign-up, so it is read fresh rather than carried on the principal
+            User user = userRepository.findById(currentUser.getId())
+                    .orElseThrow(() -> new RuntimeException("User not found"));
             logger.debug("Fetching user: {}", user.getId());
             if (user.getStripeAccountId() == null) {
                 logger.warn("User {} does not have a Stripe account", user.getId());
@@ -407,20 +398,16 @@ public class StripeController {
     public ResponseEntity<String> createAccount(@RequestParam String email) {
         logger.info("Creating Stripe account for email: {}", email);
         try {
-            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            String username = auth.getName();
-            logger.debug("Fetching current user: {}", username);
-            User user = userRepository.findByUsername(username);
+            AuthenticatedUser user = AuthenticatedUser.current();
             if (user == null) {
-                logger.warn("User {} not found", username);
+                logger.warn("No authenticated user");
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body("User not found");
             }
 
             logger.debug("Creating Express account with email: {}", email);
             Account account = stripeService.createExpressAccount(email);
-            user.setStripeAccountId(account.getId());
-            userRepository.save(user);
+            userRepository.findAndSetStripeAccountIdById(user.getId(), account.getId());
             logger.info("Stripe account created with ID: {}", account.getId());
 
             return ResponseEntity.ok("Account created with ID: " + account.getId());
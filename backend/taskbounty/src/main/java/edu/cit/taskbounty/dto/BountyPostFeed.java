@@ -0,0 +1,30 @@
+package edu.cit.taskbounty.dto;
+
+import java.util.List;
+
+/**
+ * One slice of the public feed. Pass {@code nextCursor} back to get the following slice; it is null on the last.
+ */
+public class BountyPostFeed {
+    private final List<BountyPostSummary> content;
+    private final String nextCursor;
+    private final boolean hasMore;
+
+    public BountyPostFeed(List<BountyPostSummary> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+    }
+
+    public List<BountyPostSummary> getContent() {
+        return content;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+}
@@ -0,0 +1,39 @@
+package edu.cit.taskbounty.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * A bounty post as shown in listings: the stored excerpt instead of the full markdown description. Read as a
+ * projection, so list queries never load descriptions; {@code GET /bounty_post/{id}} returns the full post.
+ */
+public class BountyPostSummary {
+    private String id;
+    private String creatorId;
+    private String title;
+    private String excerpt;
+    private BigDecimal bountyPrice;
+    private boolean isPublic;
+    private int upvotes;
+    private int downvotes;
+    private Instant createdAt;
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public String getCreatorId() { return creatorId; }
+    public void setCreatorId(String creatorId) { this.creatorId = creatorId; }
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+    public String getExcerpt() { return excerpt; }
+    public void setExcerpt(String excerpt) { this.excerpt = excerpt; }
+    public BigDecimal getBountyPrice() { return bountyPrice; }
+    public void setBountyPrice(BigDecimal bountyPrice) { this.bountyPrice = bountyPrice; }
+    public boolean isPublic() { return isPublic; }
+    public void setPublic(boolean isPublic) { this.isPublic = isPublic; }
+    public int getUpvotes() { return upvotes; }
+    public void setUpvotes(int upvotes) { this.upvotes = upvotes; }
+    public int getDownvotes() { return downvotes; }
+    public void setDownvotes(int downvotes) { this.downvotes = downvotes; }
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+}
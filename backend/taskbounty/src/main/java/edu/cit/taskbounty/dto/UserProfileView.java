@@ -0,0 +1,18 @@
+package edu.cit.taskbounty.dto;
+
+import java.util.Date;
+
+/**
+ * The publicly exposed profile fields of a user. Used as a repository projection, so the password hash and
+ * verification state are never read from the database for profile requests.
+ */
+public interface UserProfileView {
+    String getId();
+    String getUsername();
+    String getEmail();
+    Date getBirthDate();
+    String getCountryCode();
+    boolean isVerified();
+    Date getDateCreated();
+    Date getUpdatedAt();
+}
@@ -3,27 +3,49 @@ package edu.cit.taskbounty.model;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.math.BigDecimal;
 import java.time.Instant;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.regex.Pattern;
 
-@Document(collection = "bounty_posts")
+// language sets the stemmer and stop words used by the text index over title and description
+@Document(collection = "bounty_posts", language = "english")
+@CompoundIndexes({
+        // Public feed, sorted by votes or by age (either direction); _id is the keyset tie-breaker
+        @CompoundIndex(name = "public_upvotes_id", def = "{ 'isPublic': 1, 'upvotes': -1, '_id': -1 }"),
+        @CompoundIndex(name = "public_created_id", def = "{ 'isPublic': 1, 'createdAt': -1, '_id': -1 }"),
+        // A creator's drafts, newest first
+        @CompoundIndex(name = "creator_public_created", def = "{ 'creatorId': 1, 'isPublic': 1, 'createdAt': -1 }"),
+        // All of a creator's posts, sorted by age or by votes
+        @CompoundIndex(name = "creator_created", def = "{ 'creatorId': 1, 'createdAt': -1 }"),
+        @CompoundIndex(name = "creator_upvotes", def = "{ 'creatorId': 1, 'upvotes': -1 }")
+})
 public class BountyPost {
 
+    public static final int EXCERPT_LENGTH = 200;
+
+    private static final Pattern CODE_FENCE = Pattern.compile("```.*?```", Pattern.DOTALL);
+    private static final Pattern IMAGE = Pattern.compile("!\\[[^\\]]*]\\([^)]*\\)");
+    private static final Pattern LINK = Pattern.compile("\\[([^\\]]*)]\\([^)]*\\)");
+    private static final Pattern MARKUP = Pattern.compile("(?m)^\\s{0,3}(#{1,6}|>|[-*+]|\\d+\\.)\\s+|[*_`~]");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
     @Id
     private String id;
     private String creatorId; // Reference to the user who created the post
+    @TextIndexed(weight = 3) // A match in the title ranks above the same match in the description
     private String title;
+    @TextIndexed
     private String description; // Markdown content
+    private String excerpt; // Plain-text start of the description for listings, kept in step by setDescription
     private BigDecimal bountyPrice; // Total bounty price
     private boolean isPublic; // True after payment is confirmed
-    private int upvotes;
+    private int upvotes; // Counters only; who voted is kept in the votes collection (PostVote)
     private int downvotes;
-    private List<String> votedUp; // List of user IDs who upvoted
-    private List<String> votedDown; // List of user IDs who downvoted
     @CreatedDate
     private Instant createdAt;
     @LastModifiedDate
@@ -31,8 +53,6 @@ public class BountyPost {
 
     // Default constructor
     public BountyPost() {
-        this.votedUp = new ArrayList<>();
-        this.votedDown = new ArrayList<>();
     }
 
     // Parameterized constructor
@@ -40,12 +60,11 @@ public class BountyPost {
         this.creatorId = creatorId;
         this.title = title;
         this.description = description;
+        this.excerpt = excerptOf(description);
         this.bountyPrice = bountyPrice;
         this.isPublic = isPublic;
         this.upvotes = 0;
         this.downvotes = 0;
-        this.votedUp = new ArrayList<>();
-        this.votedDown = new ArrayList<>();
     }
 
     // Getters and Setters
@@ -56,7 +75,11 @@ public class BountyPost {
     public String getTitle() { return title; }
     public void setTitle(String title) { this.title = title; }
     public String getDescription() { return description; }
-    public void setDescription(String description) { this.description = description; }
+    public void setDescription(String description) {
+        this.description = description;
+        this.excerpt = excerptOf(description);
+    }
+    public String getExcerpt() { return excerpt; }
     public BigDecimal getBountyPrice() { return bountyPrice; }
     public void setBountyPrice(BigDecimal bountyPrice) { this.bountyPrice = bountyPrice; }
     public boolean isPublic() { return isPublic; }
@@ -65,16 +88,32 @@ public class BountyPost {
     public void setUpvotes(int upvotes) { this.upvotes = upvotes; }
     public int getDownvotes() { return downvotes; }
     public void setDownvotes(int downvotes) { this.downvotes = downvotes; }
-    public List<String> getVotedUp() { return votedUp; }
-    public void setVotedUp(List<String> votedUp) { this.votedUp = votedUp; }
-    public List<String> getVotedDown() { return votedDown; }
-    public void setVotedDown(List<String> votedDown) { this.votedDown = votedDown; }
 
     public Instant getCreatedAt() { return createdAt; }
     public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
     public Instant getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
 
+    /**
+     * Strips common markdown syntax from a description and cuts it at a word boundary near
+     * {@link #EXCERPT_LENGTH} characters.
+     */
+    public static String excerptOf(String markdown) {
+        if (markdown == null) {
+            return null;
+        }
+        String text = CODE_FENCE.matcher(markdown).replaceAll(" ");
+        text = IMAGE.matcher(text).replaceAll("");
+        text = LINK.matcher(text).replaceAll("$1");
+        text = MARKUP.matcher(text).replaceAll("");
+        text = WHITESPACE.matcher(text).replaceAll(" ").trim();
+        if (text.length() <= EXCERPT_LENGTH) {
+            return text;
+        }
+        int cut = text.lastIndexOf(' ', EXCERPT_LENGTH);
+        return text.substring(0, cut > EXCERPT_LENGTH / 2 ? cut : EXCERPT_LENGTH) + "…";
+    }
+
     public void topUpBounty(BigDecimal amount) {
         this.bountyPrice = this.bountyPrice.add(amount);
     }
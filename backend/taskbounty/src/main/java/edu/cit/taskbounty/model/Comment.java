@@ -1,16 +1,20 @@
 package edu.cit.taskbounty.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
 @Document(collection = "comments")
+@CompoundIndex(name = "post_created", def = "{ 'bountyPostId': 1, 'createdAt': -1 }")
 public class Comment {
     @Id
     private String id;
     @Field("bountyPostId")
     private String bountyPostId;
     @Field("parentCommentId")
+    @Indexed
     private String parentCommentId;
     @Field("authorId")
     private String authorId;
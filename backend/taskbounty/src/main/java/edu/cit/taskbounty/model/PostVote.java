@@ -0,0 +1,76 @@
+package edu.cit.taskbounty.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.TypeAlias;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * One user's vote on a bounty post. The ID is derived from the post and user, so a user holds at most one vote
+ * per post and recording it is a single-document upsert that never touches the (possibly hot) post document.
+ */
+@Document(collection = "votes")
+@TypeAlias("vote") // Stored in every ledger entry's _class; the full class name would be a fifth of the document
+@CompoundIndex(name = "post_user", def = "{ 'postId': 1, 'userId': 1 }", unique = true)
+public class PostVote {
+    public static final String UP = "UP";
+    public static final String DOWN = "DOWN";
+
+    @Id
+    private String id; // postId:userId
+    private String postId;
+    private String userId;
+    private String type;
+    @Indexed // Finds the posts voted on just before a restart, whose counters may have lost pending deltas
+    private Date votedAt;
+
+    public PostVote() {
+    }
+
+    public static String idFor(String postId, String userId) {
+        return postId + ":" + userId;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getPostId() {
+        return postId;
+    }
+
+    public void setPostId(String postId) {
+        this.postId = postId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Date getVotedAt() {
+        return votedAt;
+    }
+
+    public void setVotedAt(Date votedAt) {
+        this.votedAt = votedAt;
+    }
+}
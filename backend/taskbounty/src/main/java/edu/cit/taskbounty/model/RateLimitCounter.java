@@ -0,0 +1,46 @@
+package edu.cit.taskbounty.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * Cluster-wide request count for one rate-limit key in one fixed window.
+ */
+@Document(collection = "rate_limit_counters")
+public class RateLimitCounter {
+    @Id
+    private String id; // "<rate limit key>@<window index>"
+    private long count;
+    @Indexed(expireAfterSeconds = 0)
+    private Date expireAt; // Removed by the TTL monitor once the window can no longer affect a decision
+
+    public RateLimitCounter() {
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public Date getExpireAt() {
+        return expireAt;
+    }
+
+    public void setExpireAt(Date expireAt) {
+        this.expireAt = expireAt;
+    }
+}
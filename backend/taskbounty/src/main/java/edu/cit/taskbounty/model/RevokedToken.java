@@ -0,0 +1,63 @@
+package edu.cit.taskbounty.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * A JWT revoked before its expiry, identified by its {@code jti} claim.
+ */
+@Document(collection = "revoked_tokens")
+public class RevokedToken {
+    @Id
+    private String id; // Token ID (jti)
+    private String userId;
+    @Indexed
+    private Date revokedAt; // Lets other instances pick up new revocations incrementally
+    @Indexed(expireAfterSeconds = 0)
+    private Date expireAt; // The token's own expiry; after it the token is rejected anyway
+
+    public RevokedToken() {
+    }
+
+    public RevokedToken(String id, String userId, Date revokedAt, Date expireAt) {
+        this.id = id;
+        this.userId = userId;
+        this.revokedAt = revokedAt;
+        this.expireAt = expireAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public Date getRevokedAt() {
+        return revokedAt;
+    }
+
+    public void setRevokedAt(Date revokedAt) {
+        this.revokedAt = revokedAt;
+    }
+
+    public Date getExpireAt() {
+        return expireAt;
+    }
+
+    public void setExpireAt(Date expireAt) {
+        this.expireAt = expireAt;
+    }
+}
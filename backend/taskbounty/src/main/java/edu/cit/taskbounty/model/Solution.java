@@ -2,6 +2,8 @@ package edu.cit.taskbounty.model;
 
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.nio.file.Path;
@@ -10,6 +12,11 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Document(collection = "solutions")
+@CompoundIndexes({
+        @CompoundIndex(name = "post_created", def = "{ 'bountyPostId': 1, 'createdAt': -1 }"),
+        @CompoundIndex(name = "submitter_created", def = "{ 'submitterId': 1, 'createdAt': -1 }"),
+        @CompoundIndex(name = "post_approved", def = "{ 'bountyPostId': 1, 'approved': 1 }")
+})
 public class Solution {
 
     @Id
@@ -1,21 +1,46 @@
 package edu.cit.taskbounty.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.Date;
+import java.util.Locale;
 
 @Document(collection = "users")
 public class User {
+    public static final String USERNAME_INDEX = "normalized_username_unique";
+    public static final String EMAIL_INDEX = "normalized_email_unique";
+
     @Id
     private String id;
     private String username;
     private String email;
+    // Case-folded copies kept in step by the setters; the unique indexes make registration race-free.
+    // Sparse so legacy documents that could not be backfilled (case-variant duplicates) are left alone.
+    // Never bound from request JSON, or a client could claim someone else's normalized name or email.
+    @JsonIgnore
+    @Indexed(name = USERNAME_INDEX, unique = true, sparse = true)
+    private String normalizedUsername;
+    @JsonIgnore
+    @Indexed(name = EMAIL_INDEX, unique = true, sparse = true)
+    private String normalizedEmail;
+    // Set by the backfill on the accounts that lost a case-variant clash, so they can still sign in by exact value
+    @JsonIgnore
+    @Indexed(sparse = true)
+    private String legacyUsername;
+    @JsonIgnore
+    @Indexed(sparse = true)
+    private String legacyEmail;
     private String password; // Hash
     private Date birthDate;
     @CreatedDate
     private Date dateCreated;
+    @LastModifiedDate
+    private Date updatedAt;
     private long lastCodeSentTimestamp; // Timestamp of when the last verification code was sent
     private int resendAttempts; // Tracks the number of resend attempts
     private int verificationCode;
@@ -23,6 +48,7 @@ public class User {
     private boolean verified;
     private boolean disabled;
     private String stripeAccountId;
+    private Date tokensValidAfter; // Tokens issued before this (e.g. before a password change) are rejected
 
     public User() {
     }
@@ -30,7 +56,9 @@ public class User {
     public User(String id, String username, String email, String password, Date birthDate, Date dateCreated, long lastCodeSentTimestamp, int resendAttempts, int verificationCode, String countryCode, boolean verified, boolean disabled, String stripeAccountId) {
         this.id = id;
         this.username = username;
+        this.normalizedUsername = normalize(username);
         this.email = email;
+        this.normalizedEmail = normalize(email);
         this.password = password;
         this.birthDate = birthDate;
         this.dateCreated = dateCreated;
@@ -57,6 +85,8 @@ public class User {
 
     public void setUsername(String username) {
         this.username = username;
+        this.normalizedUsername = normalize(username);
+        this.legacyUsername = null;
     }
 
     public String getEmail() {
@@ -65,6 +95,23 @@ public class User {
 
     public void setEmail(String email) {
         this.email = email;
+        this.normalizedEmail = normalize(email);
+        this.legacyEmail = null;
+    }
+
+    public String getNormalizedUsername() {
+        return normalizedUsername;
+    }
+
+    public String getNormalizedEmail() {
+        return normalizedEmail;
+    }
+
+    /**
+     * The form usernames and emails are compared in: trimmed and lower-cased.
+     */
+    public static String normalize(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
     }
 
     public String getPassword() {
@@ -91,6 +138,14 @@ public class User {
         this.dateCreated = dateCreated;
     }
 
+    public Date getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Date updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
     public long getLastCodeSentTimestamp() {
         return lastCodeSentTimestamp;
     }
@@ -146,4 +201,12 @@ public class User {
     public void setStripeAccountId(String stripeAccountId) {
         this.stripeAccountId = stripeAccountId;
     }
+
+    public Date getTokensValidAfter() {
+        return tokensValidAfter;
+    }
+
+    public void setTokensValidAfter(Date tokensValidAfter) {
+        this.tokensValidAfter = tokensValidAfter;
+    }
 }
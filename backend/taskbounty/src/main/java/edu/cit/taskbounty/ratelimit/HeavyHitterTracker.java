@@ -0,0 +1,142 @@
+package edu.cit.taskbounty.ratelimit;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Space-Saving top-K tracker: approximate heaviest keys of an unbounded stream in constant memory.
+ * <p>
+ * Keys are hashed onto independent stripes, each a Space-Saving summary of up to {@code capacity} keys. An
+ * unmonitored key replaces the monitored key with the lowest count in its stripe and inherits that count as its
+ * possible overestimation. Over the records that reach a stripe, Space-Saving never underestimates a count and
+ * always monitors a key whose frequency exceeds {@code recorded / capacity}.
+ * <p>
+ * Recording never blocks: a thread that finds its stripe busy skips the update and counts it in
+ * {@link #getSkipped()}, so during a flood of rejections the tracker samples instead of serializing the
+ * rejecting threads behind one lock. Counts are therefore best-effort and may undercount a key's true frequency
+ * by up to the number of skipped records; the ranking stays meaningful because contention drops records
+ * regardless of key.
+ */
+public class HeavyHitterTracker {
+
+    private static final int STRIPES = 8;
+
+    private final int capacity;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final LongAdder total = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+
+    public HeavyHitterTracker(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(capacity);
+        }
+    }
+
+    public void record(String key) {
+        total.increment();
+        Stripe stripe = stripes[(key.hashCode() ^ (key.hashCode() >>> 16)) & (STRIPES - 1)];
+        if (!stripe.lock.tryLock()) {
+            skipped.increment();
+            return;
+        }
+        try {
+            stripe.record(key);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * The monitored keys, heaviest first, each with its estimated count and maximum overestimation.
+     */
+    public List<Map<String, Object>> top(int limit) {
+        List<Slot> sorted = new ArrayList<>();
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                stripe.slots.values().forEach(slot -> sorted.add(new Slot(slot.key, slot.count, slot.error)));
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        sorted.sort((a, b) -> Long.compare(b.count, a.count));
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Slot slot : sorted.subList(0, Math.min(limit, sorted.size()))) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("key", slot.key);
+            entry.put("count", slot.count);
+            entry.put("error", slot.error);
+            result.add(entry);
+        }
+        return result;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getTotal() {
+        return total.sum();
+    }
+
+    /**
+     * Records dropped because their stripe was busy; counts in {@link #top} may fall short of the true
+     * frequencies by up to this many.
+     */
+    public long getSkipped() {
+        return skipped.sum();
+    }
+
+    private static class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final int capacity;
+        private final Map<String, Slot> slots;
+
+        Stripe(int capacity) {
+            this.capacity = capacity;
+            this.slots = new HashMap<>(capacity * 2);
+        }
+
+        void record(String key) {
+            Slot slot = slots.get(key);
+            if (slot != null) {
+                slot.count++;
+                return;
+            }
+            if (slots.size() < capacity) {
+                slots.put(key, new Slot(key, 1, 0));
+                return;
+            }
+            // capacity is small, so a linear scan for the minimum is cheaper than maintaining a heap
+            Slot min = null;
+            for (Slot candidate : slots.values()) {
+                if (min == null || candidate.count < min.count) {
+                    min = candidate;
+                }
+            }
+            slots.remove(min.key);
+            slots.put(key, new Slot(key, min.count + 1, min.count));
+        }
+    }
+
+    private static class Slot {
+        private final String key;
+        private long count;
+        private final long error;
+
+        Slot(String key, long count, long error) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+        }
+    }
+}
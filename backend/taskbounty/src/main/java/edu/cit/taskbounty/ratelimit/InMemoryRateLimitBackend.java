@@ -0,0 +1,19 @@
+package edu.cit.taskbounty.ratelimit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Single-node backend: every instance enforces its limits on its own counts only.
+ */
+@Component
+@ConditionalOnProperty(name = "rate.limiting.backend", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRateLimitBackend implements RateLimitBackend {
+
+    @Override
+    public void reconcile(Map<String, SlidingWindowCounter> counters, long nowMillis) {
+        // Nothing to share
+    }
+}
@@ -0,0 +1,63 @@
+package edu.cit.taskbounty.ratelimit;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with power-of-two nanosecond buckets.
+ * <p>
+ * Bucket {@code i} counts samples in {@code [2^i, 2^(i+1))} ns. Recording is one {@link LongAdder#increment}
+ * so it can sit on the request path; percentiles are resolved to the upper bound of their bucket.
+ */
+public class LatencyHistogram {
+
+    private static final int BUCKETS = 40; // up to ~18 minutes, far beyond any filter latency
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder totalNanos = new LongAdder();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long nanos) {
+        long value = Math.max(1, nanos);
+        int bucket = Math.min(BUCKETS - 1, 63 - Long.numberOfLeadingZeros(value));
+        buckets[bucket].increment();
+        totalNanos.add(value);
+    }
+
+    public Map<String, Object> snapshot() {
+        long[] counts = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+            count += counts[i];
+        }
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("count", count);
+        snapshot.put("meanNanos", count == 0 ? 0 : totalNanos.sum() / count);
+        snapshot.put("p50Nanos", percentile(counts, count, 0.50));
+        snapshot.put("p99Nanos", percentile(counts, count, 0.99));
+        snapshot.put("p999Nanos", percentile(counts, count, 0.999));
+        return snapshot;
+    }
+
+    private static long percentile(long[] counts, long total, double quantile) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * quantile);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return (1L << (i + 1)) - 1;
+            }
+        }
+        return (1L << BUCKETS) - 1;
+    }
+}
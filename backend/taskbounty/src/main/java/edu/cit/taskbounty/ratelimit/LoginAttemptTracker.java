@@ -0,0 +1,149 @@
+package edu.cit.taskbounty.ratelimit;
+
+import edu.cit.taskbounty.util.ClockCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Failed-login tracker with exponential lockout, keyed by normalized identifier and by client IP.
+ * <p>
+ * Each key is one packed {@code long}: the time of the last failure in epoch seconds (upper 48 bits) and the
+ * number of consecutive failures (lower 16 bits). After the free failures, each further failure doubles the
+ * lockout, up to a cap. A key is forgotten once it has seen no failure for the reset period, and a successful
+ * login clears its identifier. IPs get more free failures than identifiers since many users can share one.
+ * <p>
+ * Counters live in a {@link ClockCache} of {@code security.login.tracker.max.entries}, so a failure is always
+ * counted: once full, the least recently failed or checked key is evicted to make room, with no scan on the login
+ * path. Expired counters are dropped by the periodic sweep.
+ */
+@Component
+public class LoginAttemptTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginAttemptTracker.class);
+
+    private static final int COUNT_BITS = 16;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final int identifierFreeFailures;
+    private final int ipFreeFailures;
+    private final long baseLockoutSeconds;
+    private final long maxLockoutSeconds;
+    private final long resetSeconds;
+    private final ClockCache<String, AtomicLong> failures;
+
+    private final LongAdder failuresRecorded = new LongAdder();
+    private final LongAdder lockedRejections = new LongAdder();
+
+    public LoginAttemptTracker(
+            @Value("${security.login.identifier.free.failures:5}") int identifierFreeFailures,
+            @Value("${security.login.ip.free.failures:20}") int ipFreeFailures,
+            @Value("${security.login.lockout.base.seconds:1}") long baseLockoutSeconds,
+            @Value("${security.login.lockout.max.seconds:900}") long maxLockoutSeconds,
+            @Value("${security.login.reset.seconds:3600}") long resetSeconds,
+            @Value("${security.login.tracker.max.entries:100000}") int maxEntries) {
+        this.identifierFreeFailures = identifierFreeFailures;
+        this.ipFreeFailures = ipFreeFailures;
+        this.baseLockoutSeconds = baseLockoutSeconds;
+        this.maxLockoutSeconds = maxLockoutSeconds;
+        this.resetSeconds = Math.max(resetSeconds, maxLockoutSeconds);
+        this.failures = new ClockCache<>(maxEntries);
+    }
+
+    public static String normalizeIdentifier(String identifier) {
+        return identifier == null ? "" : identifier.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @return Seconds until the identifier or IP may try again, or 0 if neither is locked out.
+     */
+    public long lockedForSeconds(String identifier, String ip, long nowMillis) {
+        long nowSeconds = nowMillis / 1000;
+        long locked = Math.max(
+                lockedFor(failures.get(identifierKey(identifier)), identifierFreeFailures, nowSeconds),
+                lockedFor(failures.get(ipKey(ip)), ipFreeFailures, nowSeconds));
+        if (locked > 0) {
+            lockedRejections.increment();
+        }
+        return locked;
+    }
+
+    public void recordFailure(String identifier, String ip, long nowMillis) {
+        long nowSeconds = nowMillis / 1000;
+        failuresRecorded.increment();
+        increment(identifierKey(identifier), nowSeconds);
+        increment(ipKey(ip), nowSeconds);
+    }
+
+    public void recordSuccess(String identifier) {
+        failures.remove(identifierKey(identifier));
+    }
+
+    @Scheduled(fixedDelayString = "${security.login.tracker.sweep.interval.ms:60000}")
+    public void sweepExpired() {
+        int removed = removeExpired(System.currentTimeMillis() / 1000);
+        if (removed > 0) {
+            logger.debug("Removed {} expired login failure counters, {} remaining", removed, failures.size());
+        }
+    }
+
+    public int size() {
+        return failures.size();
+    }
+
+    public long getFailuresRecorded() {
+        return failuresRecorded.sum();
+    }
+
+    public long getLockedRejections() {
+        return lockedRejections.sum();
+    }
+
+    /**
+     * Live counters evicted to make room for new keys while the tracker was full.
+     */
+    public long getEvicted() {
+        return failures.getEvictions();
+    }
+
+    private long lockedFor(AtomicLong state, int freeFailures, long nowSeconds) {
+        if (state == null) {
+            return 0;
+        }
+        long packed = state.get();
+        long lastFailure = packed >>> COUNT_BITS;
+        long count = packed & COUNT_MASK;
+        if (count <= freeFailures || nowSeconds - lastFailure >= resetSeconds) {
+            return 0;
+        }
+        long doublings = Math.min(count - freeFailures - 1, 30);
+        long lockout = Math.min(maxLockoutSeconds, baseLockoutSeconds << doublings);
+        return Math.max(0, lastFailure + lockout - nowSeconds);
+    }
+
+    private void increment(String key, long nowSeconds) {
+        failures.computeIfAbsent(key, k -> new AtomicLong()).updateAndGet(packed -> {
+            long lastFailure = packed >>> COUNT_BITS;
+            long count = nowSeconds - lastFailure >= resetSeconds ? 0 : packed & COUNT_MASK;
+            return (nowSeconds << COUNT_BITS) | Math.min(COUNT_MASK, count + 1);
+        });
+    }
+
+    private int removeExpired(long nowSeconds) {
+        return failures.removeIf(state -> nowSeconds - (state.get() >>> COUNT_BITS) >= resetSeconds);
+    }
+
+    private static String identifierKey(String identifier) {
+        return "id:" + normalizeIdentifier(identifier);
+    }
+
+    private static String ipKey(String ip) {
+        return "ip:" + ip;
+    }
+}
@@ -0,0 +1,149 @@
+package edu.cit.taskbounty.ratelimit;
+
+import edu.cit.taskbounty.model.RateLimitCounter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shares rate-limit counts between instances through the {@code rate_limit_counters} collection.
+ * <p>
+ * Each reconcile pushes the local increments accumulated since the last one as a single unordered bulk of
+ * {@code $inc} upserts, one document per key and fixed window, then reads back the cluster-wide counts of
+ * the active keys. Requests never wait on MongoDB; the enforced limit is global up to one reconcile interval
+ * of lag. If MongoDB is unreachable, instances keep enforcing their local counts and publish the backlog once
+ * it is reachable again.
+ */
+@Component
+@ConditionalOnProperty(name = "rate.limiting.backend", havingValue = "mongo")
+public class MongoRateLimitBackend implements RateLimitBackend {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoRateLimitBackend.class);
+
+    private static final int FETCH_BATCH_SIZE = 500;
+    private static final long EXPIRY_SLACK_MILLIS = 60_000;
+
+    private final MongoTemplate mongoTemplate;
+
+    public MongoRateLimitBackend(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+        logger.info("Rate limit counts are shared through MongoDB");
+    }
+
+    @Override
+    public void reconcile(Map<String, SlidingWindowCounter> counters, long nowMillis) {
+        List<ActiveKey> active = new ArrayList<>();
+        BulkOperations bulk = null;
+
+        for (Map.Entry<String, SlidingWindowCounter> entry : counters.entrySet()) {
+            SlidingWindowCounter counter = entry.getValue();
+            long windowMillis = counter.getWindowMillis();
+            if (nowMillis - counter.getLastAccessMillis() > 2 * windowMillis) {
+                continue; // Neither window can affect a decision any more
+            }
+            long window = nowMillis / windowMillis;
+            long[] counts = counter.unpublished(window);
+            ActiveKey key = new ActiveKey(entry.getKey(), counter, window, counts[0], counts[1]);
+            if (counts[2] > 0) {
+                bulk = increment(bulk, key.previousId(), counts[2], expiry(window - 1, windowMillis));
+            }
+            if (counts[3] > 0) {
+                bulk = increment(bulk, key.currentId(), counts[3], expiry(window, windowMillis));
+            }
+            active.add(key);
+        }
+        if (active.isEmpty()) {
+            return;
+        }
+
+        try {
+            if (bulk != null) {
+                bulk.execute();
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Failed to publish rate limit counts, enforcing local counts only: {}", e.getMessage());
+            return;
+        }
+        for (ActiveKey key : active) {
+            key.counter.markPublished(key.window, key.localPrevious, key.localCurrent);
+        }
+
+        try {
+            for (int from = 0; from < active.size(); from += FETCH_BATCH_SIZE) {
+                applyGlobalCounts(active.subList(from, Math.min(from + FETCH_BATCH_SIZE, active.size())));
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Failed to read cluster-wide rate limit counts: {}", e.getMessage());
+        }
+    }
+
+    private BulkOperations increment(BulkOperations bulk, String id, long delta, Date expireAt) {
+        if (bulk == null) {
+            bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, RateLimitCounter.class);
+        }
+        return bulk.upsert(
+                new Query(Criteria.where("_id").is(id)),
+                new Update().inc("count", delta).setOnInsert("expireAt", expireAt));
+    }
+
+    private void applyGlobalCounts(List<ActiveKey> keys) {
+        List<String> ids = new ArrayList<>(keys.size() * 2);
+        for (ActiveKey key : keys) {
+            ids.add(key.previousId());
+            ids.add(key.currentId());
+        }
+        Query query = new Query(Criteria.where("_id").in(ids));
+        query.fields().include("count");
+
+        Map<String, Long> globalCounts = new HashMap<>();
+        for (RateLimitCounter document : mongoTemplate.find(query, RateLimitCounter.class)) {
+            globalCounts.put(document.getId(), document.getCount());
+        }
+        for (ActiveKey key : keys) {
+            key.counter.applyGlobalCounts(key.window,
+                    globalCounts.getOrDefault(key.previousId(), 0L),
+                    globalCounts.getOrDefault(key.currentId(), 0L));
+        }
+    }
+
+    private static Date expiry(long window, long windowMillis) {
+        // A window stops mattering once the window after it has ended
+        return new Date((window + 2) * windowMillis + EXPIRY_SLACK_MILLIS);
+    }
+
+    private static class ActiveKey {
+        private final String key;
+        private final SlidingWindowCounter counter;
+        private final long window;
+        private final long localPrevious;
+        private final long localCurrent;
+
+        ActiveKey(String key, SlidingWindowCounter counter, long window, long localPrevious, long localCurrent) {
+            this.key = key;
+            this.counter = counter;
+            this.window = window;
+            this.localPrevious = localPrevious;
+            this.localCurrent = localCurrent;
+        }
+
+        String previousId() {
+            return key + "@" + (window - 1);
+        }
+
+        String currentId() {
+            return key + "@" + window;
+        }
+    }
+}
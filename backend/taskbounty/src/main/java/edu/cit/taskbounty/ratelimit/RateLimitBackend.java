@@ -0,0 +1,20 @@
+package edu.cit.taskbounty.ratelimit;
+
+import java.util.Map;
+
+/**
+ * Where rate-limit counts are shared between application instances.
+ * <p>
+ * Admission decisions are always made against local counters; a backend only reconciles them periodically,
+ * publishing this instance's increments and folding in everyone else's.
+ */
+public interface RateLimitBackend {
+
+    /**
+     * Publish unpublished local increments and refresh the counts contributed by other instances.
+     *
+     * @param counters  Live view of the local counters, keyed by rate-limit key.
+     * @param nowMillis Current wall-clock time in milliseconds.
+     */
+    void reconcile(Map<String, SlidingWindowCounter> counters, long nowMillis);
+}
@@ -0,0 +1,96 @@
+package edu.cit.taskbounty.ratelimit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Rate limiter telemetry: allow/deny counters per policy, decision latency histograms, the heaviest throttled
+ * clients and routes, and sampled rejection logging.
+ * <p>
+ * Everything is bounded: one counter pair per policy, fixed-size histograms and fixed-capacity top-K trackers,
+ * so an attack with many distinct clients cannot grow memory. At most one rejection is logged per sampling
+ * interval, together with how many were suppressed since the previous line.
+ */
+@Component
+public class RateLimitMetrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitMetrics.class);
+
+    private final Map<String, PolicyCounters> policies = new ConcurrentHashMap<>();
+    private final LatencyHistogram allowLatency = new LatencyHistogram();
+    private final LatencyHistogram denyLatency = new LatencyHistogram();
+    private final HeavyHitterTracker throttledClients;
+    private final HeavyHitterTracker throttledRoutes;
+    private final long logIntervalMillis;
+    private final AtomicLong lastLogMillis = new AtomicLong();
+    private final LongAdder suppressedLogs = new LongAdder();
+
+    public RateLimitMetrics(
+            @Value("${rate.limiting.metrics.top.capacity:64}") int topCapacity,
+            @Value("${rate.limiting.log.sample.interval.ms:10000}") long logIntervalMillis) {
+        this.throttledClients = new HeavyHitterTracker(topCapacity);
+        this.throttledRoutes = new HeavyHitterTracker(topCapacity);
+        this.logIntervalMillis = logIntervalMillis;
+    }
+
+    public void recordAllowed(RateLimitPolicy policy, long decisionNanos) {
+        countersFor(policy).allowed.increment();
+        allowLatency.record(decisionNanos);
+    }
+
+    public void recordRejected(RateLimitPolicy policy, String template, String subject, long decisionNanos, long nowMillis) {
+        countersFor(policy).rejected.increment();
+        denyLatency.record(decisionNanos);
+        throttledClients.record(subject);
+        throttledRoutes.record(template);
+
+        long last = lastLogMillis.get();
+        if (nowMillis - last >= logIntervalMillis && lastLogMillis.compareAndSet(last, nowMillis)) {
+            long suppressed = suppressedLogs.sumThenReset();
+            logger.warn("Rate limit exceeded for {} on {} ({} more rejections since last report)", subject, template, suppressed);
+        } else {
+            suppressedLogs.increment();
+        }
+    }
+
+    public Map<String, Object> snapshot(int top) {
+        Map<String, Object> perPolicy = new TreeMap<>();
+        policies.forEach((name, counters) -> perPolicy.put(name, Map.of(
+                "allowed", counters.allowed.sum(),
+                "rejected", counters.rejected.sum())));
+
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("policies", perPolicy);
+        snapshot.put("allowLatency", allowLatency.snapshot());
+        snapshot.put("denyLatency", denyLatency.snapshot());
+        snapshot.put("topThrottledClients", throttledClients.top(top));
+        snapshot.put("topThrottledRoutes", throttledRoutes.top(top));
+        snapshot.put("topSkippedRecords", throttledClients.getSkipped() + throttledRoutes.getSkipped());
+        return snapshot;
+    }
+
+    /**
+     * How many keys each top-K tracker can report.
+     */
+    public int getTopCapacity() {
+        return throttledClients.getCapacity();
+    }
+
+    private PolicyCounters countersFor(RateLimitPolicy policy) {
+        return policies.computeIfAbsent(policy.getName(), name -> new PolicyCounters());
+    }
+
+    private static class PolicyCounters {
+        private final LongAdder allowed = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+    }
+}
@@ -0,0 +1,48 @@
+package edu.cit.taskbounty.ratelimit;
+
+/**
+ * A request budget shared by one class of endpoints, e.g. cheap reads or expensive writes.
+ */
+public class RateLimitPolicy {
+
+    private final String name;
+    private final int maxRequests;
+    private final long windowMillis;
+    private final boolean perUser;
+
+    /**
+     * @param perUser Whether authenticated callers get their own budget. Policies that key by client IP only
+     *                never force the request's deferred authentication to be resolved.
+     */
+    public RateLimitPolicy(String name, int maxRequests, long windowSeconds, boolean perUser) {
+        if (maxRequests < 1 || maxRequests > SlidingWindowCounter.MAX_LIMIT || windowSeconds < 1) {
+            throw new IllegalArgumentException("Invalid rate limit policy " + name + ": maxRequests=" + maxRequests
+                    + ", windowSeconds=" + windowSeconds);
+        }
+        this.name = name;
+        this.maxRequests = maxRequests;
+        this.windowMillis = windowSeconds * 1000;
+        this.perUser = perUser;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxRequests() {
+        return maxRequests;
+    }
+
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    public boolean isPerUser() {
+        return perUser;
+    }
+
+    @Override
+    public String toString() {
+        return name + "(" + maxRequests + "/" + (windowMillis / 1000) + "s)";
+    }
+}
@@ -0,0 +1,118 @@
+package edu.cit.taskbounty.ratelimit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.http.HttpMethod.*;
+
+/**
+ * Route table mapping each API endpoint to the rate-limit policy of its endpoint class.
+ * <p>
+ * Cheap reads share a generous budget; writes a tighter one; writes that fan out to other systems or hot
+ * documents (votes, comments, Stripe calls) and authentication endpoints the tightest. Requests that match
+ * no route fall back to the read budget under a single shared template, so unknown paths cannot mint new keys.
+ * Reads are budgeted per client IP so that rate limiting them never forces JWT verification.
+ */
+@Component
+public class RateLimitPolicyRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitPolicyRegistry.class);
+
+    private final RateLimitRoute fallbackRoute;
+    private final Map<String, List<RateLimitRoute>> routesBySegment = new HashMap<>();
+
+    public RateLimitPolicyRegistry(
+            @Value("${rate.limiting.read.max.requests:300}") int readMaxRequests,
+            @Value("${rate.limiting.read.time.window.seconds:60}") long readWindowSeconds,
+            @Value("${rate.limiting.write.max.requests:60}") int writeMaxRequests,
+            @Value("${rate.limiting.write.time.window.seconds:60}") long writeWindowSeconds,
+            @Value("${rate.limiting.expensive.max.requests:10}") int expensiveMaxRequests,
+            @Value("${rate.limiting.expensive.time.window.seconds:60}") long expensiveWindowSeconds,
+            @Value("${rate.limiting.auth.max.requests:10}") int authMaxRequests,
+            @Value("${rate.limiting.auth.time.window.seconds:60}") long authWindowSeconds) {
+        RateLimitPolicy read = new RateLimitPolicy("read", readMaxRequests, readWindowSeconds, false);
+        RateLimitPolicy write = new RateLimitPolicy("write", writeMaxRequests, writeWindowSeconds, true);
+        RateLimitPolicy expensive = new RateLimitPolicy("expensive", expensiveMaxRequests, expensiveWindowSeconds, true);
+        RateLimitPolicy auth = new RateLimitPolicy("auth", authMaxRequests, authWindowSeconds, true);
+        this.fallbackRoute = new RateLimitRoute(GET, "/**", read);
+
+        // Literal paths are listed before templated siblings; the first match wins
+        List<RateLimitRoute> routes = List.of(
+                new RateLimitRoute(POST, "/auth/register", auth),
+                new RateLimitRoute(POST, "/auth/login", auth),
+                new RateLimitRoute(POST, "/auth/verify", auth),
+                new RateLimitRoute(POST, "/auth/resend_code", auth),
+                new RateLimitRoute(POST, "/auth/change_email", auth),
+                new RateLimitRoute(POST, "/auth/logout", write),
+                new RateLimitRoute(PATCH, "/auth/update", write),
+                new RateLimitRoute(GET, "/auth/profile", read),
+                new RateLimitRoute(GET, "/auth/profile/{userId}", read),
+
+                new RateLimitRoute(POST, "/bounty_post", write),
+                new RateLimitRoute(GET, "/bounty_post", read),
+                new RateLimitRoute(GET, "/bounty_post/draft", read),
+                new RateLimitRoute(GET, "/bounty_post/my_posts", read),
+                new RateLimitRoute(GET, "/bounty_post/feed", read),
+                new RateLimitRoute(GET, "/bounty_post/votes", read),
+                new RateLimitRoute(GET, "/bounty_post/autocomplete", read),
+                new RateLimitRoute(GET, "/bounty_post/{id}/draft", read),
+                new RateLimitRoute(GET, "/bounty_post/{id}", read),
+                new RateLimitRoute(POST, "/bounty_post/{id}/vote", expensive),
+                new RateLimitRoute(DELETE, "/bounty_post/{id}", write),
+
+                new RateLimitRoute(POST, "/comment/{postId}/bounty_post", expensive),
+                new RateLimitRoute(GET, "/comment/{postId}/bounty_post", read),
+                new RateLimitRoute(GET, "/comment/{postId}/bounty_post/{parentCommentId}", read),
+                new RateLimitRoute(GET, "/comment/{id}", read),
+                new RateLimitRoute(PUT, "/comment/{commentId}", write),
+                new RateLimitRoute(DELETE, "/comment/{commentId}", write),
+
+                new RateLimitRoute(POST, "/solutions/submit", write),
+                new RateLimitRoute(GET, "/solutions/my-solutions", read),
+                new RateLimitRoute(GET, "/solutions/{id}", read),
+                new RateLimitRoute(PATCH, "/solutions/{id}", write),
+                new RateLimitRoute(DELETE, "/solutions/{id}", write),
+
+                new RateLimitRoute(GET, "/stripe/checkout/{bountyPostId}", expensive),
+                new RateLimitRoute(GET, "/stripe/payment_success/bounty_post", expensive),
+                new RateLimitRoute(POST, "/stripe/approve_solution/payout", expensive),
+                new RateLimitRoute(POST, "/stripe/approve_solution/transfer", expensive),
+                new RateLimitRoute(GET, "/stripe/onboarding", expensive),
+                new RateLimitRoute(POST, "/stripe/create_account", expensive),
+
+                new RateLimitRoute(GET, "/metrics/rate_limit", read),
+                new RateLimitRoute(GET, "/metrics/auth", read),
+                new RateLimitRoute(GET, "/metrics/votes", read)
+        );
+        for (RateLimitRoute route : routes) {
+            routesBySegment.computeIfAbsent(route.getFirstSegment(), k -> new ArrayList<>()).add(route);
+        }
+        logger.info("Rate limit policies: {}, {}, {}, {}", read, write, expensive, auth);
+    }
+
+    /**
+     * Find the route for a request.
+     *
+     * @return The matching route, or a read-budget fallback route if none matches.
+     */
+    public RateLimitRoute resolve(String method, String requestUri) {
+        List<RateLimitRoute> candidates = routesBySegment.get(RateLimitRoute.firstSegment(requestUri));
+        if (candidates != null) {
+            PathContainer path = PathContainer.parsePath(requestUri);
+            for (RateLimitRoute route : candidates) {
+                if (route.matches(method, path)) {
+                    return route;
+                }
+            }
+        }
+        return fallbackRoute;
+    }
+}
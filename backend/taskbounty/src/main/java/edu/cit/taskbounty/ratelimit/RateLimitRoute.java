@@ -0,0 +1,46 @@
+package edu.cit.taskbounty.ratelimit;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+/**
+ * Binds an HTTP method and route template, such as {@code POST /bounty_post/{id}/vote}, to a policy.
+ */
+public class RateLimitRoute {
+
+    private final HttpMethod method;
+    private final PathPattern pattern;
+    private final RateLimitPolicy policy;
+    private final String template;
+
+    public RateLimitRoute(HttpMethod method, String pattern, RateLimitPolicy policy) {
+        this.method = method;
+        this.pattern = PathPatternParser.defaultInstance.parse(pattern);
+        this.policy = policy;
+        this.template = method.name() + " " + pattern;
+    }
+
+    public boolean matches(String method, PathContainer path) {
+        return this.method.matches(method) && pattern.matches(path);
+    }
+
+    public RateLimitPolicy getPolicy() {
+        return policy;
+    }
+
+    public String getTemplate() {
+        return template;
+    }
+
+    String getFirstSegment() {
+        return firstSegment(pattern.getPatternString());
+    }
+
+    static String firstSegment(String path) {
+        int start = path.startsWith("/") ? 1 : 0;
+        int end = path.indexOf('/', start);
+        return end < 0 ? path.substring(start) : path.substring(start, end);
+    }
+}
@@ -0,0 +1,160 @@
+package edu.cit.taskbounty.ratelimit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded map of rate-limit keys to their counters.
+ * <p>
+ * Lookups are a plain {@link ConcurrentHashMap#get}. Entries idle for longer than the configured idle time
+ * (and never less than two of their own windows, after which their count no longer matters) are removed by a
+ * periodic sweep. If a new key arrives while the store is at {@code maxEntries}, the least recently used
+ * fraction of entries is evicted inline so the store never grows past its cap by more than the number of
+ * concurrently inserting threads.
+ * <p>
+ * Counts are periodically reconciled with the configured {@link RateLimitBackend} so that limits hold across
+ * instances; the request path itself never leaves the process.
+ */
+@Component
+public class RateLimiterStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimiterStore.class);
+
+    private static final double CAPACITY_EVICTION_FRACTION = 0.1;
+
+    private final int maxEntries;
+    private final long idleMillis;
+    private final Map<String, SlidingWindowCounter> counters = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final RateLimitBackend backend;
+    private final LongAdder idleEvictions = new LongAdder();
+    private final LongAdder capacityEvictions = new LongAdder();
+
+    public RateLimiterStore(
+            RateLimitBackend backend,
+            @Value("${rate.limiting.store.max.entries:100000}") int maxEntries,
+            @Value("${rate.limiting.store.idle.seconds:300}") long idleSeconds) {
+        if (maxEntries < 1 || idleSeconds < 1) {
+            throw new IllegalArgumentException("Invalid rate limiter store configuration: maxEntries=" + maxEntries
+                    + ", idleSeconds=" + idleSeconds);
+        }
+        this.backend = backend;
+        this.maxEntries = maxEntries;
+        this.idleMillis = idleSeconds * 1000;
+        logger.info("RateLimiterStore initialized with maxEntries={} and idle={} seconds", maxEntries, idleSeconds);
+    }
+
+    /**
+     * Get the counter for a key, creating it with the given limits if absent.
+     */
+    public SlidingWindowCounter getOrCreate(String key, int maxRequests, long windowMillis, long nowMillis) {
+        SlidingWindowCounter counter = counters.get(key);
+        if (counter != null) {
+            return counter;
+        }
+        if (counters.size() >= maxEntries) {
+            evictForCapacity(nowMillis);
+        }
+        return counters.computeIfAbsent(key, k -> new SlidingWindowCounter(maxRequests, windowMillis));
+    }
+
+    @Scheduled(fixedDelayString = "${rate.limiting.store.sweep.interval.ms:30000}")
+    public void sweepIdleEntries() {
+        long removed = removeIdle(System.currentTimeMillis());
+        if (removed > 0) {
+            logger.debug("Removed {} idle rate limit entries, {} remaining", removed, counters.size());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${rate.limiting.sync.interval.ms:1000}")
+    public void reconcileWithBackend() {
+        backend.reconcile(counters, System.currentTimeMillis());
+    }
+
+    public int size() {
+        return counters.size();
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public long getIdleEvictions() {
+        return idleEvictions.sum();
+    }
+
+    public long getCapacityEvictions() {
+        return capacityEvictions.sum();
+    }
+
+    private long removeIdle(long nowMillis) {
+        long removed = 0;
+        Iterator<SlidingWindowCounter> it = counters.values().iterator();
+        while (it.hasNext()) {
+            SlidingWindowCounter counter = it.next();
+            if (isIdle(counter, nowMillis)) {
+                it.remove();
+                removed++;
+            }
+        }
+        idleEvictions.add(removed);
+        return removed;
+    }
+
+    private boolean isIdle(SlidingWindowCounter counter, long nowMillis) {
+        long idleFor = nowMillis - counter.getLastAccessMillis();
+        return idleFor > Math.max(idleMillis, 2 * counter.getWindowMillis());
+    }
+
+    private void evictForCapacity(long nowMillis) {
+        // One thread evicts; the others insert anyway rather than queue behind it
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            if (counters.size() < maxEntries) {
+                return;
+            }
+            removeIdle(nowMillis);
+            int size = counters.size();
+            if (size < maxEntries) {
+                return;
+            }
+
+            long[] accessTimes = new long[size];
+            int n = 0;
+            for (SlidingWindowCounter counter : counters.values()) {
+                if (n == accessTimes.length) {
+                    break;
+                }
+                accessTimes[n++] = counter.getLastAccessMillis();
+            }
+            Arrays.sort(accessTimes, 0, n);
+            int toEvict = Math.max(1, (int) (n * CAPACITY_EVICTION_FRACTION));
+            long cutoff = accessTimes[Math.min(toEvict, n) - 1];
+
+            long removed = 0;
+            Iterator<SlidingWindowCounter> it = counters.values().iterator();
+            while (it.hasNext() && removed < toEvict) {
+                if (it.next().getLastAccessMillis() <= cutoff) {
+                    it.remove();
+                    removed++;
+                }
+            }
+            capacityEvictions.add(removed);
+            logger.warn("Rate limiter store reached its cap of {} entries; evicted {} least recently used", maxEntries, removed);
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+}
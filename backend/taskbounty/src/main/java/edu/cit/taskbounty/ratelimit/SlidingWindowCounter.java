@@ -0,0 +1,175 @@
+package edu.cit.taskbounty.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free sliding-window counter for a single rate-limit key.
+ * <p>
+ * The whole state is packed into one {@code long}: the index of the current fixed window (24 bits),
+ * the number of requests admitted in the previous window (20 bits) and in the current window (20 bits).
+ * The rolling count is estimated as {@code previous * (unelapsed part of the window) + current}, so an
+ * admission decision is a few arithmetic operations and a CAS regardless of the configured limit, and
+ * no memory is allocated per request.
+ * <p>
+ * When a shared {@link RateLimitBackend} is in use, the counts other instances contributed for the same key are
+ * kept in a second packed {@code long} and added to the estimate. They are only ever written by the reconciler,
+ * so the request path stays local.
+ */
+public class SlidingWindowCounter {
+
+    public static final int MAX_LIMIT = (1 << 20) - 1;
+
+    private static final int WINDOW_SHIFT = 40;
+    private static final int PREVIOUS_SHIFT = 20;
+    private static final long WINDOW_MASK = (1L << 24) - 1;
+    private static final long COUNT_MASK = (1L << 20) - 1;
+    private static final long ACCESS_RESOLUTION_MILLIS = 1000;
+
+    private final int maxRequests;
+    private final long windowMillis;
+    private final AtomicLong state = new AtomicLong();
+    private final AtomicLong remoteState = new AtomicLong();
+    private volatile long lastAccessMillis;
+
+    // Local counts already pushed to the backend; only touched by the reconciler thread
+    private long publishedWindow = -1;
+    private long publishedPrevious;
+    private long publishedCurrent;
+
+    public SlidingWindowCounter(int maxRequests, long windowMillis) {
+        if (maxRequests < 1 || maxRequests > MAX_LIMIT) {
+            throw new IllegalArgumentException("maxRequests must be between 1 and " + MAX_LIMIT);
+        }
+        if (windowMillis < 1) {
+            throw new IllegalArgumentException("windowMillis must be positive");
+        }
+        this.maxRequests = maxRequests;
+        this.windowMillis = windowMillis;
+        this.lastAccessMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * Try to admit one request.
+     *
+     * @param nowMillis Current wall-clock time in milliseconds.
+     * @return 0 if the request was admitted, otherwise the number of milliseconds until it would be.
+     */
+    public long tryAcquire(long nowMillis) {
+        if (nowMillis - lastAccessMillis >= ACCESS_RESOLUTION_MILLIS) {
+            lastAccessMillis = nowMillis; // coarse, so hot keys don't write the field on every hit
+        }
+        long window = nowMillis / windowMillis;
+        long remaining = windowMillis - (nowMillis - window * windowMillis);
+
+        long remote = remoteState.get();
+        long remotePrevious = previousCount(remote, window);
+        long remoteCurrent = currentCount(remote, window);
+
+        while (true) {
+            long current = state.get();
+            long previousCount = previousCount(current, window);
+            long currentCount = currentCount(current, window);
+            long previousTotal = previousCount + remotePrevious;
+            long currentTotal = currentCount + remoteCurrent;
+
+            // previous * remaining / window + current >= max, kept in integer arithmetic
+            if (previousTotal * remaining + currentTotal * windowMillis >= maxRequests * windowMillis) {
+                return retryAfterMillis(previousTotal, currentTotal, remaining);
+            }
+
+            long next = pack(window, previousCount, currentCount + 1);
+            if (state.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Local admissions in the previous and current window, and how many of them have not been published yet.
+     *
+     * @return {@code {localPrevious, localCurrent, unpublishedPrevious, unpublishedCurrent}}
+     */
+    long[] unpublished(long window) {
+        long current = state.get();
+        long localPrevious = previousCount(current, window);
+        long localCurrent = currentCount(current, window);
+        long pushedPrevious;
+        long pushedCurrent;
+        if (publishedWindow == window) {
+            pushedPrevious = publishedPrevious;
+            pushedCurrent = publishedCurrent;
+        } else if (publishedWindow == window - 1) {
+            pushedPrevious = publishedCurrent;
+            pushedCurrent = 0;
+        } else {
+            pushedPrevious = 0;
+            pushedCurrent = 0;
+        }
+        return new long[] {
+                localPrevious,
+                localCurrent,
+                Math.max(0, localPrevious - pushedPrevious),
+                Math.max(0, localCurrent - pushedCurrent)
+        };
+    }
+
+    void markPublished(long window, long localPrevious, long localCurrent) {
+        publishedWindow = window;
+        publishedPrevious = localPrevious;
+        publishedCurrent = localCurrent;
+    }
+
+    /**
+     * Record the cluster-wide counts for the previous and current window, minus what this instance published.
+     */
+    void applyGlobalCounts(long window, long globalPrevious, long globalCurrent) {
+        long ownPrevious = publishedWindow == window ? publishedPrevious : 0;
+        long ownCurrent = publishedWindow == window ? publishedCurrent : 0;
+        long remotePrevious = Math.min(COUNT_MASK, Math.max(0, globalPrevious - ownPrevious));
+        long remoteCurrent = Math.min(COUNT_MASK, Math.max(0, globalCurrent - ownCurrent));
+        remoteState.set(pack(window, remotePrevious, remoteCurrent));
+    }
+
+    public int getMaxRequests() {
+        return maxRequests;
+    }
+
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    public long getLastAccessMillis() {
+        return lastAccessMillis;
+    }
+
+    private static long pack(long window, long previousCount, long currentCount) {
+        return ((window & WINDOW_MASK) << WINDOW_SHIFT) | (previousCount << PREVIOUS_SHIFT) | currentCount;
+    }
+
+    private static long previousCount(long packed, long window) {
+        long packedWindow = packed >>> WINDOW_SHIFT;
+        if (packedWindow == (window & WINDOW_MASK)) {
+            return (packed >>> PREVIOUS_SHIFT) & COUNT_MASK;
+        }
+        if (packedWindow == ((window - 1) & WINDOW_MASK)) {
+            return packed & COUNT_MASK;
+        }
+        return 0;
+    }
+
+    private static long currentCount(long packed, long window) {
+        return (packed >>> WINDOW_SHIFT) == (window & WINDOW_MASK) ? packed & COUNT_MASK : 0;
+    }
+
+    private long retryAfterMillis(long previousCount, long currentCount, long remaining) {
+        long wait;
+        if (currentCount >= maxRequests) {
+            // Wait for this window to roll over, then for its count to decay below the limit
+            wait = remaining + windowMillis - (maxRequests * windowMillis) / currentCount + 1;
+        } else {
+            // Wait for the previous window's share to decay below the remaining budget
+            wait = remaining - ((maxRequests - currentCount) * windowMillis) / previousCount + 1;
+        }
+        return Math.max(1, wait);
+    }
+}
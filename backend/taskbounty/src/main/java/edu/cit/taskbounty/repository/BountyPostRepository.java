@@ -1,25 +1,29 @@
 package edu.cit.taskbounty.repository;
 
+import edu.cit.taskbounty.dto.BountyPostSummary;
 import edu.cit.taskbounty.model.BountyPost;
 import org.bson.types.ObjectId;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
 
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
 public interface BountyPostRepository extends MongoRepository<BountyPost, ObjectId> {
-    @Query("{ 'isPublic': true }")
-    Page<BountyPost> findAllPublic(Pageable pageable);
+    // Listing queries read only what a BountyPostSummary shows; never the markdown description
+    String SUMMARY_FIELDS = "{ 'creatorId': 1, 'title': 1, 'excerpt': 1, 'bountyPrice': 1, 'isPublic': 1, 'upvotes': 1, 'downvotes': 1, 'createdAt': 1 }";
 
-    @Query("{ $or: [ { 'title': { $regex: ?0, $options: 'i' } }, { 'description': { $regex: ?0, $options: 'i' } } ], 'isPublic': true }")
-    Page<BountyPost> searchPublicBountyPosts(String search, Pageable pageable);
+    @Query(value = "{ 'isPublic': true }", fields = SUMMARY_FIELDS)
+    Page<BountyPostSummary> findAllPublic(Pageable pageable);
 
     // New method to find draft posts (non-public) for a specific user
-    @Query("{ 'creatorId': ?0, 'isPublic': false }")
-    Page<BountyPost> findDraftsByCreatorId(String creatorId, Pageable pageable);
+    @Query(value = "{ 'creatorId': ?0, 'isPublic': false }", fields = SUMMARY_FIELDS)
+    Page<BountyPostSummary> findDraftsByCreatorId(String creatorId, Pageable pageable);
 
     // New method to find a specific draft post for a user
     @Query("{ '_id': ?0, 'creatorId': ?1, 'isPublic': false }")
@@ -33,5 +37,25 @@ public interface BountyPostRepository extends MongoRepository<BountyPost, Object
 
     Optional<BountyPost> findByIdAndCreatorIdAndIsPublicFalse(ObjectId id, String creatorId);
 
-    Page<BountyPost> findByCreatorId(String creatorId, Pageable pageable);
+    @Query(value = "{ 'creatorId': ?0 }", fields = SUMMARY_FIELDS)
+    Page<BountyPostSummary> findByCreatorId(String creatorId, Pageable pageable);
+
+    // Targeted update, so publishing a post can't overwrite vote counters flushed since it was loaded
+    @Update("{ '$set' : { 'isPublic' : ?1 } }")
+    long findAndSetIsPublicById(ObjectId id, boolean isPublic);
+
+    // Keyset pagination for the public feed: each query resumes strictly after the (sort key, _id) of the last
+    // post a client saw. The range on the sort key bounds the index scan; the $or only breaks ties on _id.
+    // Slices fetch one extra document to detect a next page instead of running a count.
+    @Query(value = "{ 'isPublic': true }", fields = SUMMARY_FIELDS)
+    Slice<BountyPostSummary> findPublicFeed(Pageable pageable);
+
+    @Query(value = "{ 'isPublic': true, 'upvotes': { $lte: ?0 }, $or: [ { 'upvotes': { $lt: ?0 } }, { '_id': { $lt: ?1 } } ] }", fields = SUMMARY_FIELDS)
+    Slice<BountyPostSummary> findPublicFeedAfterUpvotes(int upvotes, ObjectId id, Pageable pageable);
+
+    @Query(value = "{ 'isPublic': true, 'createdAt': { $lte: ?0 }, $or: [ { 'createdAt': { $lt: ?0 } }, { '_id': { $lt: ?1 } } ] }", fields = SUMMARY_FIELDS)
+    Slice<BountyPostSummary> findPublicFeedBeforeCreatedAt(Date createdAt, ObjectId id, Pageable pageable);
+
+    @Query(value = "{ 'isPublic': true, 'createdAt': { $gte: ?0 }, $or: [ { 'createdAt': { $gt: ?0 } }, { '_id': { $gt: ?1 } } ] }", fields = SUMMARY_FIELDS)
+    Slice<BountyPostSummary> findPublicFeedAfterCreatedAt(Date createdAt, ObjectId id, Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package edu.cit.taskbounty.repository;
+
+import edu.cit.taskbounty.model.OutboxEmail;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.List;
+
+public interface OutboxEmailRepository extends MongoRepository<OutboxEmail, String> {
+    List<OutboxEmail> findByClaimToken(String claimToken);
+
+    long countByStatus(String status);
+}
@@ -0,0 +1,17 @@
+package edu.cit.taskbounty.repository;
+
+import edu.cit.taskbounty.model.RevokedToken;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+
+import java.util.Date;
+import java.util.List;
+
+public interface RevokedTokenRepository extends MongoRepository<RevokedToken, String> {
+    // Only the token IDs are needed to populate the Bloom filter
+    @Query(value = "{ 'expireAt': { $gt: ?0 } }", fields = "{ '_id': 1 }")
+    List<RevokedToken> findIdsByExpireAtAfter(Date now);
+
+    @Query(value = "{ 'revokedAt': { $gte: ?0 } }", fields = "{ '_id': 1 }")
+    List<RevokedToken> findIdsByRevokedAtSince(Date since);
+}
@@ -1,12 +1,71 @@
 package edu.cit.taskbounty.repository;
 
+import edu.cit.taskbounty.dto.UserProfileView;
 import edu.cit.taskbounty.model.User;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Update;
 
 import java.util.Optional;
 
+/**
+ * Users are looked up through their normalized username and email, each backed by a unique index, so every
+ * lookup below matches case-insensitively through an index seek. Accounts that lost a case-variant clash in the
+ * backfill carry no normalized value and are matched on their exact legacy value instead, and an exact legacy
+ * match wins. The legacy index is only consulted when the normalized seek finds nothing or finds an account
+ * spelled differently from the input, so the usual lookup is a single seek on one index.
+ */
 public interface UserRepository extends MongoRepository<User, String> {
-    Optional<User> findByEmail(String email);
-    User findByUsername(String username);
-    Optional<User> findByUsernameOrEmail(String username, String email);
+    Optional<User> findByNormalizedEmail(String normalizedEmail);
+    User findByNormalizedUsername(String normalizedUsername);
+    Optional<User> findByLegacyEmail(String legacyEmail);
+    User findByLegacyUsername(String legacyUsername);
+
+    default Optional<User> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        Optional<User> user = findByNormalizedEmail(User.normalize(email));
+        if (user.isPresent() && email.equals(user.get().getEmail())) {
+            return user;
+        }
+        return findByLegacyEmail(email).or(() -> user);
+    }
+
+    default User findByUsername(String username) {
+        if (username == null) {
+            return null;
+        }
+        User user = findByNormalizedUsername(User.normalize(username));
+        if (user != null && username.equals(user.getUsername())) {
+            return user;
+        }
+        User legacy = findByLegacyUsername(username);
+        return legacy != null ? legacy : user;
+    }
+
+    /**
+     * Resolves a login identifier without an {@code $or}: anything with an '@' is tried as an email first, and
+     * falls back to the username only if no account has that email.
+     */
+    default Optional<User> findByIdentifier(String identifier) {
+        String normalized = User.normalize(identifier);
+        if (normalized == null) {
+            return Optional.empty();
+        }
+        if (normalized.indexOf('@') >= 0) {
+            Optional<User> byEmail = findByEmail(identifier);
+            if (byEmail.isPresent()) {
+                return byEmail;
+            }
+        }
+        return Optional.ofNullable(findByUsername(identifier));
+    }
+
+    Optional<UserProfileView> findProfileById(String id);
+
+    @Update("{ '$set' : { 'stripeAccountId' : ?1 } }")
+    long findAndSetStripeAccountIdById(String id, String stripeAccountId);
+
+    @Update("{ '$set' : { 'password' : ?1 } }")
+    long findAndSetPasswordById(String id, String password);
 }
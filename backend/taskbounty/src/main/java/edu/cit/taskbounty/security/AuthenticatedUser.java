@@ -0,0 +1,111 @@
+package edu.cit.taskbounty.security;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+
+/**
+ * Principal of an authenticated request. Carries the user ID alongside the username so services can scope
+ * queries to the current user without looking the user up again, and the ID of the token that authenticated
+ * the request so it can be revoked.
+ */
+public class AuthenticatedUser implements UserDetails, CredentialsContainer {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String id;
+    private final String username;
+    private String password;
+    private final boolean disabled;
+    private final long tokensValidAfterMillis;
+    private final String tokenId;
+    private final Date tokenExpiresAt;
+
+    public AuthenticatedUser(String id, String username, String password, boolean disabled, long tokensValidAfterMillis) {
+        this(id, username, password, disabled, tokensValidAfterMillis, null, null);
+    }
+
+    private AuthenticatedUser(String id, String username, String password, boolean disabled,
+                              long tokensValidAfterMillis, String tokenId, Date tokenExpiresAt) {
+        this.id = id;
+        this.username = username;
+        this.password = password;
+        this.disabled = disabled;
+        this.tokensValidAfterMillis = tokensValidAfterMillis;
+        this.tokenId = tokenId;
+        this.tokenExpiresAt = tokenExpiresAt;
+    }
+
+    /**
+     * The same user, authenticated by the token with the given ID and expiry.
+     */
+    public AuthenticatedUser withToken(String tokenId, Date tokenExpiresAt) {
+        return new AuthenticatedUser(id, username, password, disabled, tokensValidAfterMillis, tokenId, tokenExpiresAt);
+    }
+
+    /**
+     * The principal of the current request.
+     *
+     * @return The authenticated user, or {@code null} if the request is anonymous.
+     */
+    public static AuthenticatedUser current() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return auth.getPrincipal() instanceof AuthenticatedUser user ? user : null;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Whether a token issued at the given time is still accepted for this user.
+     */
+    public boolean acceptsTokenIssuedAt(Date issuedAt) {
+        // iat has second precision, so compare whole seconds or a token issued right after the cutoff is rejected
+        return tokensValidAfterMillis == 0 || (issuedAt != null && issuedAt.getTime() / 1000 >= tokensValidAfterMillis / 1000);
+    }
+
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public Date getTokenExpiresAt() {
+        return tokenExpiresAt;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        // No roles are being used, so return an empty list of authorities
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return !disabled;
+    }
+
+    @Override
+    public void eraseCredentials() {
+        password = null;
+    }
+}
@@ -1,6 +1,8 @@
 package edu.cit.taskbounty.security;
 
 import edu.cit.taskbounty.service.AuthenticationRequiredException;
+import edu.cit.taskbounty.service.ServiceBusyException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -12,4 +14,11 @@ public class GlobalExceptionHandler {
     public ResponseEntity<String> handleAuthenticationRequired(AuthenticationRequiredException ex) {
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.UNAUTHORIZED);
     }
+
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<String> handleServiceBusy(ServiceBusyException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ex.getMessage());
+    }
 }
\ No newline at end of file
@@ -2,8 +2,10 @@ package edu.cit.taskbounty.security;
 
 import edu.cit.taskbounty.util.JwtAuthFilter;
 import edu.cit.taskbounty.util.RateLimitingFilter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -41,13 +43,16 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable) // Disable CSRF for stateless API
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)) // Stateless authentication
                 .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(HttpMethod.GET, "/bounty_post/draft", "/bounty_post/votes", "/bounty_post/my_posts").authenticated()
+                        // Public reads: anonymous callers never resolve a token, so deferred authentication skips JWT and Mongo work
+                        .requestMatchers(HttpMethod.GET, "/bounty_post", "/bounty_post/feed", "/bounty_post/autocomplete", "/bounty_post/{id}").permitAll()
                         .requestMatchers("/bounty_post/**", "/solutions/**", "/stripe-account/**").authenticated() // Secure specific routes
                         .requestMatchers("/bounty_post/{id}/donate", "/bounty_post/{id}/payment-success", "/bounty_post/{id}/donation-success").permitAll() // Allow Stripe callback
                         .requestMatchers("/auth/**").permitAll() // Explicitly allow all auth endpoints
                         .anyRequest().permitAll()
                 )
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class) // Use JWT authentication
-                .addFilterBefore(rateLimitingFilter, JwtAuthFilter.class)
+                .addFilterAfter(rateLimitingFilter, JwtAuthFilter.class) // Rate limit per route and authenticated user
                 .build();
     }
 
@@ -74,7 +79,7 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.bcrypt.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 }
\ No newline at end of file
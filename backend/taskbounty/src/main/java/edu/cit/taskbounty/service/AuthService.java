@@ -4,15 +4,14 @@ import edu.cit.taskbounty.model.User;
 import edu.cit.taskbounty.repository.UserRepository;
 import edu.cit.taskbounty.util.JwtUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.security.SecureRandom;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 @Service
@@ -22,7 +21,10 @@ public class AuthService {
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
 
     @Autowired
     private EmailService emailService;
@@ -33,47 +35,60 @@ public class AuthService {
     private static final int INITIAL_COOLDOWN_RESEND = 32; // seconds
     private static final int INITIAL_COOLDOWN_CHANGE_EMAIL = 2; // seconds
 
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
+
 
     /**
      * Register a new user.
+     * <p>
+     * A single insert: the unique indexes on the normalized username and email reject duplicates, including
+     * concurrent registrations racing for the same name.
      *
      * @param user The user object containing registration details.
      * @return The saved user.
      */
     public User register(User user) {
-        String emailRegex = "^[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$";
-
         if (user.isDisabled()) {
             throw new RuntimeException("You account is disabled");
         }
 
         // Check email syntax
-        Pattern pattern = Pattern.compile(emailRegex);
-        Matcher matcher = pattern.matcher(user.getEmail());
-
-        if (!matcher.matches()) {
+        if (user.getEmail() == null || !EMAIL_PATTERN.matcher(user.getEmail()).matches()) {
             throw new RuntimeException("Invalid Email Syntax");
         }
-        if (userRepository.findByEmail(user.getEmail()).isPresent()) {
-            throw new RuntimeException("Email already exists");
-        }
-        if (userRepository.findByUsername(user.getUsername()) != null) {
-            throw new RuntimeException("Username already exists");
-        }
         int verificationCode = generateVerificationCode();
         user.setId(UUID.randomUUID().toString());
-        user.setPassword(passwordEncoder.encode(user.getPassword())); // Hash password
+        // Derive the normalized copies the unique indexes check from the submitted values, whatever was bound
+        user.setUsername(user.getUsername());
+        user.setEmail(user.getEmail());
+        user.setPassword(passwordHashingService.encode(user.getPassword())); // Hash password
         user.setVerified(false); // Set default to unverified
         user.setVerificationCode(verificationCode);
 
-        User savedUser = userRepository.save(user);
+        User savedUser;
+        try {
+            savedUser = userRepository.insert(user);
+        } catch (DuplicateKeyException e) {
+            throw new RuntimeException(duplicateMessage(e));
+        }
 
-        // Generate and send verification email
-        emailService.sendVerificationEmail(user.getEmail(), verificationCode);
+        // Queue the verification email
+        emailService.queueVerificationEmail(user.getEmail(), verificationCode);
 
         return savedUser;
     }
 
+    /**
+     * Maps a duplicate-key error on the users collection to the message for the field that collided.
+     */
+    public static String duplicateMessage(DuplicateKeyException e) {
+        String message = e.getMessage();
+        if (message != null && message.contains(User.EMAIL_INDEX)) {
+            return "Email already exists";
+        }
+        return "Username already exists";
+    }
+
     /**
      * Verify user's email using a code.
      *
@@ -104,13 +119,21 @@ public class AuthService {
      * @param identifier Username or email.
      * @param password   The user's password.
      * @return An optional user.
+     * @throws ServiceBusyException If the password hashing pool is saturated.
      */
     public Optional<User> login(String identifier, String password) {
-        Optional<User> userOpt = userRepository.findByUsernameOrEmail(identifier, identifier);
+        Optional<User> userOpt = userRepository.findByIdentifier(identifier);
 
         if (userOpt.isPresent()) {
             User user = userOpt.get();
-            if (passwordEncoder.matches(password, user.getPassword())) {
+            if (passwordHashingService.matches(password, user.getPassword())) {
+                if (passwordHashingService.needsRehash(user.getPassword())) {
+                    // The configured cost changed since this hash was made; the plaintext is only available now
+                    user.setPassword(passwordHashingService.encode(password));
+                    userRepository.findAndSetPasswordById(user.getId(), user.getPassword());
+                    userDetailsService.evict(user.getUsername());
+                    passwordHashingService.recordRehash();
+                }
                 return Optional.of(user);
             }
         }
@@ -137,7 +160,7 @@ public class AuthService {
 
         // Resend the verification code
         int verificationCode = generateVerificationCode();  // Generate a new code (implement this method)
-        emailService.sendVerificationEmail(user.getEmail(), verificationCode);
+        emailService.queueVerificationEmail(user.getEmail(), verificationCode);
 
         // Update user record with the new resend attempt info
         user.setVerificationCode(verificationCode);
@@ -163,7 +186,7 @@ public class AuthService {
 
         // Send a new verification code for email change
         int verificationCode = generateVerificationCode();  // Generate a new code (implement this method)
-        emailService.sendVerificationEmail(user.getEmail(), verificationCode);
+        emailService.queueVerificationEmail(user.getEmail(), verificationCode);
 
         // Update user record
         user.setVerificationCode(verificationCode);
@@ -172,7 +195,11 @@ public class AuthService {
         user.setResendAttempts(user.getResendAttempts() + 1);
         user.setVerified(false);
 
-        userRepository.save(user);
+        try {
+            userRepository.save(user);
+        } catch (DuplicateKeyException e) {
+            throw new RuntimeException(duplicateMessage(e));
+        }
 
     }
 
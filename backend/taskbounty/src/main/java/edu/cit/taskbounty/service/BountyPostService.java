@@ -1,11 +1,14 @@
 package edu.cit.taskbounty.service;
 
+import edu.cit.taskbounty.dto.BountyPostFeed;
 import edu.cit.taskbounty.dto.BountyPostRequest;
+import edu.cit.taskbounty.dto.BountyPostSummary;
 import edu.cit.taskbounty.model.BountyPost;
-import edu.cit.taskbounty.model.User;
+import edu.cit.taskbounty.model.PostVote;
 import edu.cit.taskbounty.repository.BountyPostRepository;
-import edu.cit.taskbounty.repository.UserRepository;
+import edu.cit.taskbounty.security.AuthenticatedUser;
 import edu.cit.taskbounty.util.JwtUtil;
+import org.bson.Document;
 import org.bson.types.ObjectId;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,7 +16,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
@@ -21,25 +33,39 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class BountyPostService {
 
     private static final Logger logger = LoggerFactory.getLogger(BountyPostService.class);
 
+    private static final Set<String> SUMMARY_FIELDS = Document.parse(BountyPostRepository.SUMMARY_FIELDS).keySet();
+
     private final BountyPostRepository bountyPostRepository;
+    private final MongoTemplate mongoTemplate;
+    private final VoteAggregator voteAggregator;
+    private final TitleAutocompleteIndex titleAutocompleteIndex;
 
-    @Autowired
-    private UserRepository userRepository;
     @Autowired
     private JwtUtil jwtUtil;
 
-    public BountyPostService(BountyPostRepository bountyPostRepository) {
+    public BountyPostService(BountyPostRepository bountyPostRepository, MongoTemplate mongoTemplate,
+                             VoteAggregator voteAggregator, TitleAutocompleteIndex titleAutocompleteIndex) {
         this.bountyPostRepository = bountyPostRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.voteAggregator = voteAggregator;
+        this.titleAutocompleteIndex = titleAutocompleteIndex;
     }
 
-    public Page<BountyPost> getBountyPosts(int page, int size, String sortBy, String search) {
+    public Page<BountyPostSummary> getBountyPosts(int page, int size, String sortBy, String search) {
         size = Math.min(size, 25);
         Sort sort;
 
@@ -55,19 +81,102 @@ public class BountyPostService {
         // Only show public posts (not filtering by creator anymore)
         if (search != null && !search.trim().isEmpty()) {
             // Use only public posts in search
-            return bountyPostRepository.searchPublicBountyPosts(search, pageable);
+            return searchPublicBountyPosts(search.trim(), pageable);
         }
 
         // Return only public posts
         return bountyPostRepository.findAllPublic(pageable);
     }
 
-    public Page<BountyPost> getDraftBountyPosts(int page, int size) {
+    /**
+     * Full-text search over public posts through the text index on title and description.
+     * <p>
+     * This is MongoDB's {@code $text} search, deliberately used instead of a BM25 engine. Results are ranked by
+     * Mongo's textScore: term frequency weighted per field (a title match counts three times a description match)
+     * with no inverse document frequency, so a rare term weighs no more than a common one. The requested order only
+     * breaks ties. Words are stemmed, so "deploying" finds "deployed", but only whole words match: unlike the old
+     * substring regex, "deplo" finds nothing. Prefix matching while typing is {@link TitleAutocompleteIndex}'s job.
+     * <p>
+     * Search reads the index Mongo maintains on every write rather than an in-process copy like the autocomplete
+     * index, because it covers descriptions, which are too large to keep in memory, and must not lag a reload.
+     */
+    private Page<BountyPostSummary> searchPublicBountyPosts(String search, Pageable pageable) {
+        TextQuery query = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(search)).sortByScore();
+        query.addCriteria(Criteria.where("isPublic").is(true));
+        query.with(pageable);
+        SUMMARY_FIELDS.forEach(query.fields()::include);
+        List<BountyPostSummary> posts = mongoTemplate.query(BountyPost.class).as(BountyPostSummary.class)
+                .matching(query).all();
+        return PageableExecutionUtils.getPage(posts, pageable,
+                () -> mongoTemplate.count(Query.of(query).limit(-1).skip(-1), BountyPost.class));
+    }
+
+    /**
+     * A slice of the public feed after the given cursor, without a total count. Each slice is an index range scan
+     * from the cursor position, so deep slices cost the same as the first.
+     *
+     * @param cursor {@code nextCursor} from the previous slice, or null for the first one.
+     * @throws IllegalArgumentException If the cursor is malformed or was issued for another sort order.
+     */
+    public BountyPostFeed getBountyPostFeed(String sortBy, String cursor, int size) {
+        size = Math.max(1, Math.min(size, 25));
+        String mode = switch (sortBy.toLowerCase()) {
+            case "oldest" -> "o";
+            case "newest" -> "n";
+            default -> "u";
+        };
+        Sort.Direction direction = mode.equals("o") ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Pageable pageable = PageRequest.of(0, size,
+                Sort.by(direction, mode.equals("u") ? "upvotes" : "createdAt").and(Sort.by(direction, "_id")));
+
+        Slice<BountyPostSummary> slice;
+        if (cursor == null || cursor.isBlank()) {
+            slice = bountyPostRepository.findPublicFeed(pageable);
+        } else {
+            String[] parts = decodeCursor(cursor, mode);
+            long sortKey = Long.parseLong(parts[1]);
+            ObjectId lastId = new ObjectId(parts[2]);
+            slice = switch (mode) {
+                case "u" -> bountyPostRepository.findPublicFeedAfterUpvotes((int) sortKey, lastId, pageable);
+                case "n" -> bountyPostRepository.findPublicFeedBeforeCreatedAt(new Date(sortKey), lastId, pageable);
+                default -> bountyPostRepository.findPublicFeedAfterCreatedAt(new Date(sortKey), lastId, pageable);
+            };
+        }
+
+        List<BountyPostSummary> posts = slice.getContent();
+        String nextCursor = null;
+        if (slice.hasNext() && !posts.isEmpty()) {
+            BountyPostSummary last = posts.get(posts.size() - 1);
+            long sortKey = mode.equals("u") ? last.getUpvotes()
+                    : last.getCreatedAt() == null ? 0 : last.getCreatedAt().toEpochMilli(); // Auditing sets it on insert
+            nextCursor = encodeCursor(mode + ":" + sortKey + ":" + last.getId());
+        }
+        return new BountyPostFeed(posts, nextCursor);
+    }
+
+    private static String encodeCursor(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor, String mode) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            if (parts.length != 3 || !parts[0].equals(mode) || !ObjectId.isValid(parts[2])) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            Long.parseLong(parts[1]);
+            return parts;
+        } catch (IllegalArgumentException e) { // Also covers bad Base64 and NumberFormatException
+            throw new IllegalArgumentException("Invalid cursor for sort order", e);
+        }
+    }
+
+    public Page<BountyPostSummary> getDraftBountyPosts(int page, int size) {
         if (!isUserAuthenticated()) {
             throw new AuthenticationRequiredException("Authentication required to access draft posts");
         }
 
-        User user = getCurrentUser();
+        AuthenticatedUser user = getCurrentUser();
 
         Sort sort = Sort.by(Sort.Direction.DESC, "createdAt");
         Pageable pageable = PageRequest.of(page, size, sort);
@@ -81,7 +190,7 @@ public class BountyPostService {
                     .body(null);
         }
 
-        User user = getCurrentUser();
+        AuthenticatedUser user = getCurrentUser();
 
         Optional<BountyPost> bountyPost = bountyPostRepository.findDraftByIdAndCreatorId(id, user.getId());
         if (bountyPost.isEmpty()) {
@@ -105,27 +214,46 @@ public class BountyPostService {
             return ResponseEntity.ok(post.get());
         }
 
-        // For draft posts, allow access without authentication for payment confirmation
-        // This assumes the caller (e.g., Stripe payment success) has validated the request
+        // Drafts are visible only to their creator; anyone else is told the post doesn't exist
+        AuthenticatedUser user = AuthenticatedUser.current();
+        if (user == null || !user.getId().equals(post.get().getCreatorId())) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+        }
+
         return ResponseEntity.ok(post.get());
     }
 
-    public Page<BountyPost> getBountyPostsByCreatorId(String creatorId, int page, int size, String sortBy, String search) {
+    /**
+     * Looks up a post, draft or public, without checking the caller. Only for callers that have proven their claim
+     * to the post some other way, like the Stripe payment redirect, whose paid checkout session names the post.
+     */
+    public Optional<BountyPost> findBountyPostForPayment(ObjectId id) {
+        return bountyPostRepository.findById(id);
+    }
+
+    public Page<BountyPostSummary> getBountyPostsByCreatorId(String creatorId, int page, int size, String sortBy, String search) {
         logger.debug("Fetching bounty posts for creatorId: {}, page: {}, size: {}, sortBy: {}, search: {}", creatorId, page, size, sortBy, search);
         Sort sort = Sort.by(sortBy.equals("most_upvoted") ? "upvotes" : "createdAt").descending();
         Pageable pageable = PageRequest.of(page, size, sort);
-        Page<BountyPost> posts = bountyPostRepository.findByCreatorId(creatorId, pageable);
+        Page<BountyPostSummary> posts = bountyPostRepository.findByCreatorId(creatorId, pageable);
         logger.info("Retrieved {} bounty posts for creatorId: {}", posts.getTotalElements(), creatorId);
         return posts;
     }
 
+    /**
+     * Records a vote in the vote ledger and queues the counter change with the {@link VoteAggregator}.
+     * <p>
+     * The ledger entry is one upsert keyed by post and user that returns the previous vote, so concurrent votes
+     * never overwrite each other, repeating a vote changes nothing, and the hot post document is not written per
+     * vote. The post's counters catch up within one aggregator flush.
+     *
+     * @return false if the user had already cast this vote.
+     */
     public boolean vote(String bountyPostId, String voteType) {
         if (!isUserAuthenticated()) {
             throw new AuthenticationRequiredException("Authentication required to vote");
         }
-        User user = getCurrentUser();
-        BountyPost post = bountyPostRepository.findById(new ObjectId(bountyPostId))
-                .orElseThrow(() -> new RuntimeException("Bounty post not found"));
+        AuthenticatedUser user = getCurrentUser();
 
         boolean isUpvote = "upvote".equalsIgnoreCase(voteType);
         boolean isDownvote = "downvote".equalsIgnoreCase(voteType);
@@ -134,45 +262,66 @@ public class BountyPostService {
             throw new IllegalArgumentException("Invalid vote type: " + voteType);
         }
 
-        if (isUpvote) {
-            if (post.getVotedUp().contains(user.getId())) {
-                logger.info("User {} already upvoted post {}", user.getUsername(), bountyPostId);
-                return false;
-            }
-            if (post.getVotedDown().contains(user.getId())) {
-                post.getVotedDown().remove(user.getId());
-                post.setDownvotes(post.getDownvotes() - 1);
-            }
-            post.getVotedUp().add(user.getId());
-            post.setUpvotes(post.getUpvotes() + 1);
-            logger.info("User {} upvoted post {}", user.getId(), bountyPostId);
-        } else {
-            if (post.getVotedDown().contains(user.getId())) {
-                logger.info("User {} already downvoted post {}", user.getId(), bountyPostId);
-                return false;
-            }
-            if (post.getVotedUp().contains(user.getId())) {
-                post.getVotedUp().remove(user.getId());
-                post.setUpvotes(post.getUpvotes() - 1);
-            }
-            post.getVotedDown().add(String.valueOf(user.getId()));
-            post.setDownvotes(post.getDownvotes() + 1);
-            logger.info("User {} downvoted post {}", user.getId(), bountyPostId);
+        if (!bountyPostRepository.existsById(new ObjectId(bountyPostId))) {
+            throw new RuntimeException("Bounty post not found");
         }
 
-        bountyPostRepository.save(post);
+        String userId = user.getId();
+        String type = isUpvote ? PostVote.UP : PostVote.DOWN;
+        Query ledgerEntry = new Query(Criteria.where("_id").is(PostVote.idFor(bountyPostId, userId)));
+        Update castVote = new Update()
+                .set("type", type)
+                .set("votedAt", new Date())
+                .setOnInsert("postId", bountyPostId)
+                .setOnInsert("userId", userId);
+        PostVote previous = mongoTemplate.findAndModify(ledgerEntry, castVote,
+                FindAndModifyOptions.options().upsert(true).returnNew(false), PostVote.class);
+
+        if (previous != null && type.equals(previous.getType())) {
+            logger.info("User {} already {}d post {}", userId, voteType.toLowerCase(), bountyPostId);
+            return false;
+        }
+        // A switch withdraws the previous vote in the same counter update
+        int retracted = previous != null ? 1 : 0;
+        voteAggregator.record(bountyPostId, isUpvote ? 1 : -retracted, isUpvote ? -retracted : 1);
+        logger.info("User {} {}d post {}", userId, voteType.toLowerCase(), bountyPostId);
         return true;
     }
 
+    /**
+     * The current user's votes on the given posts, in one query against the ledger's _id index.
+     *
+     * @return Post ID to {@link PostVote#UP} or {@link PostVote#DOWN}; posts the user hasn't voted on are absent.
+     */
+    public Map<String, String> getVoteStates(List<String> postIds) {
+        if (!isUserAuthenticated()) {
+            throw new AuthenticationRequiredException("Authentication required to view votes");
+        }
+        if (postIds.isEmpty()) {
+            return Map.of();
+        }
+        String userId = getCurrentUser().getId();
+        List<String> voteIds = postIds.stream()
+                .distinct()
+                .map(postId -> PostVote.idFor(postId, userId))
+                .toList();
+        Query query = new Query(Criteria.where("_id").in(voteIds));
+        query.fields().include("postId").include("type");
+
+        Map<String, String> states = new HashMap<>();
+        for (PostVote vote : mongoTemplate.find(query, PostVote.class)) {
+            states.put(vote.getPostId(), vote.getType());
+        }
+        return states;
+    }
+
     private boolean isUserAuthenticated() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         return auth != null && auth.isAuthenticated() && !(auth instanceof AnonymousAuthenticationToken);
     }
 
-    private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-        return userRepository.findByUsername(username);
+    private AuthenticatedUser getCurrentUser() {
+        return AuthenticatedUser.current();
     }
 
     public ResponseEntity<BountyPost> createBountyPost(BountyPostRequest bountyPostRequest) {
@@ -182,8 +331,7 @@ public class BountyPostService {
                     .body(null);
         }
 
-        String username = auth.getName();
-        User user = userRepository.findByUsername(username);
+        AuthenticatedUser user = getCurrentUser();
 
         BountyPost bountyPost = new BountyPost();
         bountyPost.setTitle(bountyPostRequest.getTitle());
@@ -196,13 +344,21 @@ public class BountyPostService {
         return ResponseEntity.status(HttpStatus.CREATED).body(savedPost);
     }
 
+    /**
+     * Makes a paid-for post public and adds it to the title autocomplete index.
+     */
+    public void publishBountyPost(BountyPost post) {
+        bountyPostRepository.findAndSetIsPublicById(new ObjectId(post.getId()), true);
+        titleAutocompleteIndex.put(post.getId(), post.getTitle(), post.getUpvotes());
+    }
+
     public ResponseEntity<Void> deleteBountyPost(ObjectId id) {
         if (!isUserAuthenticated()) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .build();
         }
 
-        User user = getCurrentUser();
+        AuthenticatedUser user = getCurrentUser();
 
         Optional<BountyPost> post = bountyPostRepository.findById(id);
         if (post.isEmpty()) {
@@ -218,6 +374,8 @@ public class BountyPostService {
 
         // Delete the post
         bountyPostRepository.delete(post.get());
+        mongoTemplate.remove(new Query(Criteria.where("postId").is(id.toString())), PostVote.class);
+        titleAutocompleteIndex.remove(id.toString());
         logger.info("User {} deleted bounty post {}", user.getId(), id);
         return ResponseEntity.ok().build();
     }
@@ -47,7 +47,6 @@ public class CommentService {
         comment.setAuthorUsername(user.getUsername()); // Store username in database
         comment.setContent(content);
         comment = commentRepository.save(comment);
-        bountyPostRepository.save(post);
         // Set authorId to username for response
         return comment;
     }
@@ -164,11 +163,6 @@ public class CommentService {
 
         // Recursively delete comment and its replies
         deleteCommentAndReplies(comment);
-
-        // Update comment count in BountyPost
-        BountyPost post = bountyPostRepository.findById(new ObjectId(comment.getBountyPostId()))
-                .orElseThrow(() -> new RuntimeException("BountyPost not found"));
-        bountyPostRepository.save(post);
     }
 
     private void deleteCommentAndReplies(Comment comment) {
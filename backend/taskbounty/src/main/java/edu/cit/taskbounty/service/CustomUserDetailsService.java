@@ -2,35 +2,125 @@ package edu.cit.taskbounty.service;
 
 import edu.cit.taskbounty.model.User;
 import edu.cit.taskbounty.repository.UserRepository;
+import edu.cit.taskbounty.security.AuthenticatedUser;
+import edu.cit.taskbounty.util.ClockCache;
 
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
-import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Resolves the user behind an authenticated request, with a bounded TTL cache in front of MongoDB. Once full,
+ * the cache makes room by evicting the least recently used entries through {@link ClockCache}.
+ * <p>
+ * Only the fields that make up the {@link AuthenticatedUser} are cached, and a fresh instance is built for every
+ * call so credential erasure on one principal cannot leak into the cache. Callers that change a user's
+ * username, password, disabled flag or token cutoff must {@link #evict} the old username.
+ */
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
+    private static final Logger logger = LoggerFactory.getLogger(CustomUserDetailsService.class);
+
     @Autowired
     private UserRepository userRepository; // Your existing UserRepository
 
+    @Value("${security.user.cache.ttl.seconds:60}")
+    private long ttlSeconds;
+
+    @Value("${security.user.cache.max.entries:10000}")
+    private int maxEntries;
+
+    private ClockCache<String, CachedUser> cache;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @PostConstruct
+    void initCache() {
+        cache = new ClockCache<>(maxEntries);
+    }
+
     @Override
-    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        // Use findById to get user by ID if that's how you're passing the user identifier
-        Optional<User> userOptional = Optional.ofNullable(userRepository.findByUsername(username));
+    public AuthenticatedUser loadUserByUsername(String username) throws UsernameNotFoundException {
+        long now = System.currentTimeMillis();
+        CachedUser cached = cache.get(username);
+        if (cached != null && now < cached.expiresAtMillis) {
+            hits.increment();
+            return cached.toPrincipal();
+        }
+        misses.increment();
 
-        return userOptional
-                .map(user -> new org.springframework.security.core.userdetails.User(
-                        user.getUsername(),
-                        user.getPassword(),
-                        // No roles are being used, so return an empty list of authorities
-                        Collections.emptyList()
-                ))
-                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+        User user = userRepository.findByUsername(username);
+        if (user == null) {
+            throw new UsernameNotFoundException("User not found: " + username);
+        }
+        cached = new CachedUser(user.getId(), user.getUsername(), user.getPassword(), user.isDisabled(),
+                user.getTokensValidAfter() == null ? 0 : user.getTokensValidAfter().getTime(), now + ttlSeconds * 1000);
+        cache.put(username, cached);
+        return cached.toPrincipal();
     }
 
-}
\ No newline at end of file
+    /**
+     * Drop the cached details for a username after its password, username or disabled flag changed.
+     */
+    public void evict(String username) {
+        if (username != null) {
+            cache.remove(username);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${security.user.cache.sweep.interval.ms:60000}")
+    public void sweepExpired() {
+        int removed = removeExpired(System.currentTimeMillis());
+        if (removed > 0) {
+            logger.debug("Removed {} expired cached users, {} remaining", removed, cache.size());
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public int getCacheSize() {
+        return cache.size();
+    }
+
+    private int removeExpired(long nowMillis) {
+        return cache.removeIf(cached -> nowMillis >= cached.expiresAtMillis);
+    }
+
+    private static class CachedUser {
+        private final String id;
+        private final String username;
+        private final String password;
+        private final boolean disabled;
+        private final long tokensValidAfterMillis;
+        private final long expiresAtMillis;
+
+        CachedUser(String id, String username, String password, boolean disabled, long tokensValidAfterMillis,
+                   long expiresAtMillis) {
+            this.id = id;
+            this.username = username;
+            this.password = password;
+            this.disabled = disabled;
+            this.tokensValidAfterMillis = tokensValidAfterMillis;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        AuthenticatedUser toPrincipal() {
+            return new AuthenticatedUser(id, username, password, disabled, tokensValidAfterMillis);
+        }
+    }
+}
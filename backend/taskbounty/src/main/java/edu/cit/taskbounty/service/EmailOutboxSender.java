@@ -0,0 +1,228 @@
+package edu.cit.taskbounty.service;
+
+import edu.cit.taskbounty.model.OutboxEmail;
+import edu.cit.taskbounty.repository.OutboxEmailRepository;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drains the email outbox in the background.
+ * <p>
+ * Each pass claims a batch of due emails and hands them to {@link JavaMailSender#send(MimeMessage...)}, which
+ * delivers the whole batch over one SMTP connection. Failed emails are retried with exponential backoff and
+ * jitter until {@code email.outbox.max.attempts}; sent and abandoned emails expire from the outbox after
+ * {@code email.outbox.retention.hours}. Point {@code spring.mail.host} at a local SMTP stand-in to load-test it.
+ */
+@Service
+public class EmailOutboxSender {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxSender.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final OutboxEmailRepository outboxRepository;
+    private final JavaMailSender mailSender;
+    private final int batchSize;
+    private final int maxBatchesPerPass;
+    private final long leaseMillis;
+    private final int maxAttempts;
+    private final long retryBaseMillis;
+    private final long retryMaxMillis;
+    private final long retentionMillis;
+
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder abandoned = new LongAdder();
+
+    public EmailOutboxSender(MongoTemplate mongoTemplate,
+                             OutboxEmailRepository outboxRepository,
+                             JavaMailSender mailSender,
+                             @Value("${email.outbox.batch.size:50}") int batchSize,
+                             @Value("${email.outbox.max.batches.per.pass:20}") int maxBatchesPerPass,
+                             @Value("${email.outbox.lease.ms:120000}") long leaseMillis,
+                             @Value("${email.outbox.max.attempts:8}") int maxAttempts,
+                             @Value("${email.outbox.retry.base.ms:5000}") long retryBaseMillis,
+                             @Value("${email.outbox.retry.max.ms:900000}") long retryMaxMillis,
+                             @Value("${email.outbox.retention.hours:24}") long retentionHours) {
+        this.mongoTemplate = mongoTemplate;
+        this.outboxRepository = outboxRepository;
+        this.mailSender = mailSender;
+        this.batchSize = batchSize;
+        this.maxBatchesPerPass = maxBatchesPerPass;
+        this.leaseMillis = leaseMillis;
+        this.maxAttempts = maxAttempts;
+        this.retryBaseMillis = retryBaseMillis;
+        this.retryMaxMillis = retryMaxMillis;
+        this.retentionMillis = retentionHours * 60 * 60 * 1000;
+    }
+
+    @Scheduled(fixedDelayString = "${email.outbox.poll.interval.ms:1000}")
+    public void drain() {
+        try {
+            // Keep going while batches come back full, but yield eventually so one pass can't run forever
+            for (int i = 0; i < maxBatchesPerPass; i++) {
+                List<OutboxEmail> batch = claimBatch();
+                if (!batch.isEmpty()) {
+                    deliver(batch);
+                }
+                if (batch.size() < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Email outbox pass failed: {}", e.getMessage());
+        }
+    }
+
+    public long getPending() {
+        return outboxRepository.countByStatus(OutboxEmail.PENDING);
+    }
+
+    public long getSent() {
+        return sent.sum();
+    }
+
+    public long getRetried() {
+        return retried.sum();
+    }
+
+    public long getAbandoned() {
+        return abandoned.sum();
+    }
+
+    private List<OutboxEmail> claimBatch() {
+        Date now = new Date();
+        Query due = new Query(Criteria.where("status").is(OutboxEmail.PENDING).and("nextAttemptAt").lte(now))
+                .with(Sort.by("nextAttemptAt"))
+                .limit(batchSize);
+        due.fields().include("_id");
+        List<String> ids = mongoTemplate.find(due, OutboxEmail.class).stream().map(OutboxEmail::getId).toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        // Re-check the due condition so a concurrent sender that claimed some of these first keeps them
+        String claimToken = UUID.randomUUID().toString();
+        mongoTemplate.updateMulti(
+                new Query(Criteria.where("_id").in(ids).and("status").is(OutboxEmail.PENDING).and("nextAttemptAt").lte(now)),
+                new Update().set("claimToken", claimToken).set("nextAttemptAt", new Date(now.getTime() + leaseMillis)),
+                OutboxEmail.class);
+        return outboxRepository.findByClaimToken(claimToken);
+    }
+
+    private void deliver(List<OutboxEmail> batch) {
+        Map<MimeMessage, OutboxEmail> messages = new IdentityHashMap<>();
+        Map<OutboxEmail, Exception> failures = new IdentityHashMap<>();
+        for (OutboxEmail email : batch) {
+            try {
+                messages.put(toMimeMessage(email), email);
+            } catch (MessagingException e) {
+                failures.put(email, e);
+            }
+        }
+
+        if (!messages.isEmpty()) {
+            try {
+                mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+            } catch (MailSendException e) {
+                Map<Object, Exception> failed = e.getFailedMessages();
+                if (failed.isEmpty()) {
+                    messages.values().forEach(email -> failures.put(email, e));
+                } else {
+                    failed.forEach((message, cause) -> {
+                        OutboxEmail email = messages.get(message);
+                        if (email != null) {
+                            failures.put(email, cause);
+                        }
+                    });
+                }
+            } catch (MailException e) {
+                // Could not even connect or authenticate; nothing in the batch went out
+                messages.values().forEach(email -> failures.put(email, e));
+            }
+        }
+
+        recordOutcome(batch, failures);
+    }
+
+    private MimeMessage toMimeMessage(OutboxEmail email) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true);
+        helper.setTo(email.getTo());
+        helper.setSubject(email.getSubject());
+        helper.setText(email.getHtml(), true);
+        return message;
+    }
+
+    private void recordOutcome(List<OutboxEmail> batch, Map<OutboxEmail, Exception> failures) {
+        long now = System.currentTimeMillis();
+        Date expireAt = new Date(now + retentionMillis);
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, OutboxEmail.class);
+        List<String> delivered = new ArrayList<>();
+
+        for (OutboxEmail email : batch) {
+            // Only touch emails this sender still holds, in case its lease ran out mid-send
+            Query claimed = new Query(Criteria.where("_id").is(email.getId()).and("claimToken").is(email.getClaimToken()));
+            Exception failure = failures.get(email);
+            if (failure == null) {
+                delivered.add(email.getId());
+                ops.updateOne(claimed, new Update()
+                        .set("status", OutboxEmail.SENT)
+                        .set("expireAt", expireAt)
+                        .unset("claimToken"));
+                continue;
+            }
+
+            int attempts = email.getAttempts() + 1;
+            Update update = new Update()
+                    .set("attempts", attempts)
+                    .set("lastError", String.valueOf(failure.getMessage()))
+                    .unset("claimToken");
+            if (attempts >= maxAttempts) {
+                abandoned.increment();
+                logger.error("Giving up on email {} to {} after {} attempts: {}",
+                        email.getId(), email.getTo(), attempts, failure.getMessage());
+                update.set("status", OutboxEmail.FAILED).set("expireAt", expireAt);
+            } else {
+                retried.increment();
+                logger.warn("Email {} to {} failed (attempt {}), retrying: {}",
+                        email.getId(), email.getTo(), attempts, failure.getMessage());
+                update.set("nextAttemptAt", new Date(now + backoffMillis(attempts)));
+            }
+            ops.updateOne(claimed, update);
+        }
+
+        ops.execute();
+        sent.add(delivered.size());
+        logger.debug("Email outbox batch: {} sent, {} failed", delivered.size(), failures.size());
+    }
+
+    private long backoffMillis(int attempts) {
+        long backoff = Math.min(retryMaxMillis, retryBaseMillis << Math.min(attempts - 1, 20));
+        // Up to 20% jitter so emails failing together don't all retry in the same pass
+        return backoff + ThreadLocalRandom.current().nextLong(backoff / 5 + 1);
+    }
+}
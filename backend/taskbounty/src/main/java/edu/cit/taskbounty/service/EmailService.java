@@ -1,34 +1,32 @@
 package edu.cit.taskbounty.service;
 
+import edu.cit.taskbounty.model.OutboxEmail;
+import edu.cit.taskbounty.repository.OutboxEmailRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
+import java.util.Date;
 
+/**
+ * Queues outgoing email in the outbox; {@link EmailOutboxSender} delivers it in the background, so request
+ * threads never wait on the mail server.
+ */
 @Service
 public class EmailService {
 
     @Autowired
-    private JavaMailSender mailSender;
-
-    public void sendVerificationEmail(String toEmail, int code) {
-        try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true);
-
-            helper.setTo(toEmail);
-            helper.setSubject(code +" | Verify Your Email - Task Bounty");
-            helper.setText("<h3>Thank you for registering Task bounty</h3> <br>" +
-                    "<h2>"+ code +" </h2> <br>" +
-                    "<p>Please do not share your code to anyone but yourself</p>", true);
+    private OutboxEmailRepository outboxRepository;
+
+    public void queueVerificationEmail(String toEmail, int code) {
+        queue(toEmail,
+                code +" | Verify Your Email - Task Bounty",
+                "<h3>Thank you for registering Task bounty</h3> <br>" +
+                        "<h2>"+ code +" </h2> <br>" +
+                        "<p>Please do not share your code to anyone but yourself</p>");
+    }
 
-            mailSender.send(message);
-        } catch (MessagingException e) {
-            throw new RuntimeException("Failed to send verification email", e);
-        }
+    public void queue(String toEmail, String subject, String html) {
+        outboxRepository.insert(new OutboxEmail(toEmail, subject, html, new Date()));
     }
 
 }
@@ -3,10 +3,9 @@ package edu.cit.taskbounty.service;
 import edu.cit.taskbounty.dto.SubmitSolutionDTO;
 import edu.cit.taskbounty.model.BountyPost;
 import edu.cit.taskbounty.model.Solution;
-import edu.cit.taskbounty.model.User;
 import edu.cit.taskbounty.repository.BountyPostRepository;
 import edu.cit.taskbounty.repository.SolutionRepository;
-import edu.cit.taskbounty.repository.UserRepository;
+import edu.cit.taskbounty.security.AuthenticatedUser;
 import org.bson.types.ObjectId;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,8 +17,6 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -45,9 +42,6 @@ public class SolutionService {
     @Autowired
     private BountyPostRepository bountyPostRepository;
 
-    @Autowired
-    private UserRepository userRepository;
-
     @Value("${file.upload-dir:uploads}")
     private String uploadDir;
 
@@ -62,11 +56,9 @@ public class SolutionService {
     private static final int MAX_FILES = 5;
 
     public SolutionService(SolutionRepository solutionRepository,
-                           BountyPostRepository bountyPostRepository,
-                           UserRepository userRepository) {
+                           BountyPostRepository bountyPostRepository) {
         this.solutionRepository = solutionRepository;
         this.bountyPostRepository = bountyPostRepository;
-        this.userRepository = userRepository;
     }
 
     public Page<Solution> getSolutionsByBountyPostId(String bountyPostId, int page, int size) {
@@ -112,12 +104,9 @@ public class SolutionService {
                     .body(null);
         }
 
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String username = auth.getName();
-        logger.debug("Fetching user: {}", username);
-        User user = userRepository.findByUsername(username);
+        AuthenticatedUser user = AuthenticatedUser.current();
         if (user == null) {
-            logger.error("User not found: {}", username);
+            logger.error("No authenticated user");
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(null);
         }
@@ -187,12 +176,9 @@ public class SolutionService {
     public ResponseEntity<String> deleteSolution(String solutionId) {
         logger.info("Deleting solution with ID: {}", solutionId);
 
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String username = auth.getName();
-        logger.debug("Fetching user: {}", username);
-        User user = userRepository.findByUsername(username);
+        AuthenticatedUser user = AuthenticatedUser.current();
         if (user == null) {
-            logger.error("User not found: {}", username);
+            logger.error("No authenticated user");
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body("User not authenticated");
         }
@@ -232,12 +218,9 @@ public class SolutionService {
     public ResponseEntity<Solution> updateSolution(String solutionId, SubmitSolutionDTO updateDTO) {
         logger.info("Updating solution with ID: {}", solutionId);
 
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String username = auth.getName();
-        logger.debug("Fetching user: {}", username);
-        User user = userRepository.findByUsername(username);
+        AuthenticatedUser user = AuthenticatedUser.current();
         if (user == null) {
-            logger.error("User not found: {}", username);
+            logger.error("No authenticated user");
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(null);
         }
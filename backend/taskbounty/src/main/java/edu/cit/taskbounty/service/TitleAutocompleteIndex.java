@@ -0,0 +1,320 @@
+package edu.cit.taskbounty.service;
+
+import edu.cit.taskbounty.model.BountyPost;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-memory typeahead over the titles of public bounty posts; lookups never touch Mongo.
+ * <p>
+ * Every word of a title is inserted into a prefix trie whose nodes each keep the top {@value #TOP_K} posts below
+ * them by upvotes, so a lookup is a walk down the trie for the last word typed. The trie is immutable: publishing a
+ * post path-copies the nodes along its words and swaps the root, so readers never lock. A deleted post is hidden
+ * at once by checking each suggestion against {@code entries}, and its nodes are dropped by the next rebuild from
+ * memory. The whole index is reloaded from Mongo every {@code autocomplete.reload.interval.ms} to pick up votes.
+ */
+@Service
+public class TitleAutocompleteIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(TitleAutocompleteIndex.class);
+
+    private static final int TOP_K = 16;
+    private static final int MAX_WORD_LENGTH = 32;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Comparator<Suggestion> RANK = Comparator.comparingInt(Suggestion::upvotes).reversed()
+            .thenComparing(Suggestion::id);
+
+    public record Suggestion(String id, String title, int upvotes) {
+    }
+
+    private static final class Node {
+        private static final char[] NO_LABELS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final Suggestion[] NO_SUGGESTIONS = new Suggestion[0];
+
+        char[] labels = NO_LABELS; // Sorted, parallel to children
+        Node[] children = NO_CHILDREN;
+        Suggestion[] top = NO_SUGGESTIONS; // Best first, at most TOP_K
+
+        Node copy() {
+            Node node = new Node();
+            node.labels = labels;
+            node.children = children;
+            node.top = top;
+            return node;
+        }
+    }
+
+    // A suggestion is live only while entries maps its id to that very instance
+    private record Index(Node root, Map<String, Suggestion> entries) {
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final Object writeLock = new Object();
+    private volatile Index index = new Index(new Node(), new ConcurrentHashMap<>());
+    private int stale; // Replaced or removed suggestions still in the trie; guarded by writeLock
+    private long modifications; // guarded by writeLock
+    private Map<String, Suggestion> changesDuringReload; // null value means removed; guarded by writeLock
+
+    public TitleAutocompleteIndex(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Up to {@code limit} public posts whose title has a word starting with the last word of the query and
+     * containing the earlier ones, most upvoted first.
+     */
+    public List<Suggestion> suggest(String query, int limit) {
+        List<String> words = words(query);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        Index current = index;
+        String prefix = words.get(words.size() - 1);
+        Node node = current.root();
+        for (int i = 0; i < prefix.length(); i++) {
+            int child = Arrays.binarySearch(node.labels, prefix.charAt(i));
+            if (child < 0) {
+                return List.of();
+            }
+            node = node.children[child];
+        }
+
+        List<String> others = words.subList(0, words.size() - 1);
+        List<Suggestion> result = new ArrayList<>(Math.min(limit, TOP_K));
+        for (Suggestion suggestion : node.top) {
+            if (current.entries().get(suggestion.id()) != suggestion
+                    || (!others.isEmpty() && !hasWordsStartingWith(suggestion.title(), others))) {
+                continue;
+            }
+            result.add(suggestion);
+            if (result.size() == limit) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Adds a newly published post, or replaces the entry of one already indexed.
+     */
+    public void put(String id, String title, int upvotes) {
+        if (id == null || title == null) {
+            return;
+        }
+        Suggestion suggestion = new Suggestion(id, title, upvotes);
+        synchronized (writeLock) {
+            modifications++;
+            Index current = index;
+            if (current.entries().put(id, suggestion) != null) {
+                stale++;
+            }
+            if (changesDuringReload != null) {
+                changesDuringReload.put(id, suggestion);
+            }
+            Node root = current.root();
+            for (String word : new LinkedHashSet<>(words(title))) {
+                root = insert(root, word, 0, suggestion, true);
+            }
+            index = new Index(root, current.entries());
+        }
+    }
+
+    public void remove(String id) {
+        synchronized (writeLock) {
+            modifications++;
+            if (index.entries().remove(id) != null) {
+                stale++;
+            }
+            if (changesDuringReload != null) {
+                changesDuringReload.put(id, null);
+            }
+        }
+    }
+
+    public int size() {
+        return index.entries().size();
+    }
+
+    /**
+     * Rebuilds the trie from the entries in memory once posts have been removed or replaced, so dead suggestions
+     * stop taking top-K slots.
+     */
+    @Scheduled(fixedDelayString = "${autocomplete.compact.interval.ms:5000}")
+    public void compact() {
+        Index current;
+        long seen;
+        List<Suggestion> live;
+        synchronized (writeLock) {
+            if (stale == 0) {
+                return;
+            }
+            current = index;
+            seen = modifications;
+            live = List.copyOf(current.entries().values());
+        }
+        // Built without the lock so publishes and deletes aren't held up; if any happened meanwhile, retry later
+        Node root = build(live);
+        synchronized (writeLock) {
+            if (modifications == seen && index == current) {
+                index = new Index(root, current.entries());
+                stale = 0;
+            }
+        }
+    }
+
+    // The first run happens at startup. Synchronized so an on-demand reload can't share changesDuringReload with a
+    // scheduled one; publishes and deletes only take writeLock and are not held up.
+    @Scheduled(fixedDelayString = "${autocomplete.reload.interval.ms:300000}")
+    public synchronized void reload() {
+        synchronized (writeLock) {
+            changesDuringReload = new HashMap<>();
+        }
+        Map<String, Suggestion> loaded = new HashMap<>();
+        try {
+            Query query = new Query(Criteria.where("isPublic").is(true));
+            query.fields().include("title").include("upvotes");
+            try (Stream<BountyPost> posts = mongoTemplate.stream(query, BountyPost.class)) {
+                posts.filter(post -> post.getTitle() != null).forEach(post ->
+                        loaded.put(post.getId(), new Suggestion(post.getId(), post.getTitle(), post.getUpvotes())));
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Could not reload the title autocomplete index: {}", e.getMessage());
+            synchronized (writeLock) {
+                changesDuringReload = null;
+            }
+            return;
+        }
+
+        long started = System.nanoTime();
+        Node root = build(loaded.values());
+        synchronized (writeLock) {
+            // Publishes and deletes that raced with the load win over what was read
+            if (!changesDuringReload.isEmpty()) {
+                changesDuringReload.forEach((id, suggestion) -> {
+                    if (suggestion == null) {
+                        loaded.remove(id);
+                    } else {
+                        loaded.put(id, suggestion);
+                    }
+                });
+                root = build(loaded.values());
+            }
+            index = new Index(root, new ConcurrentHashMap<>(loaded));
+            stale = 0;
+            changesDuringReload = null;
+        }
+        logger.debug("Reloaded title autocomplete index with {} posts in {} ms",
+                loaded.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private static Node build(Collection<Suggestion> suggestions) {
+        Node root = new Node();
+        // Best first, so most nodes fill their top list early and reject the rest without copying it
+        for (Suggestion suggestion : suggestions.stream().sorted(RANK).toList()) {
+            for (String word : new LinkedHashSet<>(words(suggestion.title()))) {
+                insert(root, word, 0, suggestion, false);
+            }
+        }
+        return root;
+    }
+
+    /**
+     * Adds the suggestion to the top list of every node along the word. With {@code copy}, the nodes on the path
+     * are copied and the original trie is left untouched; without it, a trie no reader can see yet is updated in
+     * place.
+     */
+    private static Node insert(Node node, String word, int depth, Suggestion suggestion, boolean copy) {
+        Node target = copy ? node.copy() : node;
+        target.top = withSuggestion(node.top, suggestion);
+        if (depth == word.length()) {
+            return target;
+        }
+        char label = word.charAt(depth);
+        int child = Arrays.binarySearch(node.labels, label);
+        if (child >= 0) {
+            Node[] children = copy ? node.children.clone() : node.children;
+            children[child] = insert(node.children[child], word, depth + 1, suggestion, copy);
+            target.children = children;
+            return target;
+        }
+
+        int at = -child - 1;
+        char[] labels = new char[node.labels.length + 1];
+        Node[] children = new Node[node.children.length + 1];
+        System.arraycopy(node.labels, 0, labels, 0, at);
+        System.arraycopy(node.children, 0, children, 0, at);
+        labels[at] = label;
+        children[at] = insert(new Node(), word, depth + 1, suggestion, false);
+        System.arraycopy(node.labels, at, labels, at + 1, node.labels.length - at);
+        System.arraycopy(node.children, at, children, at + 1, node.children.length - at);
+        target.labels = labels;
+        target.children = children;
+        return target;
+    }
+
+    private static Suggestion[] withSuggestion(Suggestion[] top, Suggestion suggestion) {
+        if (top.length == TOP_K && RANK.compare(suggestion, top[TOP_K - 1]) >= 0) {
+            return top; // Ranks below everything already kept
+        }
+        for (Suggestion existing : top) {
+            if (existing == suggestion) {
+                return top; // Another word of the same title shares this prefix
+            }
+        }
+        int found = Arrays.binarySearch(top, suggestion, RANK);
+        int at = found >= 0 ? found : -found - 1;
+        if (at >= TOP_K) {
+            return top;
+        }
+        Suggestion[] result = new Suggestion[Math.min(top.length + 1, TOP_K)];
+        System.arraycopy(top, 0, result, 0, at);
+        result[at] = suggestion;
+        System.arraycopy(top, at, result, at + 1, result.length - at - 1);
+        return result;
+    }
+
+    private static boolean hasWordsStartingWith(String title, List<String> prefixes) {
+        Set<String> titleWords = new LinkedHashSet<>(words(title));
+        return prefixes.stream().allMatch(prefix -> titleWords.stream().anyMatch(word -> word.startsWith(prefix)));
+    }
+
+    // Lowercased, accent-free words, each cut to MAX_WORD_LENGTH so a pasted blob can't grow the trie deep
+    private static List<String> words(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> words = new ArrayList<>();
+        for (String word : NON_WORD.split(folded)) {
+            if (!word.isEmpty()) {
+                words.add(word.length() > MAX_WORD_LENGTH ? word.substring(0, MAX_WORD_LENGTH) : word);
+            }
+        }
+        return words;
+    }
+}
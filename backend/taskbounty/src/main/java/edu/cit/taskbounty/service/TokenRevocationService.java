@@ -0,0 +1,105 @@
+package edu.cit.taskbounty.service;
+
+import edu.cit.taskbounty.model.RevokedToken;
+import edu.cit.taskbounty.repository.RevokedTokenRepository;
+import edu.cit.taskbounty.util.BloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Revocation of individual JWTs by their {@code jti} claim.
+ * <p>
+ * Revocations are stored in {@code revoked_tokens}, TTL'd at the token's own expiry. Every instance keeps an
+ * in-memory Bloom filter of the revoked IDs: a token that is not in the filter is certainly not revoked, so the
+ * common case costs no database access, and only filter hits are confirmed against MongoDB. The filter is
+ * rebuilt from the collection at startup and periodically (dropping expired IDs), and revocations made by
+ * other instances are folded in incrementally between rebuilds.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private static final double FALSE_POSITIVE_RATE = 0.001;
+    private static final long REFRESH_OVERLAP_MILLIS = 5_000; // Tolerates clock skew between instances
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final long expectedRevocations;
+    private volatile BloomFilter filter;
+    private volatile long lastRefreshMillis;
+
+    private final LongAdder filterHits = new LongAdder();
+    private final LongAdder confirmedRevocations = new LongAdder();
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  @Value("${security.revocation.bloom.expected.entries:100000}") long expectedRevocations) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedRevocations = expectedRevocations;
+        this.filter = new BloomFilter(expectedRevocations, FALSE_POSITIVE_RATE);
+    }
+
+    /**
+     * Revoke a token until it expires.
+     */
+    public void revoke(String tokenId, String userId, Date expiresAt) {
+        if (tokenId == null || expiresAt == null || !expiresAt.after(new Date())) {
+            return;
+        }
+        revokedTokenRepository.save(new RevokedToken(tokenId, userId, new Date(), expiresAt));
+        filter.add(tokenId);
+        logger.info("Revoked token {} of user {}", tokenId, userId);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !filter.mightContain(tokenId)) {
+            return false;
+        }
+        filterHits.increment();
+        boolean revoked = revokedTokenRepository.existsById(tokenId);
+        if (revoked) {
+            confirmedRevocations.increment();
+        }
+        return revoked;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${security.revocation.rebuild.interval.ms:3600000}", initialDelayString = "${security.revocation.rebuild.interval.ms:3600000}")
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        List<RevokedToken> active = revokedTokenRepository.findIdsByExpireAtAfter(new Date(start));
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedRevocations, active.size() * 2L), FALSE_POSITIVE_RATE);
+        active.forEach(token -> rebuilt.add(token.getId()));
+        filter = rebuilt;
+        lastRefreshMillis = start;
+        // Pick up anything revoked while the query was running
+        refresh();
+        logger.info("Rebuilt token revocation filter with {} revoked tokens", active.size());
+    }
+
+    @Scheduled(fixedDelayString = "${security.revocation.refresh.interval.ms:30000}")
+    public void refresh() {
+        long start = System.currentTimeMillis();
+        List<RevokedToken> recent = revokedTokenRepository.findIdsByRevokedAtSince(
+                new Date(lastRefreshMillis - REFRESH_OVERLAP_MILLIS));
+        BloomFilter current = filter;
+        recent.forEach(token -> current.add(token.getId()));
+        lastRefreshMillis = start;
+    }
+
+    public long getFilterHits() {
+        return filterHits.sum();
+    }
+
+    public long getConfirmedRevocations() {
+        return confirmedRevocations.sum();
+    }
+}
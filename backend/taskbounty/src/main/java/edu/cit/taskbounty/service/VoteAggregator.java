@@ -0,0 +1,340 @@
+package edu.cit.taskbounty.service;
+
+import edu.cit.taskbounty.model.BountyPost;
+import edu.cit.taskbounty.model.PostVote;
+import com.mongodb.client.result.UpdateResult;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Write-behind aggregation of vote counts.
+ * <p>
+ * Votes are recorded durably in the ledger as they happen; only the {@code upvotes}/{@code downvotes} counters on
+ * the post are deferred. Deltas accumulate in striped {@link LongAdder}s per post and are flushed as one unordered
+ * bulk of {@code $inc} updates every {@code votes.flush.interval.ms}, so a post receiving thousands of votes per
+ * second is written once per interval. A crash loses at most one interval of counter deltas (never the votes
+ * themselves), and shutdown flushes whatever is pending.
+ * <p>
+ * A flush whose outcome is unknown (e.g. the connection dropped mid-bulk) may or may not have been applied, so its
+ * deltas are neither retried nor dropped: the posts are marked and {@link #reconcile()} recounts them from the
+ * ledger.
+ * <p>
+ * A crash loses the deltas still pending, and nothing else would ever correct those counters. So at startup the
+ * posts voted on within {@code votes.repair.window.ms} are checked against the ledger by {@link #repair()}.
+ */
+@Service
+public class VoteAggregator {
+
+    private static final Logger logger = LoggerFactory.getLogger(VoteAggregator.class);
+
+    static final class Delta {
+        final LongAdder up = new LongAdder();
+        final LongAdder down = new LongAdder();
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final long repairWindowMillis;
+    private final long repairSettleMillis;
+
+    // Adders share the read lock; a flush takes the write lock only long enough to swap in an empty map
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private volatile ConcurrentHashMap<String, Delta> pending = new ConcurrentHashMap<>();
+
+    private final LongAdder votesRecorded = new LongAdder();
+    private final LongAdder documentsWritten = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder flushFailures = new LongAdder();
+    private final LongAdder reconciled = new LongAdder();
+    private final LongAdder repaired = new LongAdder();
+
+    // Posts whose counters may have drifted from the ledger; guarded by this
+    private final Set<String> unreconciled = new HashSet<>();
+    // Posts voted on shortly before a restart, not yet checked against the ledger; guarded by this
+    private final Set<String> unrepaired = new HashSet<>();
+
+    public VoteAggregator(MongoTemplate mongoTemplate,
+                          @Value("${votes.repair.window.ms:600000}") long repairWindowMillis,
+                          @Value("${votes.repair.settle.ms:5000}") long repairSettleMillis) {
+        this.mongoTemplate = mongoTemplate;
+        this.repairWindowMillis = repairWindowMillis;
+        this.repairSettleMillis = repairSettleMillis;
+    }
+
+    public void record(String postId, long upDelta, long downDelta) {
+        add(postId, new long[]{upDelta, downDelta});
+        votesRecorded.increment();
+    }
+
+    @Scheduled(fixedDelayString = "${votes.flush.interval.ms:500}")
+    public synchronized void flush() {
+        Map<String, long[]> deltas = drain();
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        List<String> postIds = new ArrayList<>(deltas.keySet());
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, BountyPost.class);
+        for (String postId : postIds) {
+            long[] delta = deltas.get(postId);
+            ops.updateOne(new Query(Criteria.where("_id").is(new ObjectId(postId))),
+                    new Update().inc("upvotes", delta[0]).inc("downvotes", delta[1]));
+        }
+        try {
+            ops.execute();
+            documentsWritten.add(postIds.size());
+        } catch (BulkOperationException e) {
+            // Only the failed updates are retried; the rest were applied and must not be applied twice
+            flushFailures.increment();
+            logger.warn("Vote counter flush failed for {} of {} posts, will retry", e.getErrors().size(), postIds.size());
+            documentsWritten.add(postIds.size() - e.getErrors().size());
+            e.getErrors().forEach(error -> add(postIds.get(error.getIndex()), deltas.get(postIds.get(error.getIndex()))));
+        } catch (Exception e) {
+            // Outcome unknown (e.g. connection lost); retrying risks double-counting, dropping risks losing counts
+            flushFailures.increment();
+            logger.warn("Vote counter flush of {} posts failed, will reconcile from the ledger: {}",
+                    postIds.size(), e.getMessage());
+            unreconciled.addAll(postIds);
+        }
+        flushes.increment();
+    }
+
+    /**
+     * Recomputes the counters of posts with an unknown flush outcome from the ledger. Runs every
+     * {@code votes.reconcile.interval.ms} and may be called on demand.
+     * <p>
+     * Pending deltas for those posts are discarded first, since the ledger already holds their votes. A vote that
+     * lands while a post is being recounted may or may not be in the tally, so such a post stays marked and is
+     * recounted again on the next run.
+     *
+     * @return How many posts were recounted.
+     */
+    @Scheduled(fixedDelayString = "${votes.reconcile.interval.ms:5000}")
+    public synchronized int reconcile() {
+        if (unreconciled.isEmpty()) {
+            return 0;
+        }
+
+        List<String> postIds = new ArrayList<>(unreconciled);
+        swapLock.writeLock().lock();
+        try {
+            postIds.forEach(pending::remove);
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+
+        Map<String, long[]> counts = tally(postIds);
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, BountyPost.class);
+        counts.forEach((postId, count) -> ops.updateOne(new Query(Criteria.where("_id").is(new ObjectId(postId))),
+                new Update().set("upvotes", (int) count[0]).set("downvotes", (int) count[1])));
+        try {
+            ops.execute();
+        } catch (Exception e) {
+            // Setting absolute counts is idempotent, so the whole batch is simply recounted next time
+            logger.warn("Vote counter reconcile of {} posts failed, will retry: {}", postIds.size(), e.getMessage());
+            return 0;
+        }
+        postIds.stream().filter(postId -> !pending.containsKey(postId)).forEach(unreconciled::remove);
+        reconciled.add(postIds.size());
+        logger.info("Reconciled vote counters of {} posts from the ledger", postIds.size());
+        return postIds.size();
+    }
+
+    /**
+     * Marks the posts voted on within {@code votes.repair.window.ms} before startup for {@link #repair()}, since any
+     * deltas of theirs still pending when the previous process died are lost.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void repairAfterRestart() {
+        Query recent = new Query(Criteria.where("votedAt").gte(new Date(System.currentTimeMillis() - repairWindowMillis)));
+        List<String> postIds = mongoTemplate.findDistinct(recent, "postId", PostVote.class, String.class);
+        synchronized (this) {
+            unrepaired.addAll(postIds);
+        }
+        logger.info("Checking the vote counters of {} recently voted posts against the ledger", postIds.size());
+        repair();
+    }
+
+    /**
+     * Corrects the counters of posts marked at startup that disagree with the ledger. Runs every
+     * {@code votes.reconcile.interval.ms}.
+     * <p>
+     * Unlike {@link #reconcile()} this must be safe while other instances hold pending deltas for the same posts.
+     * A post is only checked once its newest vote is {@code votes.repair.settle.ms} old, so every vote in the
+     * tally has been flushed, and the counters are only overwritten if they still hold the values read before the
+     * tally; a flush landing in between leaves the post marked for the next run. A post that never goes quiet for
+     * that long is never repaired.
+     *
+     * @return How many posts had their counters corrected.
+     */
+    @Scheduled(fixedDelayString = "${votes.reconcile.interval.ms:5000}")
+    public synchronized int repair() {
+        if (unrepaired.isEmpty()) {
+            return 0;
+        }
+
+        List<String> postIds = new ArrayList<>(unrepaired);
+        int corrected = 0;
+        try {
+            // Counters first: a vote whose ledger entry lands before the tally then shows up as too recent
+            Query posts = new Query(Criteria.where("_id").in(postIds.stream().map(ObjectId::new).toList()));
+            posts.fields().include("upvotes").include("downvotes");
+            Map<String, BountyPost> counters = new HashMap<>();
+            mongoTemplate.find(posts, BountyPost.class).forEach(post -> counters.put(post.getId(), post));
+            long settledBefore = System.currentTimeMillis() - repairSettleMillis;
+            Map<String, long[]> counts = tally(postIds);
+
+            for (String postId : postIds) {
+                long[] count = counts.get(postId);
+                if (count[2] > settledBefore) {
+                    continue; // Deltas of its latest votes may still be pending on some instance
+                }
+                BountyPost post = counters.get(postId);
+                if (post != null && (post.getUpvotes() != count[0] || post.getDownvotes() != count[1])) {
+                    UpdateResult result = mongoTemplate.updateFirst(
+                            new Query(Criteria.where("_id").is(new ObjectId(postId))
+                                    .and("upvotes").is(post.getUpvotes()).and("downvotes").is(post.getDownvotes())),
+                            new Update().set("upvotes", (int) count[0]).set("downvotes", (int) count[1]),
+                            BountyPost.class);
+                    if (result.getMatchedCount() == 0) {
+                        continue;
+                    }
+                    logger.info("Repaired vote counters of post {}: {}/{} to {}/{}", postId,
+                            post.getUpvotes(), post.getDownvotes(), count[0], count[1]);
+                    corrected++;
+                }
+                unrepaired.remove(postId);
+            }
+        } catch (Exception e) {
+            logger.warn("Vote counter repair of {} posts failed, will retry: {}", postIds.size(), e.getMessage());
+        }
+        repaired.add(corrected);
+        return corrected;
+    }
+
+    /**
+     * Counts the ledger's up and down votes per post, with the time of the newest one.
+     *
+     * @return Post ID to {@code {up, down, newest vote millis}}, for every given post.
+     */
+    private Map<String, long[]> tally(List<String> postIds) {
+        Map<String, long[]> counts = new HashMap<>();
+        postIds.forEach(postId -> counts.put(postId, new long[3]));
+        Aggregation tally = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("postId").in(postIds)),
+                Aggregation.group("postId", "type").count().as("count").max("votedAt").as("newest"));
+        for (Document row : mongoTemplate.aggregate(tally, PostVote.class, Document.class)) {
+            Document key = row.get("_id", Document.class);
+            long[] count = counts.get(key.getString("postId"));
+            count[PostVote.UP.equals(key.getString("type")) ? 0 : 1] = ((Number) row.get("count")).longValue();
+            Date newest = row.getDate("newest");
+            if (newest != null) {
+                count[2] = Math.max(count[2], newest.getTime());
+            }
+        }
+        return counts;
+    }
+
+    private void add(String postId, long[] delta) {
+        swapLock.readLock().lock();
+        try {
+            Delta pendingDelta = pending.computeIfAbsent(postId, k -> new Delta());
+            pendingDelta.up.add(delta[0]);
+            pendingDelta.down.add(delta[1]);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+        reconcile();
+    }
+
+    /**
+     * Swaps out the pending deltas and totals them per post, skipping posts whose votes cancelled out.
+     */
+    Map<String, long[]> drain() {
+        ConcurrentHashMap<String, Delta> drained;
+        swapLock.writeLock().lock();
+        try {
+            drained = pending;
+            pending = new ConcurrentHashMap<>();
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        // No adder still holds the old map once the write lock was granted, so these sums are final
+        Map<String, long[]> totals = new HashMap<>();
+        drained.forEach((postId, delta) -> {
+            long up = delta.up.sum();
+            long down = delta.down.sum();
+            if (up != 0 || down != 0) {
+                totals.put(postId, new long[]{up, down});
+            }
+        });
+        return totals;
+    }
+
+    public int getPendingPosts() {
+        return pending.size();
+    }
+
+    public long getVotesRecorded() {
+        return votesRecorded.sum();
+    }
+
+    public long getDocumentsWritten() {
+        return documentsWritten.sum();
+    }
+
+    public long getFlushes() {
+        return flushes.sum();
+    }
+
+    public long getFlushFailures() {
+        return flushFailures.sum();
+    }
+
+    public synchronized int getUnreconciledPosts() {
+        return unreconciled.size();
+    }
+
+    public long getReconciled() {
+        return reconciled.sum();
+    }
+
+    public synchronized int getUnrepairedPosts() {
+        return unrepaired.size();
+    }
+
+    public long getRepaired() {
+        return repaired.sum();
+    }
+}
@@ -0,0 +1,77 @@
+package edu.cit.taskbounty.util;
+
+import edu.cit.taskbounty.model.BountyPost;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Fills in {@code excerpt} on bounty posts saved before listings stopped reading the full description.
+ * Posts that already have one are skipped, so this is a no-op once done.
+ */
+@Component
+public class BountyPostExcerptBackfill {
+
+    private static final Logger logger = LoggerFactory.getLogger(BountyPostExcerptBackfill.class);
+
+    private static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    public BountyPostExcerptBackfill(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        Query query = new Query(Criteria.where("excerpt").exists(false).and("description").exists(true));
+        query.fields().include("description");
+
+        long[] updated = new long[1];
+        List<Document> batch = new ArrayList<>(BATCH_SIZE);
+        try (Stream<Document> posts = mongoTemplate.stream(query, Document.class, "bounty_posts")) {
+            posts.forEach(post -> {
+                batch.add(post);
+                if (batch.size() == BATCH_SIZE) {
+                    updated[0] += flush(batch);
+                }
+            });
+        }
+        updated[0] += flush(batch);
+
+        if (updated[0] > 0) {
+            logger.info("Backfilled excerpts on {} bounty posts", updated[0]);
+        }
+    }
+
+    private long flush(List<Document> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, "bounty_posts");
+        for (Document post : batch) {
+            // Guarded on the field still being absent, so an edit made meanwhile wins
+            ops.updateOne(new Query(Criteria.where("_id").is(post.get("_id")).and("excerpt").exists(false)),
+                    new Update().set("excerpt", BountyPost.excerptOf(post.getString("description"))));
+        }
+        batch.clear();
+        try {
+            return ops.execute().getModifiedCount();
+        } catch (RuntimeException e) {
+            logger.warn("Failed to backfill bounty post excerpts: {}", e.getMessage());
+            return 0;
+        }
+    }
+}
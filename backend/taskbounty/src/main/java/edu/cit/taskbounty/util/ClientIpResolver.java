@@ -0,0 +1,37 @@
+package edu.cit.taskbounty.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves the client address that rate limits and login lockouts are keyed on.
+ * <p>
+ * {@code X-Forwarded-For} is only believed as far as {@code security.client.ip.trusted.proxies} hops: each
+ * trusted proxy appends the address it received the request from, so the entry that many places from the right
+ * was written by our own edge, while anything to its left is whatever the client sent. The default of 1 matches
+ * a single load balancer in front of the app; set it to 0 when clients connect directly, so the header is ignored.
+ */
+@Component
+public class ClientIpResolver {
+
+    private final int trustedProxies;
+
+    public ClientIpResolver(@Value("${security.client.ip.trusted.proxies:1}") int trustedProxies) {
+        this.trustedProxies = Math.max(0, trustedProxies);
+    }
+
+    public String resolve(HttpServletRequest request) {
+        String forwardedFor = request.getHeader("X-Forwarded-For");
+        if (trustedProxies == 0 || forwardedFor == null || forwardedFor.isBlank()) {
+            return request.getRemoteAddr();
+        }
+        String[] hops = forwardedFor.split(",");
+        // Fewer entries than trusted proxies means the request skipped one; fall back to the peer address
+        if (hops.length < trustedProxies) {
+            return request.getRemoteAddr();
+        }
+        String ip = hops[hops.length - trustedProxies].trim();
+        return ip.isEmpty() || "unknown".equalsIgnoreCase(ip) ? request.getRemoteAddr() : ip;
+    }
+}
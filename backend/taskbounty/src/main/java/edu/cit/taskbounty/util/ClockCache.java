@@ -0,0 +1,159 @@
+package edu.cit.taskbounty.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Fixed-capacity map with CLOCK (second-chance) eviction.
+ * <p>
+ * Reads are a {@link ConcurrentHashMap#get} plus setting a reference bit, with no lock. Inserting into a full
+ * cache advances a clock hand over the slots, clearing reference bits until it finds an entry that was not read
+ * since the hand last passed it, and evicts that one. Each insert moves the hand a constant number of slots on
+ * average and never scans the whole cache, so a cache full of live entries still admits new ones.
+ */
+public class ClockCache<K, V> {
+
+    private final int capacity;
+    private final Map<K, Node<K, V>> map;
+    private final Node<K, V>[] ring; // Guarded by this; null slots are free
+    private int filled; // Slots ever used, guarded by this
+    private int hand; // Guarded by this
+    private long evictions; // Guarded by this
+
+    @SuppressWarnings("unchecked")
+    public ClockCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.map = new ConcurrentHashMap<>(capacity * 4 / 3 + 1);
+        this.ring = (Node<K, V>[]) new Node<?, ?>[capacity];
+    }
+
+    public V get(K key) {
+        Node<K, V> node = map.get(key);
+        if (node == null) {
+            return null;
+        }
+        if (!node.referenced) {
+            node.referenced = true; // Only written when clear, so hot entries don't bounce the cache line
+        }
+        return node.value;
+    }
+
+    public synchronized void put(K key, V value) {
+        Node<K, V> existing = map.get(key);
+        int slot = existing != null ? existing.slot : freeSlot();
+        Node<K, V> node = new Node<>(key, value, slot);
+        ring[slot] = node;
+        map.put(key, node);
+    }
+
+    /**
+     * Returns the value for the key, inserting the one computed from it if absent, so concurrent callers share one
+     * value. Hits take no lock.
+     */
+    public V computeIfAbsent(K key, Function<K, V> mappingFunction) {
+        V value = get(key);
+        if (value != null) {
+            return value;
+        }
+        synchronized (this) {
+            Node<K, V> existing = map.get(key);
+            if (existing != null) {
+                return existing.value;
+            }
+            value = mappingFunction.apply(key);
+            Node<K, V> node = new Node<>(key, value, freeSlot());
+            ring[node.slot] = node;
+            map.put(key, node);
+            return value;
+        }
+    }
+
+    public synchronized void remove(K key) {
+        Node<K, V> node = map.remove(key);
+        if (node != null && ring[node.slot] == node) {
+            ring[node.slot] = null;
+        }
+    }
+
+    /**
+     * Removes the entry only if it still holds the given value.
+     */
+    public synchronized void remove(K key, V value) {
+        Node<K, V> node = map.get(key);
+        if (node != null && node.value == value) {
+            remove(key);
+        }
+    }
+
+    /**
+     * Removes every entry whose value matches; for periodic sweeps, not the request path.
+     *
+     * @return How many entries were removed.
+     */
+    public synchronized int removeIf(Predicate<V> predicate) {
+        int removed = 0;
+        for (int i = 0; i < filled; i++) {
+            Node<K, V> node = ring[i];
+            if (node != null && predicate.test(node.value)) {
+                map.remove(node.key, node);
+                ring[i] = null;
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Live entries displaced to make room for new ones.
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    private int freeSlot() {
+        if (filled < capacity) {
+            return filled++;
+        }
+        while (true) {
+            Node<K, V> node = ring[hand];
+            int slot = hand;
+            hand = (hand + 1) % capacity;
+            if (node == null) {
+                return slot;
+            }
+            if (node.referenced) {
+                node.referenced = false; // Second chance
+            } else {
+                map.remove(node.key, node);
+                evictions++;
+                return slot;
+            }
+        }
+    }
+
+    private static final class Node<K, V> {
+        private final K key;
+        private final V value;
+        private final int slot;
+        private volatile boolean referenced;
+
+        Node(K key, V value, int slot) {
+            this.key = key;
+            this.value = value;
+            this.slot = slot;
+        }
+    }
+}
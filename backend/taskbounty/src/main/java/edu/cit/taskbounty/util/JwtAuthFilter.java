@@ -1,6 +1,9 @@
 package edu.cit.taskbounty.util;
 
+import edu.cit.taskbounty.security.AuthenticatedUser;
 import edu.cit.taskbounty.service.CustomUserDetailsService;
+import edu.cit.taskbounty.service.TokenRevocationService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
@@ -11,14 +14,27 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.Ordered;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
+import org.springframework.util.function.SingletonSupplier;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Date;
+import java.util.function.Supplier;
 
+/**
+ * Authenticates requests carrying a JWT in the Authorization header or the {@code jwt} cookie.
+ * <p>
+ * Authentication is deferred: the filter only registers a supplier on the security context, and the token is
+ * verified and its user resolved the first time something asks for the authentication (an authorization rule,
+ * {@code @PreAuthorize}, or a handler reading the context). Public reads that never ask skip the signature
+ * check and the user lookup entirely.
+ */
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter implements Ordered {
 
@@ -30,6 +46,9 @@ public class JwtAuthFilter extends OncePerRequestFilter implements Ordered {
     @Autowired
     private CustomUserDetailsService userDetailsService;
 
+    @Autowired
+    private TokenRevocationService revocationService;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
@@ -38,7 +57,6 @@ public class JwtAuthFilter extends OncePerRequestFilter implements Ordered {
         logger.debug("JwtAuthFilter processing request: {}", request.getRequestURI());
 
         String token = null;
-        String username = null;
 
         // Check Authorization header
         String authHeader = request.getHeader("Authorization");
@@ -60,32 +78,78 @@ public class JwtAuthFilter extends OncePerRequestFilter implements Ordered {
         }
 
         if (token != null) {
-            try {
-                username = jwtService.extractUsername(token);
-                logger.debug("Extracted username: {}", username);
-            } catch (Exception e) {
-                logger.error("JWT validation failed: {}", e.getMessage());
-            }
+            String jwt = token;
+            SecurityContextHolderStrategy strategy = SecurityContextHolder.getContextHolderStrategy();
+            Supplier<SecurityContext> previous = strategy.getDeferredContext();
+            // Memoized, so the token is verified at most once per request however often the context is read
+            strategy.setDeferredContext(SingletonSupplier.of(() -> authenticate(jwt, request, previous.get(), strategy)));
         }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-            if (jwtService.isTokenValid(token, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-                logger.debug("Authentication set for user: {}", username);
-            } else {
-                logger.warn("Invalid JWT for user: {}", username);
-            }
+        filterChain.doFilter(request, response);
+    }
+
+    private SecurityContext authenticate(String token, HttpServletRequest request, SecurityContext context,
+                                         SecurityContextHolderStrategy strategy) {
+        if (context.getAuthentication() != null) {
+            return context;
         }
 
-        filterChain.doFilter(request, response);
+        String username;
+        String userId;
+        String tokenId;
+        Date issuedAt;
+        Date expiresAt;
+        try {
+            // One verification per token; repeat requests are served from the verified-claims cache
+            Claims claims = jwtService.verify(token);
+            username = claims.getSubject();
+            userId = claims.get(JwtUtil.USER_ID_CLAIM, String.class); // Absent on tokens issued before it was added
+            tokenId = claims.getId();
+            issuedAt = claims.getIssuedAt();
+            expiresAt = claims.getExpiration();
+            logger.debug("Extracted username: {}", username);
+        } catch (Exception e) {
+            logger.error("JWT validation failed: {}", e.getMessage());
+            return context;
+        }
+        if (username == null) {
+            return context;
+        }
+
+        AuthenticatedUser user = loadUser(username);
+        if (user == null) {
+            logger.warn("Ignoring JWT for unknown user: {}", username);
+        } else if (userId != null && !userId.equals(user.getId())) {
+            // The username now belongs to a different account than the one the token was issued to
+            logger.warn("Ignoring JWT for user {} issued to another account", username);
+        } else if (!user.isEnabled()) {
+            logger.warn("Ignoring JWT for disabled user: {}", username);
+        } else if (!user.acceptsTokenIssuedAt(issuedAt)) {
+            logger.info("Ignoring JWT for user {} issued before their last password change", username);
+        } else if (revocationService.isRevoked(tokenId)) {
+            logger.info("Ignoring revoked JWT {} for user {}", tokenId, username);
+        } else {
+            UsernamePasswordAuthenticationToken authToken =
+                    new UsernamePasswordAuthenticationToken(user.withToken(tokenId, expiresAt), null, user.getAuthorities());
+            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContext authenticated = strategy.createEmptyContext();
+            authenticated.setAuthentication(authToken);
+            logger.debug("Authentication set for user: {}", username);
+            return authenticated;
+        }
+        return context;
+    }
+
+    private AuthenticatedUser loadUser(String username) {
+        try {
+            return userDetailsService.loadUserByUsername(username);
+        } catch (UsernameNotFoundException e) {
+            return null; // Renamed or deleted since the token was issued
+        }
     }
 
     @Override
     public int getOrder() {
-        return 75; // Run after RateLimitingFilter (50)
+        return 75; // Run before RateLimitingFilter (80)
     }
-}
\ No newline at end of file
+}
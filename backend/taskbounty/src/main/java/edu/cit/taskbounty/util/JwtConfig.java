@@ -0,0 +1,31 @@
+package edu.cit.taskbounty.util;
+
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Signing key and parser shared by {@link JwtService} and {@link JwtUtil}. Both are immutable and thread-safe,
+ * so they are built once instead of per token.
+ */
+@Configuration
+public class JwtConfig {
+
+    @Bean
+    public SecretKey jwtSigningKey(@Value("${jwt.secret}") String secret) {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Bean
+    public JwtParser jwtParser(SecretKey jwtSigningKey) {
+        return Jwts.parser()
+                .verifyWith(jwtSigningKey)
+                .build();
+    }
+}
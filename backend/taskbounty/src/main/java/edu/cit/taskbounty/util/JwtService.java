@@ -2,41 +2,47 @@ package edu.cit.taskbounty.util;
 
 import edu.cit.taskbounty.model.User;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwt;
 import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String SECRET_KEY;
-
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8));
-    }
+    @Autowired
+    private SecretKey jwtSigningKey;
 
+    @Autowired
+    private JwtParser jwtParser;
 
-    private Claims extractAllClaims(String token) {
-        JwtParser parser = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build();
+    @Autowired
+    private VerifiedClaimsCache claimsCache;
 
-        Jwt<?, ?> jwt = parser.parse(token);
-        return (Claims) jwt.getBody();
+    /**
+     * Verify a token's signature and expiry and return its claims. Tokens seen before are served from the
+     * verified-claims cache without parsing or HMAC work.
+     *
+     * @throws io.jsonwebtoken.JwtException If the token is malformed, badly signed or expired.
+     */
+    public Claims verify(String token) {
+        long now = System.currentTimeMillis();
+        Claims claims = claimsCache.get(token, now);
+        if (claims == null) {
+            claims = jwtParser.parseSignedClaims(token).getPayload();
+            claimsCache.put(token, claims, now);
+        }
+        return claims;
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> resolver) {
-        return resolver.apply(extractAllClaims(token));
+        return resolver.apply(verify(token));
     }
 
     public String extractUsername(String token) {
@@ -56,10 +62,12 @@ public class JwtService {
     // Generate JWT token
     public String generateToken(User user) {
         return Jwts.builder()
-                .setSubject(user.getUsername())  // Set the subject (username)
-                .setIssuedAt(new Date())  // Set the issue date
-                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 24))// Set expiration time (24 hours)
-                .signWith(getSigningKey())  // Sign the token with the secret key
+                .id(UUID.randomUUID().toString())  // Token ID, used for revocation
+                .subject(user.getUsername())  // Set the subject (username)
+                .claim(JwtUtil.USER_ID_CLAIM, user.getId())
+                .issuedAt(new Date())  // Set the issue date
+                .expiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 24))// Set expiration time (24 hours)
+                .signWith(jwtSigningKey)  // Sign the token with the secret key
                 .compact();  // Create the token
     }
-}
\ No newline at end of file
+}
@@ -1,40 +1,49 @@
 package edu.cit.taskbounty.util;
 
+import edu.cit.taskbounty.model.User;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.JwtException;
-import io.jsonwebtoken.security.Keys;
-import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.Map;
+import java.util.UUID;
 
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    public static final String USER_ID_CLAIM = "uid";
 
     @Value("${jwt.expiration}")
     private long jwtExpirationMs;
 
+    @Autowired
     private SecretKey secretKey;
 
-    @PostConstruct
-    public void init() {
-        secretKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    @Autowired
+    private JwtService jwtService;
+
+    public String generateJwtToken(User user) {
+        return generateJwtToken(user.getUsername(), Map.of(USER_ID_CLAIM, user.getId()));
     }
 
     public String generateJwtToken(String username) {
+        return generateJwtToken(username, Map.of());
+    }
+
+    private String generateJwtToken(String username, Map<String, ?> extraClaims) {
 
         long now = System.currentTimeMillis();
         Date issuedAt = new Date(now);
         Date expiration = new Date(now + jwtExpirationMs);
 
         return Jwts.builder()
+                .claims(extraClaims)
                 .claims(Map.of(
+                        "jti", UUID.randomUUID().toString(), // Token ID, used for revocation
                         "sub", username,
                         "iat", issuedAt,
                         "exp", expiration
@@ -47,12 +56,7 @@ public class JwtUtil {
         if (token != null && token.startsWith("Bearer ")) {
             token = token.substring(7);
         }
-        return Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
+        return jwtService.verify(token).getSubject();
     }
 
     public boolean validateJwtToken(String authToken) {
@@ -60,14 +64,11 @@ public class JwtUtil {
             if (authToken != null && authToken.startsWith("Bearer ")) {
                 authToken = authToken.substring(7);
             }
-            Jwts.parser()
-                    .verifyWith(secretKey)
-                    .build()
-                    .parseSignedClaims(authToken);
+            jwtService.verify(authToken);
             return true;
         } catch (JwtException e) {
             System.err.println("Invalid JWT token: " + e.getMessage());
             return false;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,75 @@
+package edu.cit.taskbounty.util;
+
+import edu.cit.taskbounty.model.BountyPost;
+import edu.cit.taskbounty.model.Comment;
+import edu.cit.taskbounty.model.OutboxEmail;
+import edu.cit.taskbounty.model.PostVote;
+import edu.cit.taskbounty.model.RateLimitCounter;
+import edu.cit.taskbounty.model.RevokedToken;
+import edu.cit.taskbounty.model.Solution;
+import edu.cit.taskbounty.model.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Creates the indexes declared by {@code @Indexed} and friends on startup.
+ * <p>
+ * Spring Boot leaves automatic index creation off, so entities whose queries depend on an index are listed here
+ * explicitly. Creating an index that already exists is a no-op. A unique index that cannot be created fails
+ * startup, since without it registration would silently accept duplicates; any other index is only logged.
+ */
+@Component
+public class MongoIndexInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoIndexInitializer.class);
+
+    private static final List<Class<?>> INDEXED_ENTITIES = List.of(
+            RateLimitCounter.class,
+            RevokedToken.class,
+            User.class,
+            OutboxEmail.class,
+            BountyPost.class,
+            Solution.class,
+            Comment.class,
+            PostVote.class
+    );
+
+    private final MongoTemplate mongoTemplate;
+
+    public MongoIndexInitializer(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void ensureIndexes() {
+        MongoConverter converter = mongoTemplate.getConverter();
+        MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(converter.getMappingContext());
+        for (Class<?> entity : INDEXED_ENTITIES) {
+            IndexOperations indexOps = mongoTemplate.indexOps(entity);
+            resolver.resolveIndexFor(entity).forEach(index -> {
+                try {
+                    indexOps.ensureIndex(index);
+                } catch (DataAccessException e) {
+                    if (Boolean.TRUE.equals(index.getIndexOptions().get("unique"))) {
+                        throw new IllegalStateException("Could not create unique index " + index.getIndexKeys()
+                                + " for " + entity.getSimpleName(), e);
+                    }
+                    // Queries still work without a plain index, only slower
+                    logger.error("Could not create index {} for {}: {}",
+                            index.getIndexKeys(), entity.getSimpleName(), e.getMessage());
+                }
+            });
+        }
+        logger.info("Ensured MongoDB indexes for {} entities", INDEXED_ENTITIES.size());
+    }
+}
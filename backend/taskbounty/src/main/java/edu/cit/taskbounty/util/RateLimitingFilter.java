@@ -1,100 +1,83 @@
 package edu.cit.taskbounty.util;
 
+import edu.cit.taskbounty.ratelimit.RateLimitMetrics;
+import edu.cit.taskbounty.ratelimit.RateLimitPolicy;
+import edu.cit.taskbounty.ratelimit.RateLimitPolicyRegistry;
+import edu.cit.taskbounty.ratelimit.RateLimitRoute;
+import edu.cit.taskbounty.ratelimit.RateLimiterStore;
+import edu.cit.taskbounty.ratelimit.SlidingWindowCounter;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.time.Duration;
-import java.time.Instant;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class RateLimitingFilter extends OncePerRequestFilter implements Ordered {
 
-    private static final Logger logger = LoggerFactory.getLogger(RateLimitingFilter.class);
-
-    private final int maxRequests;
-    private final Duration timeWindow;
-    private final Map<String, RequestTracker> requestCounts = new ConcurrentHashMap<>();
-
-    public RateLimitingFilter(
-            @Value("${rate.limiting.max.requests:25}") int maxRequests,
-            @Value("${rate.limiting.time.window.seconds:60}") long timeWindowSeconds) {
-        this.maxRequests = maxRequests;
-        this.timeWindow = Duration.ofSeconds(timeWindowSeconds);
-        logger.info("RateLimitingFilter initialized with maxRequests={} and timeWindow={} seconds", maxRequests, timeWindowSeconds);
+    private final RateLimiterStore rateLimiterStore;
+    private final RateLimitPolicyRegistry policyRegistry;
+    private final RateLimitMetrics metrics;
+    private final ClientIpResolver clientIpResolver;
+
+    public RateLimitingFilter(RateLimiterStore rateLimiterStore, RateLimitPolicyRegistry policyRegistry,
+                              RateLimitMetrics metrics, ClientIpResolver clientIpResolver) {
+        this.rateLimiterStore = rateLimiterStore;
+        this.policyRegistry = policyRegistry;
+        this.metrics = metrics;
+        this.clientIpResolver = clientIpResolver;
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
-        String clientIp = getClientIp(request);
-        String requestUri = request.getRequestURI();
-
-        if (!requestUri.startsWith("/bounty_post")) {
-            filterChain.doFilter(request, response);
-            return;
+        long start = System.nanoTime();
+        RateLimitRoute route = policyRegistry.resolve(request.getMethod(), request.getRequestURI());
+        RateLimitPolicy policy = route.getPolicy();
+
+        // Authenticated callers get a budget per user on per-user policies; everyone else per client IP
+        String subject = policy.isPerUser() ? getAuthenticatedSubject() : null;
+        if (subject == null) {
+            subject = "ip:" + clientIpResolver.resolve(request);
         }
 
-        String key = clientIp + ":" + requestUri;
-        RequestTracker tracker = requestCounts.computeIfAbsent(key, k -> new RequestTracker());
-
-        synchronized (tracker) {
-            Instant now = Instant.now();
-            tracker.removeExpiredTimestamps(now, timeWindow);
-
-            if (tracker.getTimestamps().size() >= maxRequests) {
-                logger.warn("Rate limit exceeded for client {} on URI {}", clientIp, requestUri);
-                response.setStatus(HttpServletResponse.SC_FORBIDDEN);
-                response.getWriter().write("Too many requests. Please try again later.");
-                return;
-            }
-
-            tracker.addTimestamp(now);
+        String key = policy.getName() + "|" + route.getTemplate() + "|" + subject;
+        long now = System.currentTimeMillis();
+        SlidingWindowCounter counter = rateLimiterStore.getOrCreate(key, policy.getMaxRequests(), policy.getWindowMillis(), now);
+
+        long retryAfterMillis = counter.tryAcquire(now);
+        if (retryAfterMillis > 0) {
+            metrics.recordRejected(policy, route.getTemplate(), subject, System.nanoTime() - start, now);
+            long retryAfterSeconds = (retryAfterMillis + 999) / 1000;
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.getWriter().write("Too many requests. Please try again later.");
+            return;
         }
+        metrics.recordAllowed(policy, System.nanoTime() - start);
 
         filterChain.doFilter(request, response);
     }
 
-    private String getClientIp(HttpServletRequest request) {
-        String ip = request.getHeader("X-Forwarded-For");
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getRemoteAddr();
-        } else {
-            ip = ip.split(",")[0].trim();
+    private String getAuthenticatedSubject() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
+            return null;
         }
-        return ip;
+        return "user:" + auth.getName();
     }
 
     @Override
     public int getOrder() {
-        return 50; // Run before JwtAuthFilter and UsernamePasswordAuthenticationFilter
-    }
-
-    private static class RequestTracker {
-        private final List<Instant> timestamps = new ArrayList<>();
-
-        public List<Instant> getTimestamps() {
-            return timestamps;
-        }
-
-        public void addTimestamp(Instant timestamp) {
-            timestamps.add(timestamp);
-        }
-
-        public void removeExpiredTimestamps(Instant now, Duration timeWindow) {
-            timestamps.removeIf(timestamp -> Duration.between(timestamp, now).compareTo(timeWindow) > 0);
-        }
+        return 80; // Run after JwtAuthFilter so the authenticated user can be resolved
     }
-}
\ No newline at end of file
+}
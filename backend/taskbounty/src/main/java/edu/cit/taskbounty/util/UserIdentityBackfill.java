@@ -0,0 +1,134 @@
+package edu.cit.taskbounty.util;
+
+import edu.cit.taskbounty.model.User;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Fills in {@code normalizedUsername} and {@code normalizedEmail} on users saved before those fields existed.
+ * <p>
+ * Runs after {@link MongoIndexInitializer} has created the unique indexes, so the indexes themselves settle
+ * case-variant duplicates. Users are visited oldest first, so the earliest account keeps the normalized value.
+ * The update for any later one is rejected, and that account gets the exact value as {@code legacyUsername} or
+ * {@code legacyEmail} instead, which lookups also match so it can still sign in. Documents already carrying
+ * either field are skipped, so this is a no-op once done.
+ */
+@Component
+public class UserIdentityBackfill {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserIdentityBackfill.class);
+
+    private static final int BATCH_SIZE = 500;
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+
+    public UserIdentityBackfill(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        Query query = new Query(new Criteria().orOperator(
+                Criteria.where("normalizedUsername").exists(false),
+                Criteria.where("normalizedEmail").exists(false)));
+        query.fields().include("username").include("email").include("normalizedUsername").include("normalizedEmail")
+                .include("legacyUsername").include("legacyEmail");
+        query.with(Sort.by("dateCreated", "_id")).allowDiskUse(true);
+
+        int[] totals = new int[2]; // updated, conflicts
+        List<Document> batch = new ArrayList<>(BATCH_SIZE);
+        try (Stream<Document> users = mongoTemplate.stream(query, Document.class, "users")) {
+            users.forEach(user -> {
+                batch.add(user);
+                if (batch.size() == BATCH_SIZE) {
+                    flush(batch, totals);
+                }
+            });
+        }
+        flush(batch, totals);
+
+        if (totals[0] > 0 || totals[1] > 0) {
+            logger.info("Backfilled normalized identities: {} fields set, {} kept as legacy values due to duplicates",
+                    totals[0], totals[1]);
+        }
+    }
+
+    private void flush(List<Document> batch, int[] totals) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, "users");
+        List<LegacyValue> queued = new ArrayList<>();
+        for (Document user : batch) {
+            // One update per field, so a clash on the username doesn't also keep the email from being indexed
+            queueField(ops, queued, user, "username", "normalizedUsername", "legacyUsername");
+            queueField(ops, queued, user, "email", "normalizedEmail", "legacyEmail");
+        }
+        batch.clear();
+        if (queued.isEmpty()) {
+            return;
+        }
+        List<LegacyValue> conflicts = new ArrayList<>();
+        try {
+            totals[0] += ops.execute().getModifiedCount();
+        } catch (BulkOperationException e) {
+            totals[0] += e.getResult().getModifiedCount();
+            e.getErrors().forEach(error -> {
+                if (error.getCode() == DUPLICATE_KEY) {
+                    conflicts.add(queued.get(error.getIndex()));
+                } else {
+                    logger.warn("Skipped normalizing a user: {}", error.getMessage());
+                }
+            });
+        }
+        if (!conflicts.isEmpty()) {
+            totals[1] += keepLegacyValues(conflicts);
+        }
+    }
+
+    private void queueField(BulkOperations ops, List<LegacyValue> queued, Document user, String field,
+                            String normalizedField, String legacyField) {
+        String value = user.getString(field);
+        if (value == null || user.containsKey(normalizedField) || user.containsKey(legacyField)) {
+            return;
+        }
+        ops.updateOne(new Query(Criteria.where("_id").is(user.get("_id")).and(normalizedField).exists(false)),
+                new Update().set(normalizedField, User.normalize(value)));
+        queued.add(new LegacyValue(user.get("_id"), legacyField, value));
+    }
+
+    private int keepLegacyValues(List<LegacyValue> conflicts) {
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, "users");
+        for (LegacyValue conflict : conflicts) {
+            logger.warn("User {} clashes with an older account up to case; its exact value is kept as {}",
+                    conflict.id(), conflict.field());
+            ops.updateOne(new Query(Criteria.where("_id").is(conflict.id())),
+                    new Update().set(conflict.field(), conflict.value()));
+        }
+        try {
+            return ops.execute().getModifiedCount();
+        } catch (RuntimeException e) {
+            logger.warn("Failed to record legacy identities: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    private record LegacyValue(Object id, String field, String value) {
+    }
+}
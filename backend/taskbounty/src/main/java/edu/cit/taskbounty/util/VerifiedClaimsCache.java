@@ -0,0 +1,90 @@
+package edu.cit.taskbounty.util;
+
+import io.jsonwebtoken.Claims;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+
+/**
+ * Claims of tokens whose signature has already been verified, so a client presenting the same token again
+ * costs a map lookup instead of a parse and an HMAC.
+ * <p>
+ * Entries are keyed by the token's signature segment, which is already an HMAC digest of the header and payload,
+ * and hold the full token so a hit is only honoured for the exact same string. An entry is never served past
+ * the token's {@code exp} and is swept shortly after it. Tokens without an expiry are not cached. Once
+ * {@code maxEntries} tokens are cached, new ones displace the least recently used through {@link ClockCache}.
+ */
+@Component
+public class VerifiedClaimsCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(VerifiedClaimsCache.class);
+
+    private final ClockCache<String, Entry> entries;
+
+    public VerifiedClaimsCache(@Value("${jwt.claims.cache.max.entries:10000}") int maxEntries) {
+        this.entries = new ClockCache<>(maxEntries);
+    }
+
+    /**
+     * @return The cached claims, or {@code null} if the token was not verified before or has expired since.
+     */
+    public Claims get(String token, long nowMillis) {
+        Entry entry = entries.get(digest(token));
+        if (entry == null || !entry.token.equals(token)) {
+            return null;
+        }
+        if (nowMillis >= entry.expiresAtMillis) {
+            entries.remove(digest(token), entry);
+            return null;
+        }
+        return entry.claims;
+    }
+
+    public void put(String token, Claims claims, long nowMillis) {
+        Date expiration = claims.getExpiration();
+        if (expiration == null || expiration.getTime() <= nowMillis) {
+            return;
+        }
+        entries.put(digest(token), new Entry(token, claims, expiration.getTime()));
+    }
+
+    public void remove(String token) {
+        entries.remove(digest(token));
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.claims.cache.sweep.interval.ms:60000}")
+    public void sweepExpired() {
+        int removed = removeExpired(System.currentTimeMillis());
+        if (removed > 0) {
+            logger.debug("Removed {} expired verified tokens, {} remaining", removed, entries.size());
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private int removeExpired(long nowMillis) {
+        return entries.removeIf(entry -> nowMillis >= entry.expiresAtMillis);
+    }
+
+    private static String digest(String token) {
+        return token.substring(token.lastIndexOf('.') + 1);
+    }
+
+    private static class Entry {
+        private final String token;
+        private final Claims claims;
+        private final long expiresAtMillis;
+
+        Entry(String token, Claims claims, long expiresAtMillis) {
+            this.token = token;
+            this.claims = claims;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
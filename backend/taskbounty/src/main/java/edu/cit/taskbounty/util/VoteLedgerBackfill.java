@@ -0,0 +1,91 @@
+package edu.cit.taskbounty.util;
+
+import edu.cit.taskbounty.model.BountyPost;
+import edu.cit.taskbounty.model.PostVote;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Moves votes recorded in the legacy {@code votedUp}/{@code votedDown} arrays of bounty posts into the vote ledger.
+ * <p>
+ * Runs before the web server accepts requests, so a legacy voter voting again is recognised instead of being
+ * counted twice. Existing ledger entries are never overwritten, so re-running it is harmless. Once a post's votes
+ * are copied its arrays are removed, and later startups find nothing to do.
+ */
+@Component
+public class VoteLedgerBackfill implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(VoteLedgerBackfill.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    public VoteLedgerBackfill(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Query legacy = new Query(new Criteria().orOperator(
+                Criteria.where("votedUp").exists(true),
+                Criteria.where("votedDown").exists(true)));
+        legacy.fields().include("votedUp").include("votedDown");
+
+        int[] totals = new int[2]; // posts, votes
+        String collection = mongoTemplate.getCollectionName(BountyPost.class);
+        try (Stream<Document> posts = mongoTemplate.stream(legacy, Document.class, collection)) {
+            posts.forEach(post -> {
+                totals[1] += migrate(post);
+                totals[0]++;
+            });
+        }
+        if (totals[0] > 0) {
+            logger.info("Moved {} legacy votes from {} bounty posts into the vote ledger", totals[1], totals[0]);
+        }
+    }
+
+    private int migrate(Document post) {
+        String postId = post.getObjectId("_id").toHexString();
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, PostVote.class);
+        Set<String> seen = new HashSet<>();
+        int queued = queue(ops, postId, post.getList("votedUp", String.class), PostVote.UP, seen)
+                + queue(ops, postId, post.getList("votedDown", String.class), PostVote.DOWN, seen);
+        if (queued > 0) {
+            ops.execute();
+        }
+        // Only after the copy succeeded; votesMigrated was the marker used before the arrays were dropped
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(post.getObjectId("_id"))),
+                new Update().unset("votedUp").unset("votedDown").unset("votesMigrated"), BountyPost.class);
+        return queued;
+    }
+
+    private int queue(BulkOperations ops, String postId, List<String> voters, String type, Set<String> seen) {
+        if (voters == null) {
+            return 0;
+        }
+        int queued = 0;
+        for (String userId : voters) {
+            if (userId == null || !seen.add(userId)) {
+                continue; // A user in both arrays keeps their upvote, matching the stored counters' first entry
+            }
+            ops.upsert(new Query(Criteria.where("_id").is(PostVote.idFor(postId, userId))), new Update()
+                    .setOnInsert("postId", postId)
+                    .setOnInsert("userId", userId)
+                    .setOnInsert("type", type));
+            queued++;
+        }
+        return queued;
+    }
+}
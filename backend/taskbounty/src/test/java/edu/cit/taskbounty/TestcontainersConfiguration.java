@@ -0,0 +1,22 @@
+package edu.cit.taskbounty;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * A MongoDB container for integration tests, wired in as the application's Mongo connection. Tests importing it
+ * share one container through the context cache; annotate them with
+ * {@code @Testcontainers(disabledWithoutDocker = true)} so they are skipped where Docker is unavailable.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class TestcontainersConfiguration {
+
+    @Bean
+    @ServiceConnection
+    MongoDBContainer mongoDbContainer() {
+        return new MongoDBContainer(DockerImageName.parse("mongo:7.0"));
+    }
+}
@@ -0,0 +1,108 @@
+package edu.cit.taskbounty.controller;
+
+import edu.cit.taskbounty.dto.UserProfileView;
+import edu.cit.taskbounty.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Date;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AuthControllerProfileTest {
+
+    private static final Date UPDATED_AT = new Date(1_700_000_000_000L);
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        AuthController controller = new AuthController();
+        ReflectionTestUtils.setField(controller, "userRepository", userRepository);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+        givenProfile("alice@example.com");
+    }
+
+    @Test
+    void profileCarriesValidators() throws Exception {
+        mockMvc.perform(get("/auth/profile/u1"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, UPDATED_AT.getTime()))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andExpect(jsonPath("$.data.email").value("alice@example.com"));
+    }
+
+    @Test
+    void matchingEtagAnswersNotModifiedWithoutBody() throws Exception {
+        String etag = fetchEtag();
+
+        mockMvc.perform(get("/auth/profile/u1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void unmodifiedSinceAnswersNotModified() throws Exception {
+        mockMvc.perform(get("/auth/profile/u1").header(HttpHeaders.IF_MODIFIED_SINCE, UPDATED_AT.getTime()))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void changedProfileGetsANewEtagEvenWithoutUpdatedAt() throws Exception {
+        String etag = fetchEtag();
+        // e.g. a targeted $set that bypasses auditing
+        givenProfile("alice@example.org");
+
+        MvcResult result = mockMvc.perform(get("/auth/profile/u1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.email").value("alice@example.org"))
+                .andReturn();
+        assertNotEquals(etag, result.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void missingUserIsNotFound() throws Exception {
+        when(userRepository.findProfileById("nobody")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/auth/profile/nobody"))
+                .andExpect(status().isNotFound())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
+    private String fetchEtag() throws Exception {
+        String etag = mockMvc.perform(get("/auth/profile/u1")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        return etag;
+    }
+
+    private void givenProfile(String email) {
+        UserProfileView profile = mock(UserProfileView.class);
+        when(profile.getId()).thenReturn("u1");
+        when(profile.getUsername()).thenReturn("alice");
+        when(profile.getEmail()).thenReturn(email);
+        when(profile.getBirthDate()).thenReturn(new Date(0));
+        when(profile.getCountryCode()).thenReturn("PH");
+        when(profile.isVerified()).thenReturn(true);
+        when(profile.getDateCreated()).thenReturn(new Date(0));
+        when(profile.getUpdatedAt()).thenReturn(UPDATED_AT);
+        when(userRepository.findProfileById("u1")).thenReturn(Optional.of(profile));
+    }
+}
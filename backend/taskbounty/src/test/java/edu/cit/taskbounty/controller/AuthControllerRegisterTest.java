@@ -0,0 +1,85 @@
+package edu.cit.taskbounty.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.cit.taskbounty.model.User;
+import edu.cit.taskbounty.repository.UserRepository;
+import edu.cit.taskbounty.service.AuthService;
+import edu.cit.taskbounty.service.EmailService;
+import edu.cit.taskbounty.service.PasswordHashingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Registration must derive the normalized username and email itself, never take them from the request body.
+ */
+class AuthControllerRegisterTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        PasswordHashingService passwordHashingService = mock(PasswordHashingService.class);
+        when(passwordHashingService.encode(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(userRepository.insert(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        AuthService authService = new AuthService();
+        ReflectionTestUtils.setField(authService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(authService, "passwordHashingService", passwordHashingService);
+        ReflectionTestUtils.setField(authService, "emailService", mock(EmailService.class));
+
+        AuthController controller = new AuthController();
+        ReflectionTestUtils.setField(controller, "authService", authService);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void clientSuppliedNormalizedFieldsAreIgnored() throws Exception {
+        mockMvc.perform(post("/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"username": "Alice", "email": "Alice@Example.com", "password": "secret123",
+                                 "birthDate": "2000-01-01", "countryCode": "PH",
+                                 "normalizedUsername": "victim", "normalizedEmail": "victim@example.com",
+                                 "legacyUsername": "victim", "legacyEmail": "victim@example.com"}
+                                """))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data.username").value("Alice"));
+
+        ArgumentCaptor<User> inserted = ArgumentCaptor.forClass(User.class);
+        verify(userRepository).insert(inserted.capture());
+        User user = inserted.getValue();
+        assertEquals("alice", user.getNormalizedUsername());
+        assertEquals("alice@example.com", user.getNormalizedEmail());
+        assertNull(ReflectionTestUtils.getField(user, "legacyUsername"));
+        assertNull(ReflectionTestUtils.getField(user, "legacyEmail"));
+    }
+
+    @Test
+    void normalizedFieldsAreNotSerialized() throws Exception {
+        User user = new User();
+        user.setUsername("Alice");
+        user.setEmail("Alice@Example.com");
+
+        String json = new ObjectMapper().writeValueAsString(user);
+
+        assertEquals(-1, json.indexOf("normalized"));
+        assertEquals(-1, json.indexOf("legacy"));
+    }
+}
@@ -0,0 +1,127 @@
+package edu.cit.taskbounty.controller;
+
+import edu.cit.taskbounty.model.PostVote;
+import edu.cit.taskbounty.repository.BountyPostRepository;
+import edu.cit.taskbounty.security.AuthenticatedUser;
+import edu.cit.taskbounty.security.GlobalExceptionHandler;
+import edu.cit.taskbounty.service.BountyPostService;
+import edu.cit.taskbounty.service.TitleAutocompleteIndex;
+import edu.cit.taskbounty.service.VoteAggregator;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * {@code GET /bounty_post/votes} through the real service, with the ledger query mocked.
+ */
+class BountyPostControllerVotesTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        BountyPostService service = new BountyPostService(mock(BountyPostRepository.class), mongoTemplate,
+                mock(VoteAggregator.class), mock(TitleAutocompleteIndex.class));
+        mockMvc = MockMvcBuilders.standaloneSetup(new BountyPostController(service, mock(TitleAutocompleteIndex.class)))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void mixedVotesMapToUpDownOrAbsent() throws Exception {
+        signIn("alice");
+        when(mongoTemplate.find(any(Query.class), eq(PostVote.class)))
+                .thenReturn(List.of(vote("p1", PostVote.UP), vote("p2", PostVote.DOWN)));
+
+        mockMvc.perform(get("/bounty_post/votes").param("ids", "p1", "p2", "p3"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"p1\": \"UP\", \"p2\": \"DOWN\"}", true));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(PostVote.class));
+        assertEquals(new Document("_id", new Document("$in", List.of("p1:alice", "p2:alice", "p3:alice"))),
+                query.getValue().getQueryObject(), "one _id lookup per post, scoped to the caller");
+    }
+
+    @Test
+    void repeatedIdsAreLookedUpOnce() throws Exception {
+        signIn("alice");
+        when(mongoTemplate.find(any(Query.class), eq(PostVote.class))).thenReturn(List.of(vote("p1", PostVote.UP)));
+
+        mockMvc.perform(get("/bounty_post/votes").param("ids", "p1", "p1"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"p1\": \"UP\"}", true));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(PostVote.class));
+        assertEquals(new Document("_id", new Document("$in", List.of("p1:alice"))), query.getValue().getQueryObject());
+    }
+
+    @Test
+    void emptyIdListAnswersEmptyWithoutQuerying() throws Exception {
+        signIn("alice");
+
+        mockMvc.perform(get("/bounty_post/votes").param("ids", ""))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{}", true));
+
+        verify(mongoTemplate, never()).find(any(Query.class), eq(PostVote.class));
+    }
+
+    @Test
+    void anonymousCallerIsRejected() throws Exception {
+        mockMvc.perform(get("/bounty_post/votes").param("ids", "p1"))
+                .andExpect(status().isUnauthorized());
+
+        verify(mongoTemplate, never()).find(any(Query.class), eq(PostVote.class));
+    }
+
+    @Test
+    void moreThanOneHundredIdsIsABadRequest() throws Exception {
+        signIn("alice");
+
+        mockMvc.perform(get("/bounty_post/votes").param("ids", Collections.nCopies(101, "p").toArray(String[]::new)))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static PostVote vote(String postId, String type) {
+        PostVote vote = new PostVote();
+        vote.setPostId(postId);
+        vote.setType(type);
+        return vote;
+    }
+
+    private static void signIn(String userId) {
+        AuthenticatedUser user = new AuthenticatedUser(userId, userId, null, false, 0);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+}
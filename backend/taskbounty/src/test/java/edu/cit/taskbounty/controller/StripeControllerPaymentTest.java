@@ -0,0 +1,94 @@
+package edu.cit.taskbounty.controller;
+
+import com.stripe.model.checkout.Session;
+import edu.cit.taskbounty.model.BountyPost;
+import edu.cit.taskbounty.repository.BountyPostRepository;
+import edu.cit.taskbounty.service.BountyPostService;
+import edu.cit.taskbounty.service.ProcessedDonationService;
+import edu.cit.taskbounty.service.TitleAutocompleteIndex;
+import edu.cit.taskbounty.service.VoteAggregator;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The Stripe success redirect is a plain browser navigation that may carry no session cookie, so publishing a paid
+ * draft must not depend on who is signed in.
+ */
+class StripeControllerPaymentTest {
+
+    private static final ObjectId DRAFT_ID = new ObjectId();
+
+    private final BountyPostRepository repository = mock(BountyPostRepository.class);
+    private final ProcessedDonationService processedDonationService = mock(ProcessedDonationService.class);
+    private final Session session = mock(Session.class);
+    private MockedStatic<Session> sessions;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        BountyPost draft = new BountyPost("creator", "Title", "Description", new BigDecimal("100"), false);
+        draft.setId(DRAFT_ID.toHexString());
+        when(repository.findById(DRAFT_ID)).thenReturn(Optional.of(draft));
+
+        sessions = mockStatic(Session.class);
+        sessions.when(() -> Session.retrieve("cs_1")).thenReturn(session);
+        when(session.getPaymentStatus()).thenReturn("paid");
+        when(session.getMetadata()).thenReturn(Map.of("bountyPostId", DRAFT_ID.toHexString()));
+
+        StripeController controller = new StripeController();
+        ReflectionTestUtils.setField(controller, "bountyPostService", new BountyPostService(repository,
+                mock(MongoTemplate.class), mock(VoteAggregator.class), mock(TitleAutocompleteIndex.class)));
+        ReflectionTestUtils.setField(controller, "processedDonationService", processedDonationService);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        sessions.close();
+    }
+
+    @Test
+    void paidSessionPublishesTheDraftWithoutASignedInUser() throws Exception {
+        mockMvc.perform(get("/stripe/payment_success/bounty_post")
+                        .param("bountyPostId", DRAFT_ID.toHexString())
+                        .param("session_id", "cs_1"))
+                .andExpect(status().isFound())
+                .andExpect(header().string("Location", "/dashboard/draft-bounties"));
+
+        verify(repository).findAndSetIsPublicById(DRAFT_ID, true);
+        verify(processedDonationService).markAsProcessed("cs_1");
+    }
+
+    @Test
+    void sessionForAnotherPostPublishesNothing() throws Exception {
+        when(session.getMetadata()).thenReturn(Map.of("bountyPostId", new ObjectId().toHexString()));
+
+        mockMvc.perform(get("/stripe/payment_success/bounty_post")
+                        .param("bountyPostId", DRAFT_ID.toHexString())
+                        .param("session_id", "cs_1"))
+                .andExpect(status().isBadRequest());
+
+        verify(repository, never()).findAndSetIsPublicById(any(), any(Boolean.class));
+    }
+}
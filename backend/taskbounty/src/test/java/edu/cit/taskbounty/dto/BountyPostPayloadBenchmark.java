@@ -0,0 +1,98 @@
+package edu.cit.taskbounty.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.cit.taskbounty.model.BountyPost;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Response size and serialization time of one listing page, full posts against summaries.
+ * <p>
+ * A page holds 25 posts with 2-8 KB markdown descriptions, serialized with an ObjectMapper configured the way
+ * Spring Boot configures its own. Not part of the regular test run (the class name doesn't match the surefire
+ * includes); run it with {@code mvn test -Dtest=BountyPostPayloadBenchmark}.
+ */
+class BountyPostPayloadBenchmark {
+
+    private static final int PAGE_SIZE = 25;
+    private static final long MEASURE_NANOS = 3_000_000_000L;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void listingPayloadAndSerializationTime() throws Exception {
+        Random random = new Random(42);
+        List<BountyPost> posts = new ArrayList<>();
+        List<BountyPostSummary> summaries = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            BountyPost post = new BountyPost("creator" + i, "Bounty post number " + i,
+                    markdown(random, 2048 + random.nextInt(6144)), BigDecimal.valueOf(50 + i), true);
+            post.setId(new ObjectId().toHexString());
+            post.setUpvotes(random.nextInt(500));
+            post.setCreatedAt(Instant.now());
+            post.setUpdatedAt(Instant.now());
+            posts.add(post);
+            summaries.add(summaryOf(post));
+        }
+        PageImpl<BountyPost> fullPage = new PageImpl<>(posts, PageRequest.of(0, PAGE_SIZE), 1000);
+        PageImpl<BountyPostSummary> summaryPage = new PageImpl<>(summaries, PageRequest.of(0, PAGE_SIZE), 1000);
+
+        report("full posts", fullPage);
+        report("summaries", summaryPage);
+    }
+
+    private void report(String name, Object page) throws Exception {
+        int bytes = objectMapper.writeValueAsBytes(page).length;
+        for (int i = 0; i < 5_000; i++) {
+            objectMapper.writeValueAsBytes(page); // Warm up
+        }
+
+        int pages = 0;
+        long started = System.nanoTime();
+        long elapsed;
+        do {
+            objectMapper.writeValueAsBytes(page);
+            pages++;
+            elapsed = System.nanoTime() - started;
+        } while (elapsed < MEASURE_NANOS);
+
+        System.out.printf("%-10s: %,9d bytes, %7.1f us per page%n", name, bytes, elapsed / 1e3 / pages);
+    }
+
+    // The fields the listing queries project; see BountyPostRepository.SUMMARY_FIELDS
+    private static BountyPostSummary summaryOf(BountyPost post) {
+        BountyPostSummary summary = new BountyPostSummary();
+        summary.setId(post.getId());
+        summary.setCreatorId(post.getCreatorId());
+        summary.setTitle(post.getTitle());
+        summary.setExcerpt(post.getExcerpt());
+        summary.setBountyPrice(post.getBountyPrice());
+        summary.setPublic(post.isPublic());
+        summary.setUpvotes(post.getUpvotes());
+        summary.setDownvotes(post.getDownvotes());
+        summary.setCreatedAt(post.getCreatedAt());
+        return summary;
+    }
+
+    private static String markdown(Random random, int length) {
+        String[] words = {"deploy", "service", "**timeout**", "retry", "`config`", "cluster", "[logs](https://example.com)",
+                "error", "_latency_", "request", "database", "index", "query", "handler", "cache"};
+        StringBuilder text = new StringBuilder("## Problem\n\n");
+        while (text.length() < length) {
+            if (random.nextInt(40) == 0) {
+                text.append("\n\n```\nstack trace line ").append(random.nextInt(1000)).append("\n```\n\n- ");
+            }
+            text.append(words[random.nextInt(words.length)]).append(' ');
+        }
+        return text.toString();
+    }
+}
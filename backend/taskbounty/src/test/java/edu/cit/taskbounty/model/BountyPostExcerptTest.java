@@ -0,0 +1,74 @@
+package edu.cit.taskbounty.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BountyPostExcerptTest {
+
+    @Test
+    void nullDescriptionHasNoExcerpt() {
+        assertNull(BountyPost.excerptOf(null));
+    }
+
+    @Test
+    void shortPlainTextIsKept() {
+        assertEquals("Fix the login page", BountyPost.excerptOf("Fix the login page"));
+    }
+
+    @Test
+    void stripsHeadingsListsQuotesAndEmphasis() {
+        String markdown = "## Problem\n\n> The **build** is _flaky_\n\n- one\n* two\n1. three\n\nRun `mvn test` ~~twice~~";
+
+        assertEquals("Problem The build is flaky one two three Run mvn test twice", BountyPost.excerptOf(markdown));
+    }
+
+    @Test
+    void keepsLinkTextAndDropsImages() {
+        String markdown = "See ![screenshot](https://example.com/a.png)the [docs](https://example.com/docs) first";
+
+        assertEquals("See the docs first", BountyPost.excerptOf(markdown));
+    }
+
+    @Test
+    void dropsCodeFences() {
+        String markdown = "Before\n```java\nclass Secret {}\n```\nafter";
+
+        assertEquals("Before after", BountyPost.excerptOf(markdown));
+    }
+
+    @Test
+    void textOfExactlyTheLimitIsNotCut() {
+        String text = "a".repeat(BountyPost.EXCERPT_LENGTH);
+
+        assertEquals(text, BountyPost.excerptOf(text));
+    }
+
+    @Test
+    void longTextIsCutAtAWordBoundary() {
+        String text = String.join(" ", Collections.nCopies(60, "word"));
+
+        // Words end at 4, 9, ..., 199, so the last space within the limit is at 199
+        assertEquals(String.join(" ", Collections.nCopies(40, "word")) + "…", BountyPost.excerptOf(text));
+    }
+
+    @Test
+    void longTextWithoutANearbySpaceIsCutAtTheLimit() {
+        String text = "short " + "x".repeat(300);
+
+        assertEquals(text.substring(0, BountyPost.EXCERPT_LENGTH) + "…", BountyPost.excerptOf(text));
+    }
+
+    @Test
+    void excerptFollowsTheDescription() {
+        BountyPost post = new BountyPost("creator", "Title", "# First", BigDecimal.ONE, false);
+        assertEquals("First", post.getExcerpt());
+
+        post.setDescription("**Second**");
+        assertEquals("Second", post.getExcerpt());
+    }
+}
@@ -0,0 +1,86 @@
+package edu.cit.taskbounty.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HeavyHitterTrackerTest {
+
+    @Test
+    void findsTheHeavyKeysAmongManyLightOnes() {
+        HeavyHitterTracker tracker = new HeavyHitterTracker(8);
+        for (int i = 0; i < 10_000; i++) {
+            tracker.record("light-" + i);
+            if (i % 4 == 0) {
+                tracker.record("attacker");
+            }
+            if (i % 10 == 0) {
+                tracker.record("noisy");
+            }
+        }
+
+        List<Map<String, Object>> top = tracker.top(2);
+        assertEquals("attacker", top.get(0).get("key"));
+        assertEquals("noisy", top.get(1).get("key"));
+        // Uncontended, nothing is skipped: Space-Saving never underestimates, and the overestimate is bounded
+        // by the reported error
+        assertEquals(0, tracker.getSkipped());
+        long count = (long) top.get(0).get("count");
+        long error = (long) top.get(0).get("error");
+        assertTrue(count >= 2500 && count - error <= 2500, "count " + count + ", error " + error);
+    }
+
+    @Test
+    void topIsLimitedAndOrderedHeaviestFirst() {
+        HeavyHitterTracker tracker = new HeavyHitterTracker(4);
+        for (int key = 1; key <= 3; key++) {
+            for (int i = 0; i < key * 10; i++) {
+                tracker.record("k" + key);
+            }
+        }
+        List<Map<String, Object>> top = tracker.top(2);
+        assertEquals(2, top.size());
+        assertEquals("k3", top.get(0).get("key"));
+        assertEquals(30L, top.get(0).get("count"));
+        assertEquals("k2", top.get(1).get("key"));
+    }
+
+    @Test
+    void concurrentRecordingNeverLosesTotalsOrBlocks() throws InterruptedException {
+        HeavyHitterTracker tracker = new HeavyHitterTracker(16);
+        int threads = 8;
+        int perThread = 50_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    tracker.record(i % 2 == 0 ? "hot" : "t" + thread + "-" + i);
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals((long) threads * perThread, tracker.getTotal());
+        long hot = (long) tracker.top(1).get(0).get("count");
+        // Every record either updated a stripe or was counted as skipped
+        assertTrue(hot + tracker.getSkipped() >= (long) threads * perThread / 2);
+        assertEquals("hot", tracker.top(1).get(0).get("key"));
+    }
+}
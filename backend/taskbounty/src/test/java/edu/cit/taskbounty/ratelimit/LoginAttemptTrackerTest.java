@@ -0,0 +1,114 @@
+package edu.cit.taskbounty.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LoginAttemptTrackerTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    // 3 free failures per identifier, 10 per IP, lockout 2s doubling up to 60s, reset after an hour
+    private LoginAttemptTracker tracker(int maxEntries) {
+        return new LoginAttemptTracker(3, 10, 2, 60, 3600, maxEntries);
+    }
+
+    @Test
+    void freeFailuresDoNotLockOut() {
+        LoginAttemptTracker tracker = tracker(100);
+        for (int i = 0; i < 3; i++) {
+            tracker.recordFailure("alice", "10.0.0.1", NOW);
+        }
+
+        assertEquals(0, tracker.lockedForSeconds("alice", "10.0.0.1", NOW));
+    }
+
+    @Test
+    void lockoutDoublesWithEachFailureBeyondTheFreeOnes() {
+        LoginAttemptTracker tracker = tracker(100);
+        for (int i = 0; i < 3; i++) {
+            tracker.recordFailure("alice", "10.0.0.1", NOW);
+        }
+
+        tracker.recordFailure("alice", "10.0.0.1", NOW);
+        assertEquals(2, tracker.lockedForSeconds("alice", "10.0.0.1", NOW));
+        tracker.recordFailure("alice", "10.0.0.1", NOW);
+        assertEquals(4, tracker.lockedForSeconds("alice", "10.0.0.1", NOW));
+        tracker.recordFailure("alice", "10.0.0.1", NOW);
+        assertEquals(8, tracker.lockedForSeconds("alice", "10.0.0.1", NOW));
+    }
+
+    @Test
+    void lockoutCountsDownFromTheLastFailureAndIsCapped() {
+        LoginAttemptTracker tracker = tracker(100);
+        for (int i = 0; i < 20; i++) {
+            tracker.recordFailure("alice", "10.0.0." + i, NOW);
+        }
+
+        assertEquals(60, tracker.lockedForSeconds("alice", "10.0.0.99", NOW));
+        assertEquals(15, tracker.lockedForSeconds("alice", "10.0.0.99", NOW + 45_000));
+        assertEquals(0, tracker.lockedForSeconds("alice", "10.0.0.99", NOW + 60_000));
+    }
+
+    @Test
+    void identifiersAreNormalized() {
+        LoginAttemptTracker tracker = tracker(100);
+        for (int i = 0; i < 4; i++) {
+            tracker.recordFailure(" Alice ", "10.0.0." + i, NOW);
+        }
+
+        assertEquals(2, tracker.lockedForSeconds("alice", "10.0.0.99", NOW));
+    }
+
+    @Test
+    void ipHasItsOwnAllowance() {
+        LoginAttemptTracker tracker = tracker(100);
+        for (int i = 0; i < 11; i++) {
+            tracker.recordFailure("user" + i, "10.0.0.1", NOW);
+        }
+
+        assertEquals(2, tracker.lockedForSeconds("someone-else", "10.0.0.1", NOW));
+        assertEquals(0, tracker.lockedForSeconds("someone-else", "10.0.0.2", NOW));
+    }
+
+    @Test
+    void successClearsTheIdentifierButNotTheIp() {
+        LoginAttemptTracker tracker = tracker(100);
+        for (int i = 0; i < 11; i++) {
+            tracker.recordFailure("alice", "10.0.0.1", NOW);
+        }
+
+        tracker.recordSuccess("alice");
+
+        assertEquals(0, tracker.lockedForSeconds("alice", "10.0.0.2", NOW));
+        assertEquals(2, tracker.lockedForSeconds("alice", "10.0.0.1", NOW));
+    }
+
+    @Test
+    void countRestartsAfterTheResetPeriod() {
+        LoginAttemptTracker tracker = tracker(100);
+        for (int i = 0; i < 6; i++) {
+            tracker.recordFailure("alice", "10.0.0.1", NOW);
+        }
+        long later = NOW + 3_600_000;
+
+        assertEquals(0, tracker.lockedForSeconds("alice", "10.0.0.1", later));
+        tracker.recordFailure("alice", "10.0.0.1", later);
+        assertEquals(0, tracker.lockedForSeconds("alice", "10.0.0.1", later));
+    }
+
+    @Test
+    void fullTrackerStillCountsNewKeysByEvictingOldOnes() {
+        LoginAttemptTracker tracker = tracker(4);
+        for (int i = 0; i < 10; i++) {
+            tracker.recordFailure("user" + i, "10.0.0." + i, NOW);
+        }
+        for (int i = 0; i < 4; i++) {
+            tracker.recordFailure("target", "10.0.1." + i, NOW);
+        }
+
+        assertEquals(4, tracker.size());
+        assertEquals(2, tracker.lockedForSeconds("target", "10.0.1.99", NOW));
+        assertEquals(21, tracker.getEvicted(), "16 filling past capacity, then 4 new IPs and the target itself");
+    }
+}
@@ -0,0 +1,92 @@
+package edu.cit.taskbounty.ratelimit;
+
+import edu.cit.taskbounty.model.RateLimitCounter;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The bulk the backend sends, checked without a database; {@link MongoRateLimitBackendTest} runs it against one.
+ */
+class MongoRateLimitBackendPublishTest {
+
+    private static final long WINDOW = 60_000;
+    private static final String KEY = "write|/bounty_post|user:u1";
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final BulkOperations bulk = mock(BulkOperations.class);
+    private final MongoRateLimitBackend backend = new MongoRateLimitBackend(mongoTemplate);
+    private final long window = System.currentTimeMillis() / WINDOW;
+    private final long now = window * WINDOW + 1;
+
+    MongoRateLimitBackendPublishTest() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, RateLimitCounter.class)).thenReturn(bulk);
+        when(bulk.upsert(any(Query.class), any(Update.class))).thenReturn(bulk);
+    }
+
+    @Test
+    void upsertsAnIncrementWithTheExpirySetOnInsert() {
+        backend.reconcile(Map.of(KEY, counter(3)), now);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(bulk).upsert(query.capture(), update.capture());
+        verify(bulk).execute();
+        assertEquals(KEY + "@" + window, query.getValue().getQueryObject().get("_id"));
+        Document object = update.getValue().getUpdateObject();
+        assertEquals(3L, ((Document) object.get("$inc")).get("count"));
+        assertEquals(new Date((window + 2) * WINDOW + 60_000), ((Document) object.get("$setOnInsert")).get("expireAt"));
+    }
+
+    @Test
+    void failedPublishIsRetriedInFullNextTime() {
+        SlidingWindowCounter counter = counter(3);
+        when(bulk.execute()).thenThrow(new DataAccessResourceFailureException("down")).thenReturn(null);
+
+        backend.reconcile(Map.of(KEY, counter), now);
+        counter.tryAcquire(now);
+        backend.reconcile(Map.of(KEY, counter), now);
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(bulk, times(2)).upsert(any(Query.class), update.capture());
+        List<Update> updates = update.getAllValues();
+        assertEquals(3L, ((Document) updates.get(0).getUpdateObject().get("$inc")).get("count"));
+        assertEquals(4L, ((Document) updates.get(1).getUpdateObject().get("$inc")).get("count"));
+    }
+
+    @Test
+    void publishedCountsAreNotSentAgain() {
+        SlidingWindowCounter counter = counter(3);
+
+        backend.reconcile(Map.of(KEY, counter), now);
+        backend.reconcile(Map.of(KEY, counter), now);
+
+        verify(bulk, times(1)).upsert(any(Query.class), any(Update.class));
+        verify(mongoTemplate, times(2)).find(any(Query.class), eq(RateLimitCounter.class));
+    }
+
+    private SlidingWindowCounter counter(int admitted) {
+        SlidingWindowCounter counter = new SlidingWindowCounter(10, WINDOW);
+        for (int i = 0; i < admitted; i++) {
+            counter.tryAcquire(now);
+        }
+        return counter;
+    }
+}
@@ -0,0 +1,124 @@
+package edu.cit.taskbounty.ratelimit;
+
+import edu.cit.taskbounty.TestcontainersConfiguration;
+import edu.cit.taskbounty.model.RateLimitCounter;
+import edu.cit.taskbounty.util.MongoIndexInitializer;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Date;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Two backends sharing one MongoDB stand in for two instances of the application.
+ */
+@DataMongoTest
+@Testcontainers(disabledWithoutDocker = true)
+@Import({TestcontainersConfiguration.class, MongoIndexInitializer.class})
+class MongoRateLimitBackendTest {
+
+    private static final long WINDOW = 60_000;
+    private static final String KEY = "write|/bounty_post|user:u1";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private MongoRateLimitBackend first;
+    private MongoRateLimitBackend second;
+    private long now;
+    private long window;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.remove(new Query(), RateLimitCounter.class);
+        first = new MongoRateLimitBackend(mongoTemplate);
+        second = new MongoRateLimitBackend(mongoTemplate);
+        // Early in a window, so the requests below don't straddle a rollover
+        window = System.currentTimeMillis() / WINDOW;
+        now = window * WINDOW + 1;
+    }
+
+    @Test
+    void incrementsOneDocumentPerKeyAndWindow() {
+        SlidingWindowCounter counter = counter(3);
+
+        first.reconcile(Map.of(KEY, counter), now);
+
+        RateLimitCounter document = mongoTemplate.findById(KEY + "@" + window, RateLimitCounter.class);
+        assertEquals(3, document.getCount());
+        assertNull(mongoTemplate.findById(KEY + "@" + (window - 1), RateLimitCounter.class),
+                "nothing to publish for the previous window");
+        assertEquals(1, mongoTemplate.count(new Query(), RateLimitCounter.class));
+    }
+
+    @Test
+    void expiresOnceTheFollowingWindowHasEnded() {
+        first.reconcile(Map.of(KEY, counter(1)), now);
+
+        Date expireAt = mongoTemplate.findById(KEY + "@" + window, RateLimitCounter.class).getExpireAt();
+        assertTrue(expireAt.getTime() > (window + 2) * WINDOW, "expires before the next window ends");
+        assertTrue(expireAt.getTime() <= (window + 2) * WINDOW + 5 * 60_000);
+
+        boolean ttlIndexed = mongoTemplate.indexOps(RateLimitCounter.class).getIndexInfo().stream()
+                .anyMatch(index -> index.getIndexFields().get(0).getKey().equals("expireAt")
+                        && index.getExpireAfter().isPresent());
+        assertTrue(ttlIndexed, "no TTL index on expireAt");
+    }
+
+    @Test
+    void repeatedReconcilesPublishOnlyNewAdmissions() {
+        SlidingWindowCounter counter = counter(3);
+
+        first.reconcile(Map.of(KEY, counter), now);
+        first.reconcile(Map.of(KEY, counter), now);
+        counter.tryAcquire(now);
+        first.reconcile(Map.of(KEY, counter), now);
+
+        assertEquals(4, mongoTemplate.findById(KEY + "@" + window, RateLimitCounter.class).getCount());
+    }
+
+    @Test
+    void instancesSeeEachOthersCountsWithoutTheirOwn() {
+        SlidingWindowCounter onFirst = counter(4);
+        SlidingWindowCounter onSecond = counter(5);
+
+        first.reconcile(Map.of(KEY, onFirst), now);
+        second.reconcile(Map.of(KEY, onSecond), now);
+        first.reconcile(Map.of(KEY, onFirst), now);
+
+        assertEquals(9, mongoTemplate.findById(KEY + "@" + window, RateLimitCounter.class).getCount());
+        // Limit 10: four local plus five remote leave room for exactly one more on either instance
+        assertEquals(0, onFirst.tryAcquire(now));
+        assertTrue(onFirst.tryAcquire(now) > 0);
+        assertEquals(0, onSecond.tryAcquire(now));
+        assertTrue(onSecond.tryAcquire(now) > 0);
+    }
+
+    @Test
+    void storesCountsUnderTheKeyAtWindowId() {
+        first.reconcile(Map.of(KEY, counter(2)), now);
+
+        Document raw = mongoTemplate.getCollection("rate_limit_counters").find().first();
+        assertEquals(KEY + "@" + window, raw.getString("_id"));
+        assertEquals(2L, ((Number) raw.get("count")).longValue());
+    }
+
+    private SlidingWindowCounter counter(int admitted) {
+        SlidingWindowCounter counter = new SlidingWindowCounter(10, WINDOW);
+        for (int i = 0; i < admitted; i++) {
+            counter.tryAcquire(now);
+        }
+        return counter;
+    }
+}
@@ -0,0 +1,67 @@
+package edu.cit.taskbounty.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitPolicyRegistryTest {
+
+    private final RateLimitPolicyRegistry registry = new RateLimitPolicyRegistry(300, 60, 60, 60, 10, 60, 5, 60);
+
+    @Test
+    void mapsEndpointsToTheirClassesPolicy() {
+        assertRoute("GET", "/bounty_post/65f1c0ffee", "read", "GET /bounty_post/{id}");
+        assertRoute("POST", "/bounty_post", "write", "POST /bounty_post");
+        assertRoute("POST", "/bounty_post/65f1c0ffee/vote", "expensive", "POST /bounty_post/{id}/vote");
+        assertRoute("POST", "/comment/65f1c0ffee/bounty_post", "expensive", "POST /comment/{postId}/bounty_post");
+        assertRoute("GET", "/stripe/payment_success/bounty_post", "expensive", "GET /stripe/payment_success/bounty_post");
+        assertRoute("POST", "/auth/login", "auth", "POST /auth/login");
+        assertRoute("POST", "/auth/logout", "write", "POST /auth/logout");
+    }
+
+    @Test
+    void literalPathsWinOverTemplatedSiblings() {
+        assertRoute("GET", "/bounty_post/feed", "read", "GET /bounty_post/feed");
+        assertRoute("GET", "/bounty_post/votes", "read", "GET /bounty_post/votes");
+        assertRoute("GET", "/solutions/my-solutions", "read", "GET /solutions/my-solutions");
+    }
+
+    @Test
+    void methodSelectsTheRouteForTheSamePath() {
+        assertRoute("GET", "/bounty_post/65f1c0ffee", "read", "GET /bounty_post/{id}");
+        assertRoute("DELETE", "/bounty_post/65f1c0ffee", "write", "DELETE /bounty_post/{id}");
+        assertRoute("PATCH", "/solutions/42", "write", "PATCH /solutions/{id}");
+    }
+
+    @Test
+    void unknownRequestsShareOneReadFallback() {
+        assertRoute("GET", "/no/such/path", "read", "GET /**");
+        assertRoute("GET", "/bounty_post/1/2/3", "read", "GET /**");
+        assertRoute("PUT", "/bounty_post", "read", "GET /**");
+        assertRoute("GET", "/", "read", "GET /**");
+    }
+
+    @Test
+    void onlyReadsAreBudgetedPerIpForEveryone() {
+        assertFalse(registry.resolve("GET", "/bounty_post/1").getPolicy().isPerUser());
+        assertTrue(registry.resolve("POST", "/bounty_post").getPolicy().isPerUser());
+        assertTrue(registry.resolve("POST", "/bounty_post/1/vote").getPolicy().isPerUser());
+        assertTrue(registry.resolve("POST", "/auth/login").getPolicy().isPerUser());
+    }
+
+    @Test
+    void policiesCarryTheConfiguredLimits() {
+        RateLimitPolicy auth = registry.resolve("POST", "/auth/login").getPolicy();
+        assertEquals(5, auth.getMaxRequests());
+        assertEquals(60_000, auth.getWindowMillis());
+        assertEquals(300, registry.resolve("GET", "/no/such/path").getPolicy().getMaxRequests());
+    }
+
+    private void assertRoute(String method, String uri, String policy, String template) {
+        RateLimitRoute route = registry.resolve(method, uri);
+        assertEquals(policy, route.getPolicy().getName(), method + " " + uri);
+        assertEquals(template, route.getTemplate(), method + " " + uri);
+    }
+}
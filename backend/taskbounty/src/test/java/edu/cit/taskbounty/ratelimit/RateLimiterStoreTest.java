@@ -0,0 +1,59 @@
+package edu.cit.taskbounty.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterStoreTest {
+
+    private static final long WINDOW = 1000;
+    private static final long START = System.currentTimeMillis() + 10_000;
+
+    @Test
+    void returnsTheSameCounterForAKey() {
+        RateLimiterStore store = new RateLimiterStore(new InMemoryRateLimitBackend(), 10, 300);
+        SlidingWindowCounter counter = store.getOrCreate("a", 5, WINDOW, START);
+        assertSame(counter, store.getOrCreate("a", 5, WINDOW, START));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedKeysAtCapacity() {
+        RateLimiterStore store = new RateLimiterStore(new InMemoryRateLimitBackend(), 10, 300);
+        for (int i = 0; i < 10; i++) {
+            // Key i was last used i seconds after START, so key 0 is the least recently used
+            store.getOrCreate("key" + i, 100, WINDOW, START).tryAcquire(START + i * 1000L);
+        }
+        SlidingWindowCounter oldest = store.getOrCreate("key0", 100, WINDOW, START);
+
+        store.getOrCreate("new", 100, WINDOW, START + 10_000);
+
+        assertTrue(store.size() <= 10, "store grew past its cap: " + store.size());
+        assertEquals(1, store.getCapacityEvictions());
+        assertNotSame(oldest, store.getOrCreate("key0", 100, WINDOW, START + 10_000), "key0 should have been evicted");
+    }
+
+    @Test
+    void prefersIdleEntriesOverCapacityEviction() {
+        RateLimiterStore store = new RateLimiterStore(new InMemoryRateLimitBackend(), 4, 1);
+        for (int i = 0; i < 4; i++) {
+            store.getOrCreate("key" + i, 100, WINDOW, START).tryAcquire(START);
+        }
+        // Well past both the idle time and two windows, so every entry is idle
+        store.getOrCreate("new", 100, WINDOW, START + 60_000);
+
+        assertEquals(1, store.size());
+        assertEquals(4, store.getIdleEvictions());
+        assertEquals(0, store.getCapacityEvictions());
+    }
+
+    @Test
+    void rejectsInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiterStore(new InMemoryRateLimitBackend(), 0, 300));
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiterStore(new InMemoryRateLimitBackend(), 10, 0));
+    }
+}
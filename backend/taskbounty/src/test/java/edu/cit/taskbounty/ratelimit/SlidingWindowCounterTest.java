@@ -0,0 +1,197 @@
+package edu.cit.taskbounty.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlidingWindowCounterTest {
+
+    private static final long WINDOW = 1000;
+    // Aligned to a window start, so offsets below land where the comments say
+    private static final long START = (System.currentTimeMillis() / WINDOW + 10) * WINDOW;
+
+    @Test
+    void admitsUpToTheLimitWithinOneWindow() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(5, WINDOW);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, counter.tryAcquire(START + i));
+        }
+        assertTrue(counter.tryAcquire(START + 5) > 0);
+    }
+
+    @Test
+    void weighsThePreviousWindowByItsUnelapsedShare() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(10, WINDOW);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, counter.tryAcquire(START));
+        }
+        // Halfway through the next window the previous ten still count as five
+        long halfway = START + WINDOW + WINDOW / 2;
+        int admitted = 0;
+        while (counter.tryAcquire(halfway) == 0) {
+            admitted++;
+        }
+        assertEquals(5, admitted);
+    }
+
+    @Test
+    void retryAfterPointsAtTheFirstAdmissibleMoment() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(10, WINDOW);
+        for (int i = 0; i < 10; i++) {
+            counter.tryAcquire(START + 100);
+        }
+        long now = START + 200;
+        long retryAfter = counter.tryAcquire(now);
+        assertTrue(retryAfter > 0);
+        assertTrue(counter.tryAcquire(now + retryAfter - 2) > 0, "admitted before the advertised time");
+        assertEquals(0, counter.tryAcquire(now + retryAfter));
+    }
+
+    @Test
+    void forgetsCountsOlderThanTwoWindows() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(3, WINDOW);
+        for (int i = 0; i < 3; i++) {
+            counter.tryAcquire(START);
+        }
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, counter.tryAcquire(START + 2 * WINDOW));
+        }
+    }
+
+    @Test
+    void concurrentCallersNeverExceedTheLimit() throws InterruptedException {
+        int limit = 1000;
+        SlidingWindowCounter counter = new SlidingWindowCounter(limit, 60_000);
+        AtomicInteger admitted = new AtomicInteger();
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 500; i++) {
+                    if (counter.tryAcquire(START) == 0) {
+                        admitted.incrementAndGet();
+                    }
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(limit, admitted.get());
+    }
+
+    @Test
+    void publishesOnlyTheAdmissionsSinceTheLastPublish() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(100, WINDOW);
+        long window = START / WINDOW;
+        acquire(counter, 3, START);
+
+        long[] first = counter.unpublished(window);
+        assertArrayEquals(new long[] {0, 3, 0, 3}, first);
+        counter.markPublished(window, first[0], first[1]);
+
+        assertArrayEquals(new long[] {0, 3, 0, 0}, counter.unpublished(window), "published admissions resent");
+
+        acquire(counter, 2, START + 10);
+        assertArrayEquals(new long[] {0, 5, 0, 2}, counter.unpublished(window));
+    }
+
+    @Test
+    void publishedCurrentWindowCarriesOverAsPrevious() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(100, WINDOW);
+        long window = START / WINDOW;
+        acquire(counter, 3, START);
+        long[] counts = counter.unpublished(window);
+        counter.markPublished(window, counts[0], counts[1]);
+
+        // Two more land in the old window after the publish, then the window rolls over
+        acquire(counter, 2, START + WINDOW - 1);
+        acquire(counter, 1, START + WINDOW);
+
+        assertArrayEquals(new long[] {5, 1, 2, 1}, counter.unpublished(window + 1));
+    }
+
+    @Test
+    void globalCountsExcludeWhatThisInstancePublished() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(10, WINDOW);
+        long window = START / WINDOW;
+        acquire(counter, 3, START);
+        long[] counts = counter.unpublished(window);
+        counter.markPublished(window, counts[0], counts[1]);
+
+        // Another instance admitted six, so the cluster holds nine; one more fits
+        counter.applyGlobalCounts(window, 0, 9);
+        assertEquals(0, counter.tryAcquire(START + 1));
+        assertTrue(counter.tryAcquire(START + 2) > 0);
+    }
+
+    @Test
+    void repeatedReconcilesDoNotDoubleCount() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(10, WINDOW);
+        long window = START / WINDOW;
+        acquire(counter, 4, START);
+        long global = 0;
+
+        // Each round publishes its delta into the shared count and reads the total back, as the backend does
+        for (int round = 0; round < 3; round++) {
+            long[] counts = counter.unpublished(window);
+            global += counts[3];
+            counter.markPublished(window, counts[0], counts[1]);
+            counter.applyGlobalCounts(window, 0, global);
+        }
+
+        assertEquals(4, global);
+        assertEquals(6, acquire(counter, 10, START + 1), "own admissions counted as remote ones too");
+    }
+
+    @Test
+    void globalCountsForThePreviousWindowExcludeItsPublishedShare() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(10, WINDOW);
+        long window = START / WINDOW;
+        acquire(counter, 4, START);
+        long[] counts = counter.unpublished(window);
+        counter.markPublished(window, counts[0], counts[1]);
+
+        long next = window + 1;
+        counts = counter.unpublished(next);
+        assertArrayEquals(new long[] {4, 0, 0, 0}, counts);
+        counter.markPublished(next, counts[0], counts[1]);
+        counter.applyGlobalCounts(next, 4, 0);
+
+        // Halfway through, the four from the previous window weigh two; counted twice they would weigh four
+        assertEquals(8, acquire(counter, 20, next * WINDOW + WINDOW / 2));
+    }
+
+    @Test
+    void rejectsLimitsThatDoNotFitThePackedState() {
+        assertThrows(IllegalArgumentException.class, () -> new SlidingWindowCounter(0, WINDOW));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SlidingWindowCounter(SlidingWindowCounter.MAX_LIMIT + 1, WINDOW));
+        assertThrows(IllegalArgumentException.class, () -> new SlidingWindowCounter(1, 0));
+    }
+
+    private static int acquire(SlidingWindowCounter counter, int attempts, long nowMillis) {
+        int admitted = 0;
+        for (int i = 0; i < attempts; i++) {
+            if (counter.tryAcquire(nowMillis) == 0) {
+                admitted++;
+            }
+        }
+        return admitted;
+    }
+}
@@ -0,0 +1,259 @@
+package edu.cit.taskbounty.repository;
+
+import edu.cit.taskbounty.TestcontainersConfiguration;
+import edu.cit.taskbounty.model.BountyPost;
+import edu.cit.taskbounty.model.Comment;
+import edu.cit.taskbounty.model.Solution;
+import edu.cit.taskbounty.security.AuthenticatedUser;
+import edu.cit.taskbounty.service.BountyPostService;
+import edu.cit.taskbounty.service.EmailOutboxSender;
+import edu.cit.taskbounty.service.TitleAutocompleteIndex;
+import edu.cit.taskbounty.service.VoteAggregator;
+import edu.cit.taskbounty.util.JwtUtil;
+import edu.cit.taskbounty.util.MongoConfig;
+import edu.cit.taskbounty.util.MongoIndexInitializer;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs the real repository and template queries with the profiler on, and fails if any of them scanned a whole
+ * collection or sorted in memory, so a query that loses its index breaks the build.
+ */
+@DataMongoTest
+@Testcontainers(disabledWithoutDocker = true)
+@Import({TestcontainersConfiguration.class, MongoConfig.class, MongoIndexInitializer.class, BountyPostService.class})
+class QueryPlanTest {
+
+    private static final PageRequest TOP = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "upvotes"));
+    private static final PageRequest NEWEST = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private BountyPostRepository bountyPostRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SolutionRepository solutionRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private OutboxEmailRepository outboxEmailRepository;
+
+    @Autowired
+    private ProcessedDonationRepository processedDonationRepository;
+
+    @Autowired
+    private BountyPostService bountyPostService;
+
+    @MockBean
+    private VoteAggregator voteAggregator;
+
+    @MockBean
+    private TitleAutocompleteIndex titleAutocompleteIndex;
+
+    @MockBean
+    private JwtUtil jwtUtil;
+
+    private String creatorId;
+    private BountyPost post;
+
+    @BeforeEach
+    void seed() {
+        bountyPostRepository.deleteAll();
+        solutionRepository.deleteAll();
+        commentRepository.deleteAll();
+        List<BountyPost> posts = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            BountyPost seeded = new BountyPost("creator" + i % 6, "Deploy service " + i,
+                    "Deploying the service number " + i, BigDecimal.TEN, i % 3 != 0);
+            seeded.setUpvotes(i % 7);
+            posts.add(seeded);
+        }
+        bountyPostRepository.saveAll(posts);
+        post = posts.get(1);
+        creatorId = post.getCreatorId();
+        for (int i = 0; i < 10; i++) {
+            solutionRepository.save(new Solution(null, post.getId(), "submitter" + i % 3, "Fix " + i, i == 0,
+                    LocalDateTime.now()));
+            Comment comment = new Comment();
+            comment.setBountyPostId(post.getId());
+            comment.setContent("Comment " + i);
+            commentRepository.save(comment);
+        }
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void bountyPostQueriesUseIndexes() {
+        ObjectId id = new ObjectId(post.getId());
+        List<String> failures = new ArrayList<>();
+        check(failures, "findAllPublic (top)", () -> bountyPostRepository.findAllPublic(TOP));
+        check(failures, "findAllPublic (newest)", () -> bountyPostRepository.findAllPublic(NEWEST));
+        check(failures, "findAllPublic (oldest)",
+                () -> bountyPostRepository.findAllPublic(PageRequest.of(0, 10, Sort.by("createdAt"))));
+        check(failures, "findDraftsByCreatorId", () -> bountyPostRepository.findDraftsByCreatorId(creatorId, NEWEST));
+        check(failures, "findDraftByIdAndCreatorId", () -> bountyPostRepository.findDraftByIdAndCreatorId(id, creatorId));
+        check(failures, "findByIsPublicTrue", () -> bountyPostRepository.findByIsPublicTrue(TOP));
+        // The unanchored, case-insensitive title match is filtered after the isPublic index range
+        check(failures, "findByTitleContainingIgnoreCaseAndIsPublicTrue",
+                () -> bountyPostRepository.findByTitleContainingIgnoreCaseAndIsPublicTrue("deploy", TOP));
+        check(failures, "findByCreatorIdAndIsPublicFalse",
+                () -> bountyPostRepository.findByCreatorIdAndIsPublicFalse(creatorId, NEWEST));
+        check(failures, "findByIdAndCreatorIdAndIsPublicFalse",
+                () -> bountyPostRepository.findByIdAndCreatorIdAndIsPublicFalse(id, creatorId));
+        check(failures, "findByCreatorId (newest)", () -> bountyPostRepository.findByCreatorId(creatorId, NEWEST));
+        check(failures, "findByCreatorId (top)", () -> bountyPostRepository.findByCreatorId(creatorId, TOP));
+        check(failures, "findAndSetIsPublicById", () -> bountyPostRepository.findAndSetIsPublicById(id, true));
+        assertTrue(failures.isEmpty(), String.join("\n", failures));
+    }
+
+    @Test
+    void feedQueriesUseIndexesOnEveryPage() {
+        List<String> failures = new ArrayList<>();
+        for (String sortBy : List.of("most_upvoted", "newest", "oldest")) {
+            String[] cursor = new String[1];
+            check(failures, "getBountyPostFeed " + sortBy + " (first)",
+                    () -> cursor[0] = bountyPostService.getBountyPostFeed(sortBy, null, 5).getNextCursor());
+            check(failures, "getBountyPostFeed " + sortBy + " (next)",
+                    () -> bountyPostService.getBountyPostFeed(sortBy, cursor[0], 5));
+        }
+        assertTrue(failures.isEmpty(), String.join("\n", failures));
+    }
+
+    @Test
+    void searchUsesTheTextIndex() {
+        // Relevance order is always sorted in memory over the matches, so only the scan is checked
+        List<String> failures = new ArrayList<>();
+        checkScan(failures, "searchPublicBountyPosts", () -> bountyPostService.getBountyPosts(0, 10, "most_upvoted", "deploy"));
+        assertTrue(failures.isEmpty(), String.join("\n", failures));
+    }
+
+    @Test
+    void voteLedgerQueriesUseIndexes() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser("voter", "voter", "", false, 0), null, List.of()));
+        List<String> failures = new ArrayList<>();
+        check(failures, "vote", () -> bountyPostService.vote(post.getId(), "upvote"));
+        check(failures, "getVoteStates", () -> bountyPostService.getVoteStates(List.of(post.getId())));
+        check(failures, "VoteAggregator.repairAfterRestart", new VoteAggregator(mongoTemplate, 600_000, 0)::repairAfterRestart);
+        assertTrue(failures.isEmpty(), String.join("\n", failures));
+    }
+
+    @Test
+    void userLookupsUseIndexes() {
+        List<String> failures = new ArrayList<>();
+        check(failures, "UserRepository.findByUsername", () -> userRepository.findByUsername("Alice"));
+        check(failures, "UserRepository.findByUsername (case variant)", () -> userRepository.findByUsername("ALICE"));
+        check(failures, "UserRepository.findByEmail", () -> userRepository.findByEmail("alice@example.com"));
+        check(failures, "UserRepository.findByIdentifier (email)", () -> userRepository.findByIdentifier("alice@example.com"));
+        check(failures, "UserRepository.findByIdentifier (username)", () -> userRepository.findByIdentifier("Alice"));
+        assertTrue(failures.isEmpty(), String.join("\n", failures));
+    }
+
+    @Test
+    void otherRepositoryQueriesUseIndexes() {
+        List<String> failures = new ArrayList<>();
+        check(failures, "UserRepository.findProfileById", () -> userRepository.findProfileById("user"));
+
+        check(failures, "SolutionRepository.findByBountyPostId",
+                () -> solutionRepository.findByBountyPostId(post.getId(), NEWEST));
+        check(failures, "SolutionRepository.findBySubmitterId",
+                () -> solutionRepository.findBySubmitterId("submitter1", NEWEST));
+        check(failures, "SolutionRepository.findByBountyPostIdAndApprovedTrue",
+                () -> solutionRepository.findByBountyPostIdAndApprovedTrue(post.getId()));
+
+        check(failures, "CommentRepository.findByBountyPostId",
+                () -> commentRepository.findByBountyPostId(post.getId(), NEWEST));
+        check(failures, "CommentRepository.findByParentCommentId",
+                () -> commentRepository.findByParentCommentId(new ObjectId()));
+
+        check(failures, "RevokedTokenRepository.findIdsByExpireAtAfter",
+                () -> revokedTokenRepository.findIdsByExpireAtAfter(new Date()));
+        check(failures, "RevokedTokenRepository.findIdsByRevokedAtSince",
+                () -> revokedTokenRepository.findIdsByRevokedAtSince(new Date()));
+
+        EmailOutboxSender sender = new EmailOutboxSender(mongoTemplate, outboxEmailRepository,
+                mock(JavaMailSender.class), 50, 1, 120_000, 8, 5_000, 900_000, 24);
+        check(failures, "EmailOutboxSender.claimBatch", sender::drain);
+        check(failures, "OutboxEmailRepository.countByStatus", sender::getPending);
+        check(failures, "OutboxEmailRepository.findByClaimToken", () -> outboxEmailRepository.findByClaimToken("token"));
+
+        check(failures, "ProcessedDonationRepository.existsBySessionId",
+                () -> processedDonationRepository.existsBySessionId("session"));
+        check(failures, "TitleAutocompleteIndex.reload", () -> new TitleAutocompleteIndex(mongoTemplate).reload());
+        assertTrue(failures.isEmpty(), String.join("\n", failures));
+    }
+
+    private void check(List<String> failures, String name, Runnable query) {
+        verify(failures, name, query, true);
+    }
+
+    private void checkScan(List<String> failures, String name, Runnable query) {
+        verify(failures, name, query, false);
+    }
+
+    /**
+     * Runs the query with every operation profiled, then inspects the plan of each operation it issued.
+     */
+    private void verify(List<String> failures, String name, Runnable query, boolean checkSort) {
+        mongoTemplate.getDb().runCommand(new Document("profile", 0));
+        mongoTemplate.getDb().getCollection("system.profile").drop();
+        mongoTemplate.getDb().runCommand(new Document("profile", 2));
+        try {
+            query.run();
+        } finally {
+            mongoTemplate.getDb().runCommand(new Document("profile", 0));
+        }
+
+        List<Document> operations = mongoTemplate.getDb().getCollection("system.profile")
+                .find(new Document("planSummary", new Document("$exists", true)))
+                .into(new ArrayList<>());
+        assertFalse(operations.isEmpty(), name + " issued no profiled query");
+        for (Document operation : operations) {
+            String plan = operation.getString("planSummary");
+            if (plan.contains("COLLSCAN")) {
+                failures.add(name + " scans " + operation.getString("ns") + ": " + plan);
+            }
+            if (checkSort && Boolean.TRUE.equals(operation.getBoolean("hasSortStage"))) {
+                failures.add(name + " sorts in memory on " + operation.getString("ns") + ": " + plan);
+            }
+        }
+    }
+}
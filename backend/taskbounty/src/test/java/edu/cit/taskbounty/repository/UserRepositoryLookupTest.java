@@ -0,0 +1,74 @@
+package edu.cit.taskbounty.repository;
+
+import edu.cit.taskbounty.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Which indexes the username and email lookups consult, with the derived queries mocked out.
+ */
+class UserRepositoryLookupTest {
+
+    private final UserRepository repository = mock(UserRepository.class, CALLS_REAL_METHODS);
+    private final User dave = user("Dave", "Dave@example.com");
+
+    @Test
+    void exactSpellingIsASingleNormalizedSeek() {
+        when(repository.findByNormalizedUsername("dave")).thenReturn(dave);
+        when(repository.findByNormalizedEmail("dave@example.com")).thenReturn(Optional.of(dave));
+
+        assertSame(dave, repository.findByUsername("Dave"));
+        assertSame(dave, repository.findByEmail("Dave@example.com").orElseThrow());
+        verify(repository, never()).findByLegacyUsername(anyString());
+        verify(repository, never()).findByLegacyEmail(anyString());
+    }
+
+    @Test
+    void otherSpellingsMatchTheNormalizedAccountWhenNoLegacyAccountHasThem() {
+        when(repository.findByNormalizedUsername("dave")).thenReturn(dave);
+        when(repository.findByNormalizedEmail("dave@example.com")).thenReturn(Optional.of(dave));
+        when(repository.findByLegacyEmail(anyString())).thenReturn(Optional.empty());
+
+        assertSame(dave, repository.findByUsername("DAVE"));
+        assertSame(dave, repository.findByEmail("DAVE@EXAMPLE.COM").orElseThrow());
+    }
+
+    @Test
+    void exactLegacyMatchWinsOverTheNormalizedAccount() {
+        User legacy = user("dave", "dave@example.com");
+        when(repository.findByNormalizedUsername("dave")).thenReturn(dave);
+        when(repository.findByLegacyUsername("dave")).thenReturn(legacy);
+        when(repository.findByNormalizedEmail("dave@example.com")).thenReturn(Optional.of(dave));
+        when(repository.findByLegacyEmail("dave@example.com")).thenReturn(Optional.of(legacy));
+
+        assertSame(legacy, repository.findByUsername("dave"));
+        assertSame(legacy, repository.findByEmail("dave@example.com").orElseThrow());
+    }
+
+    @Test
+    void missOnBothIndexesFindsNothing() {
+        when(repository.findByLegacyEmail(anyString())).thenReturn(Optional.empty());
+
+        assertNull(repository.findByUsername("nobody"));
+        assertEquals(Optional.empty(), repository.findByEmail("nobody@example.com"));
+        assertNull(repository.findByUsername(null));
+    }
+
+    private static User user(String username, String email) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(email);
+        return user;
+    }
+}
@@ -0,0 +1,129 @@
+package edu.cit.taskbounty.service;
+
+import edu.cit.taskbounty.TestcontainersConfiguration;
+import edu.cit.taskbounty.model.User;
+import edu.cit.taskbounty.repository.UserRepository;
+import edu.cit.taskbounty.util.JwtUtil;
+import edu.cit.taskbounty.util.MongoIndexInitializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Concurrent registrations racing for the same name or email: the unique indexes must let exactly one through.
+ */
+@DataMongoTest
+@Testcontainers(disabledWithoutDocker = true)
+@Import({TestcontainersConfiguration.class, MongoIndexInitializer.class, AuthService.class})
+class AuthServiceRegistrationTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockBean
+    private PasswordHashingService passwordHashingService;
+
+    @MockBean
+    private CustomUserDetailsService userDetailsService;
+
+    @MockBean
+    private EmailService emailService;
+
+    @MockBean
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        when(passwordHashingService.encode(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void sameUsernameRegistersOnce() throws Exception {
+        List<String> outcomes = registerConcurrently(i -> user("alice", "alice" + i + "@example.com"));
+
+        assertOneSuccess(outcomes, "Username already exists");
+        assertEquals(1, userRepository.count());
+    }
+
+    @Test
+    void caseVariantUsernamesRegisterOnce() throws Exception {
+        String[] variants = {"Bob", "bob", "BOB", " bOb "};
+        List<String> outcomes = registerConcurrently(i -> user(variants[i % variants.length], "bob" + i + "@example.com"));
+
+        assertOneSuccess(outcomes, "Username already exists");
+        assertEquals(1, userRepository.count());
+    }
+
+    @Test
+    void caseVariantEmailsRegisterOnce() throws Exception {
+        List<String> outcomes = registerConcurrently(i -> user("carol" + i, i % 2 == 0 ? "Carol@Example.com" : "carol@example.com"));
+
+        assertOneSuccess(outcomes, "Email already exists");
+        assertEquals(1, userRepository.count());
+    }
+
+    private List<String> registerConcurrently(IntFunction<User> users) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            User user = users.apply(i);
+            Callable<String> register = () -> {
+                start.await();
+                try {
+                    authService.register(user);
+                    return "ok";
+                } catch (RuntimeException e) {
+                    return e.getMessage();
+                }
+            };
+            futures.add(executor.submit(register));
+        }
+        start.countDown();
+        List<String> outcomes = new ArrayList<>();
+        for (Future<String> future : futures) {
+            outcomes.add(future.get(30, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        return outcomes;
+    }
+
+    private static void assertOneSuccess(List<String> outcomes, String duplicateMessage) {
+        assertEquals(1, outcomes.stream().filter("ok"::equals).count(), outcomes.toString());
+        assertTrue(outcomes.stream().filter(outcome -> !"ok".equals(outcome)).allMatch(duplicateMessage::equals),
+                outcomes.toString());
+    }
+
+    private static User user(String username, String email) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(email);
+        user.setPassword("password");
+        return user;
+    }
+}
@@ -0,0 +1,81 @@
+package edu.cit.taskbounty.service;
+
+import edu.cit.taskbounty.model.BountyPost;
+import edu.cit.taskbounty.repository.BountyPostRepository;
+import edu.cit.taskbounty.security.AuthenticatedUser;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BountyPostDraftAccessTest {
+
+    private static final ObjectId DRAFT_ID = new ObjectId();
+    private static final ObjectId PUBLIC_ID = new ObjectId();
+
+    private final BountyPostRepository repository = mock(BountyPostRepository.class);
+    private final BountyPostService service = new BountyPostService(repository, mock(MongoTemplate.class),
+            mock(VoteAggregator.class), mock(TitleAutocompleteIndex.class));
+
+    BountyPostDraftAccessTest() {
+        when(repository.findById(DRAFT_ID)).thenReturn(Optional.of(post(DRAFT_ID, false)));
+        when(repository.findById(PUBLIC_ID)).thenReturn(Optional.of(post(PUBLIC_ID, true)));
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void publicPostIsReadableAnonymously() {
+        assertEquals(HttpStatus.OK, service.getBountyPostById(PUBLIC_ID).getStatusCode());
+    }
+
+    @Test
+    void draftIsHiddenFromAnonymousCallers() {
+        assertEquals(HttpStatus.NOT_FOUND, service.getBountyPostById(DRAFT_ID).getStatusCode());
+    }
+
+    @Test
+    void draftIsHiddenFromOtherUsers() {
+        signIn("someone-else");
+
+        assertEquals(HttpStatus.NOT_FOUND, service.getBountyPostById(DRAFT_ID).getStatusCode());
+    }
+
+    @Test
+    void draftIsReadableByItsCreator() {
+        signIn("creator");
+
+        assertEquals(HttpStatus.OK, service.getBountyPostById(DRAFT_ID).getStatusCode());
+    }
+
+    @Test
+    void paymentLookupFindsDraftsWithoutAPrincipal() {
+        assertTrue(service.findBountyPostForPayment(DRAFT_ID).isPresent());
+    }
+
+    private static void signIn(String userId) {
+        AuthenticatedUser user = new AuthenticatedUser(userId, userId, null, false, 0);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    private static BountyPost post(ObjectId id, boolean isPublic) {
+        BountyPost post = new BountyPost("creator", "Title", "Description", new BigDecimal("100"), isPublic);
+        post.setId(id.toHexString());
+        return post;
+    }
+}
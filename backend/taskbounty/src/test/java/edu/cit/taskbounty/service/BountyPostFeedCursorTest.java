@@ -0,0 +1,149 @@
+package edu.cit.taskbounty.service;
+
+import edu.cit.taskbounty.dto.BountyPostFeed;
+import edu.cit.taskbounty.dto.BountyPostSummary;
+import edu.cit.taskbounty.repository.BountyPostRepository;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BountyPostFeedCursorTest {
+
+    private static final String FIRST_ID = new ObjectId().toHexString();
+    private static final String LAST_ID = new ObjectId().toHexString();
+    private static final Instant CREATED_AT = Instant.parse("2026-03-01T10:15:30.123Z");
+
+    private final BountyPostRepository repository = mock(BountyPostRepository.class);
+    private final BountyPostService service = new BountyPostService(repository, mock(MongoTemplate.class),
+            mock(VoteAggregator.class), mock(TitleAutocompleteIndex.class));
+
+    @Test
+    void upvoteCursorCarriesTheLastPostsVotesAndId() {
+        when(repository.findPublicFeed(any())).thenReturn(slice(true));
+        when(repository.findPublicFeedAfterUpvotes(any(Integer.class), any(), any())).thenReturn(slice(false));
+
+        String cursor = service.getBountyPostFeed("most_upvoted", null, 2).getNextCursor();
+
+        assertEquals("u:7:" + LAST_ID, decode(cursor));
+        service.getBountyPostFeed("most_upvoted", cursor, 2);
+        verify(repository).findPublicFeedAfterUpvotes(eq(7), eq(new ObjectId(LAST_ID)), any());
+    }
+
+    @Test
+    void dateCursorsCarryTheLastPostsCreationMillis() {
+        when(repository.findPublicFeed(any())).thenReturn(slice(true));
+        when(repository.findPublicFeedBeforeCreatedAt(any(), any(), any())).thenReturn(slice(false));
+        when(repository.findPublicFeedAfterCreatedAt(any(), any(), any())).thenReturn(slice(false));
+
+        String newest = service.getBountyPostFeed("newest", null, 2).getNextCursor();
+        String oldest = service.getBountyPostFeed("oldest", null, 2).getNextCursor();
+
+        assertEquals("n:" + CREATED_AT.toEpochMilli() + ":" + LAST_ID, decode(newest));
+        assertEquals("o:" + CREATED_AT.toEpochMilli() + ":" + LAST_ID, decode(oldest));
+        service.getBountyPostFeed("newest", newest, 2);
+        verify(repository).findPublicFeedBeforeCreatedAt(
+                eq(Date.from(CREATED_AT)), eq(new ObjectId(LAST_ID)), any());
+        service.getBountyPostFeed("oldest", oldest, 2);
+        verify(repository).findPublicFeedAfterCreatedAt(
+                eq(Date.from(CREATED_AT)), eq(new ObjectId(LAST_ID)), any());
+    }
+
+    @Test
+    void sortBreaksTiesOnIdInTheSameDirection() {
+        when(repository.findPublicFeed(any())).thenReturn(slice(false));
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+
+        service.getBountyPostFeed("most_upvoted", null, 2);
+        service.getBountyPostFeed("oldest", null, 2);
+
+        verify(repository, times(2)).findPublicFeed(pageable.capture());
+        assertEquals(Sort.by(Sort.Direction.DESC, "upvotes").and(Sort.by(Sort.Direction.DESC, "_id")),
+                pageable.getAllValues().get(0).getSort());
+        assertEquals(Sort.by(Sort.Direction.ASC, "createdAt").and(Sort.by(Sort.Direction.ASC, "_id")),
+                pageable.getAllValues().get(1).getSort());
+    }
+
+    @Test
+    void lastSliceHasNoCursor() {
+        when(repository.findPublicFeed(any())).thenReturn(slice(false));
+
+        BountyPostFeed feed = service.getBountyPostFeed("newest", null, 2);
+
+        assertNull(feed.getNextCursor());
+        assertFalse(feed.isHasMore());
+        assertEquals(2, feed.getContent().size());
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        for (String cursor : List.of("not base64!", encode("u:7"), encode("u:seven:" + LAST_ID),
+                encode("u:7:not-an-id"), encode("u:7:" + LAST_ID + ":extra"))) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> service.getBountyPostFeed("most_upvoted", cursor, 2), cursor);
+        }
+    }
+
+    @Test
+    void rejectsCursorsIssuedForAnotherSortOrder() {
+        String newest = encode("n:" + CREATED_AT.toEpochMilli() + ":" + LAST_ID);
+
+        assertThrows(IllegalArgumentException.class, () -> service.getBountyPostFeed("oldest", newest, 2));
+        assertThrows(IllegalArgumentException.class, () -> service.getBountyPostFeed("most_upvoted", newest, 2));
+    }
+
+    @Test
+    void clampsTheSliceSize() {
+        when(repository.findPublicFeed(any())).thenReturn(slice(false));
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+
+        service.getBountyPostFeed("newest", null, 500);
+        service.getBountyPostFeed("newest", null, 0);
+
+        verify(repository, times(2)).findPublicFeed(pageable.capture());
+        assertEquals(25, pageable.getAllValues().get(0).getPageSize());
+        assertEquals(1, pageable.getAllValues().get(1).getPageSize());
+        assertTrue(pageable.getAllValues().stream().allMatch(p -> p.getPageNumber() == 0));
+    }
+
+    private static SliceImpl<BountyPostSummary> slice(boolean hasNext) {
+        return new SliceImpl<>(List.of(summary(FIRST_ID, 9), summary(LAST_ID, 7)), Pageable.ofSize(2), hasNext);
+    }
+
+    private static BountyPostSummary summary(String id, int upvotes) {
+        BountyPostSummary summary = new BountyPostSummary();
+        summary.setId(id);
+        summary.setUpvotes(upvotes);
+        summary.setCreatedAt(CREATED_AT);
+        return summary;
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor) {
+        return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,104 @@
+package edu.cit.taskbounty.service;
+
+import edu.cit.taskbounty.TestcontainersConfiguration;
+import edu.cit.taskbounty.dto.BountyPostFeed;
+import edu.cit.taskbounty.dto.BountyPostSummary;
+import edu.cit.taskbounty.model.BountyPost;
+import edu.cit.taskbounty.repository.BountyPostRepository;
+import edu.cit.taskbounty.util.JwtUtil;
+import edu.cit.taskbounty.util.MongoIndexInitializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Walks the whole feed slice by slice over posts that tie on the sort key, and checks every public post comes back
+ * exactly once, in sort key then _id order.
+ */
+@DataMongoTest
+@Testcontainers(disabledWithoutDocker = true)
+@Import({TestcontainersConfiguration.class, MongoIndexInitializer.class, BountyPostService.class})
+class BountyPostFeedPagingTest {
+
+    private static final Instant BASE = Instant.parse("2026-03-01T10:00:00Z");
+
+    @Autowired
+    private BountyPostService bountyPostService;
+
+    @Autowired
+    private BountyPostRepository bountyPostRepository;
+
+    @MockBean
+    private VoteAggregator voteAggregator;
+
+    @MockBean
+    private TitleAutocompleteIndex titleAutocompleteIndex;
+
+    @MockBean
+    private JwtUtil jwtUtil;
+
+    private List<BountyPost> publicPosts;
+
+    @BeforeEach
+    void seed() {
+        bountyPostRepository.deleteAll();
+        List<BountyPost> posts = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            BountyPost post = new BountyPost("creator", "Post " + i, "Body " + i, BigDecimal.ONE, i % 5 != 0);
+            // Three vote counts and three timestamps, so most slice boundaries fall inside a run of ties
+            post.setUpvotes(i % 3);
+            post.setCreatedAt(BASE.plusSeconds(i % 3));
+            posts.add(post);
+        }
+        bountyPostRepository.saveAll(posts);
+        publicPosts = posts.stream().filter(BountyPost::isPublic).toList();
+    }
+
+    @Test
+    void mostUpvotedVisitsEveryPostOnceInOrder() {
+        assertFeedOrder("most_upvoted", Comparator.comparingInt(BountyPost::getUpvotes).reversed()
+                .thenComparing(BountyPost::getId, Comparator.reverseOrder()));
+    }
+
+    @Test
+    void newestVisitsEveryPostOnceInOrder() {
+        assertFeedOrder("newest", Comparator.comparing(BountyPost::getCreatedAt).reversed()
+                .thenComparing(BountyPost::getId, Comparator.reverseOrder()));
+    }
+
+    @Test
+    void oldestVisitsEveryPostOnceInOrder() {
+        assertFeedOrder("oldest", Comparator.comparing(BountyPost::getCreatedAt)
+                .thenComparing(BountyPost::getId));
+    }
+
+    private void assertFeedOrder(String sortBy, Comparator<BountyPost> order) {
+        // ObjectId hex strings compare the same way as the ObjectIds
+        List<String> expected = publicPosts.stream().sorted(order).map(BountyPost::getId).toList();
+
+        List<String> visited = new ArrayList<>();
+        String cursor = null;
+        int slices = 0;
+        do {
+            BountyPostFeed feed = bountyPostService.getBountyPostFeed(sortBy, cursor, 4);
+            feed.getContent().stream().map(BountyPostSummary::getId).forEach(visited::add);
+            cursor = feed.getNextCursor();
+            assertTrue(++slices <= expected.size(), "feed does not terminate");
+        } while (cursor != null);
+
+        assertEquals(expected, visited);
+    }
+}
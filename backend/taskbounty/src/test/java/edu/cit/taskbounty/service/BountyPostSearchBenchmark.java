@@ -0,0 +1,159 @@
+package edu.cit.taskbounty.service;
+
+import edu.cit.taskbounty.TestcontainersConfiguration;
+import edu.cit.taskbounty.dto.BountyPostSummary;
+import edu.cit.taskbounty.model.BountyPost;
+import edu.cit.taskbounty.repository.BountyPostRepository;
+import edu.cit.taskbounty.util.JwtUtil;
+import edu.cit.taskbounty.util.MongoIndexInitializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Latency of a first search page over 1M public posts, the text index against the substring regex it replaced.
+ * <p>
+ * Titles and descriptions draw words from a 5,000-word vocabulary with a Zipf-like skew, so the terms below
+ * range from matching nearly every post to matching a few thousand. Each term is searched 50 times after 5
+ * warm-up searches, through {@code getBountyPosts} as the listing endpoint calls it, including the total count.
+ * The regex is the old repository query: an unanchored, case-insensitive {@code $regex} over title and
+ * description. Seeding takes several minutes; set {@code -Dsearch.benchmark.posts} for a smaller run.
+ * <p>
+ * Needs Docker for the MongoDB container. Not part of the regular test run (the class name doesn't match the
+ * surefire includes); run it with {@code mvn test -Dtest=BountyPostSearchBenchmark}.
+ */
+@DataMongoTest
+@Testcontainers(disabledWithoutDocker = true)
+@Import({TestcontainersConfiguration.class, MongoIndexInitializer.class, BountyPostService.class})
+class BountyPostSearchBenchmark {
+
+    private static final int POSTS = Integer.getInteger("search.benchmark.posts", 1_000_000);
+    private static final int VOCABULARY = 5_000;
+    private static final int INSERT_BATCH = 10_000;
+    private static final int WARMUP = 5;
+    private static final int RUNS = 50;
+
+    @Autowired
+    private BountyPostService bountyPostService;
+
+    @Autowired
+    private BountyPostRepository bountyPostRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @MockBean
+    private VoteAggregator voteAggregator;
+
+    @MockBean
+    private TitleAutocompleteIndex titleAutocompleteIndex;
+
+    @MockBean
+    private JwtUtil jwtUtil;
+
+    @Test
+    void searchLatencyAtOneMillionPosts() {
+        String[] words = vocabulary();
+        seed(words);
+
+        // Common, middling and rare words by rank, and a two-word query
+        String[] terms = {words[0], words[50], words[1_000], words[4_000], words[10] + " " + words[2_000]};
+        Pageable pageable = PageRequest.of(0, 25, Sort.by(Sort.Direction.DESC, "upvotes"));
+        System.out.printf("%,d public posts%n", POSTS);
+        for (String term : terms) {
+            long matches = bountyPostService.getBountyPosts(0, 25, "most_upvoted", term).getTotalElements();
+            report(term, matches, "text index",
+                    () -> bountyPostService.getBountyPosts(0, 25, "most_upvoted", term).getContent());
+            if (!term.contains(" ")) {
+                report(term, matches, "regex", () -> regexSearch(term, pageable));
+            }
+        }
+    }
+
+    private void report(String term, long matches, String method, Supplier<List<?>> search) {
+        for (int i = 0; i < WARMUP; i++) {
+            search.get();
+        }
+        long[] nanos = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long started = System.nanoTime();
+            search.get();
+            nanos[i] = System.nanoTime() - started;
+        }
+        Arrays.sort(nanos);
+        System.out.printf("%-22s %,9d matches  %-10s p50 %8.1f ms  p99 %8.1f ms%n", "\"" + term + "\"", matches,
+                method, nanos[RUNS / 2] / 1e6, nanos[RUNS * 99 / 100] / 1e6);
+    }
+
+    // The query the text index replaced, with its count, as the derived Page query ran it
+    private List<BountyPostSummary> regexSearch(String term, Pageable pageable) {
+        Pattern pattern = Pattern.compile(term, Pattern.CASE_INSENSITIVE);
+        Query query = new Query(new Criteria().orOperator(
+                Criteria.where("title").regex(pattern), Criteria.where("description").regex(pattern))
+                .and("isPublic").is(true)).with(pageable);
+        List<BountyPostSummary> page = mongoTemplate.query(BountyPost.class).as(BountyPostSummary.class)
+                .matching(query).all();
+        mongoTemplate.count(Query.of(query).limit(-1).skip(-1), BountyPost.class);
+        return page;
+    }
+
+    private void seed(String[] words) {
+        bountyPostRepository.deleteAll();
+        Random random = new Random(42);
+        Instant start = Instant.parse("2024-01-01T00:00:00Z");
+        for (int from = 0; from < POSTS; from += INSERT_BATCH) {
+            List<BountyPost> batch = new ArrayList<>(INSERT_BATCH);
+            for (int i = from; i < Math.min(from + INSERT_BATCH, POSTS); i++) {
+                BountyPost post = new BountyPost("creator" + random.nextInt(10_000), text(random, words, 6),
+                        text(random, words, 60), BigDecimal.valueOf(50 + random.nextInt(1_000)), true);
+                post.setUpvotes(random.nextInt(1_000));
+                post.setCreatedAt(start.plusSeconds(i * 60L));
+                batch.add(post);
+            }
+            mongoTemplate.insert(batch, BountyPost.class);
+        }
+    }
+
+    private static String text(Random random, String[] words, int length) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            // Rank drawn as VOCABULARY^u - 1: roughly Zipf, so low ranks are very common and high ranks rare
+            int rank = (int) Math.pow(VOCABULARY, random.nextDouble()) - 1;
+            text.append(words[rank]).append(' ');
+        }
+        return text.toString();
+    }
+
+    private static String[] vocabulary() {
+        // A fixed-width code keeps the words distinct, and the "zq" ending leaves nothing for the stemmer to strip
+        Random random = new Random(7);
+        String[] words = new String[VOCABULARY];
+        for (int i = 0; i < VOCABULARY; i++) {
+            StringBuilder word = new StringBuilder();
+            for (int j = 0; j < 4; j++) {
+                word.append((char) ('a' + random.nextInt(26)));
+            }
+            word.append((char) ('a' + i / 676)).append((char) ('a' + i / 26 % 26)).append((char) ('a' + i % 26));
+            words[i] = word.append("zq").toString();
+        }
+        return words;
+    }
+}
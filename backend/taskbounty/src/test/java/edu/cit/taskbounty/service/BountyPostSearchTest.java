@@ -0,0 +1,92 @@
+package edu.cit.taskbounty.service;
+
+import edu.cit.taskbounty.TestcontainersConfiguration;
+import edu.cit.taskbounty.dto.BountyPostSummary;
+import edu.cit.taskbounty.model.BountyPost;
+import edu.cit.taskbounty.repository.BountyPostRepository;
+import edu.cit.taskbounty.util.JwtUtil;
+import edu.cit.taskbounty.util.MongoIndexInitializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Search semantics of the text index: stemmed whole words, title boost, public posts only, and no regex.
+ */
+@DataMongoTest
+@Testcontainers(disabledWithoutDocker = true)
+@Import({TestcontainersConfiguration.class, MongoIndexInitializer.class, BountyPostService.class})
+class BountyPostSearchTest {
+
+    @Autowired
+    private BountyPostService bountyPostService;
+
+    @Autowired
+    private BountyPostRepository bountyPostRepository;
+
+    @MockBean
+    private VoteAggregator voteAggregator;
+
+    @MockBean
+    private TitleAutocompleteIndex titleAutocompleteIndex;
+
+    @MockBean
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void seed() {
+        bountyPostRepository.deleteAll();
+        save("Kubernetes upgrade", "Move the cluster to the new release", 1, true);
+        save("Flaky pipeline", "The kubernetes deployment step times out", 40, true);
+        save("Deployed service crashes", "It crashes on start", 5, true);
+        save("Kubernetes draft", "Not paid for yet", 100, false);
+    }
+
+    @Test
+    void matchesStemmedWords() {
+        assertEquals(List.of("Deployed service crashes", "Flaky pipeline"), search("deploying"));
+    }
+
+    @Test
+    void doesNotMatchPrefixes() {
+        assertEquals(List.of(), search("deplo"));
+        assertEquals(List.of(), search("kube"));
+    }
+
+    @Test
+    void ranksTitleMatchesAboveMoreUpvotedDescriptionMatches() {
+        assertEquals(List.of("Kubernetes upgrade", "Flaky pipeline"), search("kubernetes"));
+    }
+
+    @Test
+    void excludesNegatedWords() {
+        assertEquals(List.of("Deployed service crashes"), search("deploy -kubernetes"));
+    }
+
+    @Test
+    void treatsInputAsWordsNotARegex() {
+        assertEquals(List.of(), search(".*"));
+        assertEquals(List.of(), search("(unclosed"));
+    }
+
+    private List<String> search(String text) {
+        return bountyPostService.getBountyPosts(0, 10, "most_upvoted", text).getContent().stream()
+                .map(BountyPostSummary::getTitle)
+                .toList();
+    }
+
+    private void save(String title, String description, int upvotes, boolean isPublic) {
+        BountyPost post = new BountyPost("creator", title, description, BigDecimal.TEN, isPublic);
+        post.setUpvotes(upvotes);
+        bountyPostRepository.save(post);
+    }
+}
@@ -0,0 +1,161 @@
+package edu.cit.taskbounty.service;
+
+import edu.cit.taskbounty.TestcontainersConfiguration;
+import edu.cit.taskbounty.model.BountyPost;
+import edu.cit.taskbounty.model.PostVote;
+import edu.cit.taskbounty.repository.BountyPostRepository;
+import edu.cit.taskbounty.security.AuthenticatedUser;
+import edu.cit.taskbounty.util.JwtUtil;
+import edu.cit.taskbounty.util.MongoIndexInitializer;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Concurrent up, down and switched votes: after a flush the post's counters must equal the ledger's tally, however
+ * the votes interleaved.
+ */
+@DataMongoTest
+@Testcontainers(disabledWithoutDocker = true)
+@Import({TestcontainersConfiguration.class, MongoIndexInitializer.class, BountyPostService.class, VoteAggregator.class})
+class BountyPostVoteConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private BountyPostService bountyPostService;
+
+    @Autowired
+    private VoteAggregator voteAggregator;
+
+    @Autowired
+    private BountyPostRepository bountyPostRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @MockBean
+    private TitleAutocompleteIndex titleAutocompleteIndex;
+
+    @MockBean
+    private JwtUtil jwtUtil;
+
+    private BountyPost post;
+    private BountyPost otherPost;
+
+    @BeforeEach
+    void seed() {
+        bountyPostRepository.deleteAll();
+        mongoTemplate.remove(new Query(), PostVote.class);
+        post = bountyPostRepository.save(new BountyPost("creator", "Hot post", "Body", BigDecimal.TEN, true));
+        otherPost = bountyPostRepository.save(new BountyPost("creator", "Quiet post", "Body", BigDecimal.TEN, true));
+        voteAggregator.flush(); // Nothing left over from another test
+    }
+
+    @Test
+    void countersMatchTheLedgerAfterConcurrentSwitching() throws Exception {
+        // More tasks than users, so each user races against their own votes as well as everyone else's
+        voteConcurrently(THREADS * 10, task -> {
+            String user = "user" + task % 12;
+            for (int i = 0; i < 25; i++) {
+                boolean up = ThreadLocalRandom.current().nextBoolean();
+                vote(user, post, up ? "upvote" : "downvote");
+                if (i % 5 == 0) {
+                    vote(user, otherPost, "upvote");
+                }
+            }
+            return null;
+        });
+        voteAggregator.flush();
+
+        assertCountersMatchLedger(post);
+        assertCountersMatchLedger(otherPost);
+        BountyPost reloaded = reload(post);
+        assertEquals(12, reloaded.getUpvotes() + reloaded.getDownvotes());
+        assertEquals(12, reload(otherPost).getUpvotes());
+    }
+
+    @Test
+    void repeatedVoteCountsOnce() throws Exception {
+        List<Boolean> outcomes = voteConcurrently(THREADS, task -> vote("alice", post, "upvote"));
+        voteAggregator.flush();
+
+        assertEquals(1, outcomes.stream().filter(Boolean::booleanValue).count());
+        BountyPost reloaded = reload(post);
+        assertEquals(1, reloaded.getUpvotes());
+        assertEquals(0, reloaded.getDownvotes());
+    }
+
+    private boolean vote(String userId, BountyPost target, String type) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(userId, userId, "", false, 0), null, List.of()));
+        try {
+            return bountyPostService.vote(target.getId(), type);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private <T> List<T> voteConcurrently(int tasks, Task<T> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<T>> futures = new ArrayList<>();
+        for (int i = 0; i < tasks; i++) {
+            int index = i;
+            Callable<T> run = () -> {
+                start.await();
+                return task.run(index);
+            };
+            futures.add(executor.submit(run));
+        }
+        start.countDown();
+        List<T> results = new ArrayList<>();
+        for (Future<T> future : futures) {
+            results.add(future.get(60, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        return results;
+    }
+
+    private void assertCountersMatchLedger(BountyPost target) {
+        long up = mongoTemplate.count(new Query(Criteria.where("postId").is(target.getId()).and("type").is(PostVote.UP)),
+                PostVote.class);
+        long down = mongoTemplate.count(new Query(Criteria.where("postId").is(target.getId()).and("type").is(PostVote.DOWN)),
+                PostVote.class);
+        BountyPost reloaded = reload(target);
+        assertEquals(up, reloaded.getUpvotes(), "upvotes");
+        assertEquals(down, reloaded.getDownvotes(), "downvotes");
+    }
+
+    private BountyPost reload(BountyPost target) {
+        return bountyPostRepository.findById(new ObjectId(target.getId())).orElseThrow();
+    }
+
+    @FunctionalInterface
+    private interface Task<T> {
+        T run(int index) throws Exception;
+    }
+}
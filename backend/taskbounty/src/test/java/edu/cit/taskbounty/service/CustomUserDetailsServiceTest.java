@@ -0,0 +1,81 @@
+package edu.cit.taskbounty.service;
+
+import edu.cit.taskbounty.model.User;
+import edu.cit.taskbounty.repository.UserRepository;
+import edu.cit.taskbounty.security.AuthenticatedUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CustomUserDetailsServiceTest {
+
+    private UserRepository userRepository;
+    private CustomUserDetailsService service;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        when(userRepository.findByUsername(anyString())).thenAnswer(invocation -> user(invocation.getArgument(0)));
+        service = new CustomUserDetailsService();
+        ReflectionTestUtils.setField(service, "userRepository", userRepository);
+        ReflectionTestUtils.setField(service, "ttlSeconds", 60L);
+        ReflectionTestUtils.setField(service, "maxEntries", 3);
+        service.initCache();
+    }
+
+    private static User user(String username) {
+        User user = new User();
+        user.setId("id-" + username);
+        user.setUsername(username);
+        user.setPassword("hash");
+        return user;
+    }
+
+    @Test
+    void servesRepeatLookupsFromTheCache() {
+        AuthenticatedUser first = service.loadUserByUsername("alice");
+        AuthenticatedUser second = service.loadUserByUsername("alice");
+
+        assertEquals("id-alice", second.getId());
+        assertNotSame(first, second, "each call gets its own principal");
+        verify(userRepository, times(1)).findByUsername("alice");
+        assertEquals(1, service.getHits());
+        assertEquals(1, service.getMisses());
+    }
+
+    @Test
+    void evictReloadsFromTheRepository() {
+        service.loadUserByUsername("alice");
+        service.evict("alice");
+        service.loadUserByUsername("alice");
+
+        verify(userRepository, times(2)).findByUsername("alice");
+    }
+
+    @Test
+    void keepsCachingNewUsersWhenFull() {
+        for (String name : new String[] {"a", "b", "c", "d"}) {
+            service.loadUserByUsername(name);
+        }
+        service.loadUserByUsername("d");
+
+        assertEquals(3, service.getCacheSize());
+        verify(userRepository, times(1)).findByUsername("d");
+    }
+
+    @Test
+    void unknownUsersAreNotFound() {
+        when(userRepository.findByUsername("ghost")).thenReturn(null);
+        assertThrows(UsernameNotFoundException.class, () -> service.loadUserByUsername("ghost"));
+    }
+}
@@ -0,0 +1,202 @@
+package edu.cit.taskbounty.service;
+
+import edu.cit.taskbounty.TestcontainersConfiguration;
+import edu.cit.taskbounty.model.OutboxEmail;
+import edu.cit.taskbounty.repository.OutboxEmailRepository;
+import edu.cit.taskbounty.util.MongoIndexInitializer;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Outbox passes against a real MongoDB, with SMTP replaced by a recording {@link JavaMailSender}.
+ */
+@DataMongoTest
+@Testcontainers(disabledWithoutDocker = true)
+@Import({TestcontainersConfiguration.class, MongoIndexInitializer.class})
+class EmailOutboxClaimTest {
+
+    private static final int BATCH_SIZE = 10;
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private OutboxEmailRepository outboxRepository;
+
+    private final JavaMailSender mailSender = mock(JavaMailSender.class);
+    private final Map<String, AtomicInteger> deliveries = new ConcurrentHashMap<>();
+    private final Set<String> rejected = ConcurrentHashMap.newKeySet();
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository.deleteAll();
+        when(mailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage((jakarta.mail.Session) null));
+        doAnswer(invocation -> {
+            Map<Object, Exception> failed = new LinkedHashMap<>();
+            for (Object argument : invocation.getArguments()) {
+                MimeMessage message = (MimeMessage) argument;
+                String to = message.getRecipients(Message.RecipientType.TO)[0].toString();
+                if (rejected.contains(to)) {
+                    failed.put(message, new MessagingException("mailbox unavailable"));
+                } else {
+                    deliveries.computeIfAbsent(to, key -> new AtomicInteger()).incrementAndGet();
+                }
+            }
+            if (!failed.isEmpty()) {
+                throw new MailSendException(failed);
+            }
+            return null;
+        }).when(mailSender).send(any(MimeMessage[].class));
+    }
+
+    @Test
+    void claimsOnlyDueEmails() {
+        OutboxEmail due = queue("due@example.com", new Date(System.currentTimeMillis() - 1_000));
+        OutboxEmail later = queue("later@example.com", new Date(System.currentTimeMillis() + 60_000));
+
+        sender().drain();
+
+        assertEquals(Set.of("due@example.com"), deliveries.keySet());
+        OutboxEmail sent = reload(due);
+        assertEquals(OutboxEmail.SENT, sent.getStatus());
+        assertNull(sent.getClaimToken());
+        assertNotNull(sent.getExpireAt());
+        assertEquals(OutboxEmail.PENDING, reload(later).getStatus());
+        assertEquals(0, reload(later).getAttempts());
+    }
+
+    @Test
+    void sentEmailsAreNotClaimedAgain() {
+        queue("once@example.com", new Date());
+        EmailOutboxSender sender = sender();
+
+        sender.drain();
+        sender.drain();
+
+        assertEquals(1, deliveries.get("once@example.com").get());
+    }
+
+    @Test
+    void failedEmailWaitsOutItsBackoff() {
+        rejected.add("bad@example.com");
+        OutboxEmail bad = queue("bad@example.com", new Date());
+        OutboxEmail good = queue("good@example.com", new Date());
+        EmailOutboxSender sender = sender();
+
+        sender.drain();
+        sender.drain(); // not due again yet
+
+        OutboxEmail retried = reload(bad);
+        assertEquals(OutboxEmail.PENDING, retried.getStatus());
+        assertEquals(1, retried.getAttempts());
+        assertEquals("mailbox unavailable", retried.getLastError());
+        assertTrue(retried.getNextAttemptAt().after(new Date()), "retry is not in the future");
+        assertEquals(OutboxEmail.SENT, reload(good).getStatus());
+    }
+
+    @Test
+    void abandonsAfterTheLastAttempt() {
+        rejected.add("bad@example.com");
+        OutboxEmail bad = queue("bad@example.com", new Date());
+        EmailOutboxSender sender = sender();
+
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            sender.drain();
+            makeDue(bad);
+        }
+        sender.drain();
+
+        OutboxEmail abandoned = reload(bad);
+        assertEquals(OutboxEmail.FAILED, abandoned.getStatus());
+        assertEquals(MAX_ATTEMPTS, abandoned.getAttempts());
+        assertNotNull(abandoned.getExpireAt());
+        assertEquals(1, sender.getAbandoned());
+    }
+
+    @Test
+    void concurrentSendersDeliverEachEmailOnce() throws Exception {
+        int emails = 200;
+        for (int i = 0; i < emails; i++) {
+            queue("user" + i + "@example.com", new Date());
+        }
+        int senders = 4;
+        ExecutorService pool = Executors.newFixedThreadPool(senders);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> passes = new ArrayList<>();
+        for (int i = 0; i < senders; i++) {
+            EmailOutboxSender sender = sender();
+            passes.add(pool.submit(() -> {
+                start.await();
+                // A pass ends early when a rival claims part of its batch, so keep passing until the outbox is drained
+                while (outboxRepository.countByStatus(OutboxEmail.PENDING) > 0) {
+                    sender.drain();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> pass : passes) {
+            pass.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertEquals(emails, deliveries.size());
+        assertTrue(deliveries.values().stream().allMatch(count -> count.get() == 1), "an email went out twice");
+        assertEquals(emails, outboxRepository.countByStatus(OutboxEmail.SENT));
+    }
+
+    private EmailOutboxSender sender() {
+        return new EmailOutboxSender(mongoTemplate, outboxRepository, mailSender,
+                BATCH_SIZE, 100, 120_000, MAX_ATTEMPTS, 60_000, 900_000, 24);
+    }
+
+    private OutboxEmail queue(String to, Date due) {
+        OutboxEmail email = new OutboxEmail(to, "Subject", "<p>Body</p>", new Date());
+        email.setNextAttemptAt(due);
+        return outboxRepository.insert(email);
+    }
+
+    private void makeDue(OutboxEmail email) {
+        OutboxEmail stored = reload(email);
+        stored.setNextAttemptAt(new Date(System.currentTimeMillis() - 1));
+        outboxRepository.save(stored);
+    }
+
+    private OutboxEmail reload(OutboxEmail email) {
+        return outboxRepository.findById(email.getId()).orElseThrow();
+    }
+}
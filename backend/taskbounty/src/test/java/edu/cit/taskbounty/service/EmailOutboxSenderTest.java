@@ -0,0 +1,252 @@
+package edu.cit.taskbounty.service;
+
+import edu.cit.taskbounty.model.OutboxEmail;
+import edu.cit.taskbounty.model.User;
+import edu.cit.taskbounty.repository.OutboxEmailRepository;
+import edu.cit.taskbounty.repository.UserRepository;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Delivery outcomes of one outbox pass, against a mocked {@link JavaMailSender} and template. Claiming against a
+ * real database is covered by {@link EmailOutboxClaimTest}.
+ */
+class EmailOutboxSenderTest {
+
+    private static final long RETRY_BASE = 5_000;
+    private static final long RETRY_MAX = 900_000;
+    private static final int MAX_ATTEMPTS = 8;
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final OutboxEmailRepository outboxRepository = mock(OutboxEmailRepository.class);
+    private final JavaMailSender mailSender = mock(JavaMailSender.class);
+    private final BulkOperations bulk = mock(BulkOperations.class);
+    private final EmailOutboxSender sender = new EmailOutboxSender(mongoTemplate, outboxRepository, mailSender,
+            50, 20, 120_000, MAX_ATTEMPTS, RETRY_BASE, RETRY_MAX, 24);
+
+    EmailOutboxSenderTest() {
+        when(mailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage((jakarta.mail.Session) null));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, OutboxEmail.class)).thenReturn(bulk);
+    }
+
+    @Test
+    void deliversTheWholeBatchInOneSend() {
+        givenDue(email("a", "a@example.com", 0), email("b", "b@example.com", 0));
+
+        sender.drain();
+
+        ArgumentCaptor<MimeMessage[]> sent = ArgumentCaptor.forClass(MimeMessage[].class);
+        verify(mailSender).send(sent.capture());
+        assertEquals(2, sent.getValue().length);
+        Map<String, Document> sets = recordedSets();
+        assertEquals(OutboxEmail.SENT, sets.get("a").get("status"));
+        assertEquals(OutboxEmail.SENT, sets.get("b").get("status"));
+        assertEquals(2, sender.getSent());
+    }
+
+    @Test
+    void partialFailureRetriesOnlyTheRejectedEmails() {
+        givenDue(email("a", "a@example.com", 0), email("b", "bad@example.com", 0), email("c", "c@example.com", 0));
+        rejectRecipient("bad@example.com");
+        long before = System.currentTimeMillis();
+
+        sender.drain();
+
+        Map<String, Document> sets = recordedSets();
+        assertEquals(OutboxEmail.SENT, sets.get("a").get("status"));
+        assertEquals(OutboxEmail.SENT, sets.get("c").get("status"));
+        Document retry = sets.get("b");
+        assertNull(retry.get("status"), "a retried email stays pending");
+        assertEquals(1, retry.get("attempts"));
+        assertEquals("mailbox unavailable", retry.get("lastError"));
+        assertBetween(before + RETRY_BASE, before + RETRY_BASE * 6 / 5 + 1_000, (Date) retry.get("nextAttemptAt"));
+        assertEquals(2, sender.getSent());
+        assertEquals(1, sender.getRetried());
+    }
+
+    @Test
+    void connectionFailureRetriesTheWholeBatch() {
+        givenDue(email("a", "a@example.com", 0), email("b", "b@example.com", 0));
+        doThrow(new MailAuthenticationException("bad credentials")).when(mailSender).send(any(MimeMessage[].class));
+
+        sender.drain();
+
+        Map<String, Document> sets = recordedSets();
+        assertEquals(1, sets.get("a").get("attempts"));
+        assertEquals(1, sets.get("b").get("attempts"));
+        assertEquals(0, sender.getSent());
+        assertEquals(2, sender.getRetried());
+    }
+
+    @Test
+    void backoffDoublesWithEachAttempt() {
+        givenDue(email("a", "bad@example.com", 3));
+        rejectRecipient("bad@example.com");
+        long before = System.currentTimeMillis();
+
+        sender.drain();
+
+        Document retry = recordedSets().get("a");
+        assertEquals(4, retry.get("attempts"));
+        long backoff = RETRY_BASE << 3;
+        assertBetween(before + backoff, before + backoff * 6 / 5 + 1_000, (Date) retry.get("nextAttemptAt"));
+    }
+
+    @Test
+    void backoffIsCappedAtTheMaximum() {
+        EmailOutboxSender patient = new EmailOutboxSender(mongoTemplate, outboxRepository, mailSender,
+                50, 20, 120_000, 50, RETRY_BASE, RETRY_MAX, 24);
+        givenDue(email("a", "bad@example.com", 20));
+        rejectRecipient("bad@example.com");
+        long before = System.currentTimeMillis();
+
+        patient.drain();
+
+        assertBetween(before + RETRY_MAX, before + RETRY_MAX * 6 / 5 + 1_000,
+                (Date) recordedSets().get("a").get("nextAttemptAt"));
+    }
+
+    @Test
+    void abandonsAfterTheLastAttempt() {
+        givenDue(email("a", "bad@example.com", MAX_ATTEMPTS - 1));
+        rejectRecipient("bad@example.com");
+
+        sender.drain();
+
+        Document abandoned = recordedSets().get("a");
+        assertEquals(OutboxEmail.FAILED, abandoned.get("status"));
+        assertEquals(MAX_ATTEMPTS, abandoned.get("attempts"));
+        assertTrue(abandoned.get("expireAt") instanceof Date, "abandoned emails must expire");
+        assertNull(abandoned.get("nextAttemptAt"));
+        assertEquals(1, sender.getAbandoned());
+        assertEquals(0, sender.getRetried());
+    }
+
+    @Test
+    void registrationOnlyQueuesTheEmail() {
+        // An SMTP server that never answers must not hold up sign-up
+        CountDownLatch never = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            never.await();
+            return null;
+        }).when(mailSender).send(any(MimeMessage[].class));
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.insert(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        PasswordHashingService passwordHashingService = mock(PasswordHashingService.class);
+        when(passwordHashingService.encode(anyString())).thenReturn("hash");
+        EmailService emailService = new EmailService();
+        ReflectionTestUtils.setField(emailService, "outboxRepository", outboxRepository);
+        AuthService authService = new AuthService();
+        ReflectionTestUtils.setField(authService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(authService, "passwordHashingService", passwordHashingService);
+        ReflectionTestUtils.setField(authService, "emailService", emailService);
+        User user = new User();
+        user.setUsername("alice");
+        user.setEmail("alice@example.com");
+        user.setPassword("secret123");
+
+        assertTimeoutPreemptively(Duration.ofSeconds(2), () -> authService.register(user));
+
+        ArgumentCaptor<OutboxEmail> queued = ArgumentCaptor.forClass(OutboxEmail.class);
+        verify(outboxRepository).insert(queued.capture());
+        assertEquals("alice@example.com", queued.getValue().getTo());
+        assertEquals(OutboxEmail.PENDING, queued.getValue().getStatus());
+        verifyNoInteractions(mailSender);
+    }
+
+    private void givenDue(OutboxEmail... batch) {
+        List<OutboxEmail> ids = new ArrayList<>();
+        for (OutboxEmail email : batch) {
+            OutboxEmail id = new OutboxEmail();
+            id.setId(email.getId());
+            ids.add(id);
+        }
+        when(mongoTemplate.find(any(Query.class), eq(OutboxEmail.class))).thenReturn(ids);
+        when(outboxRepository.findByClaimToken(anyString())).thenReturn(List.of(batch));
+    }
+
+    private void rejectRecipient(String address) {
+        doAnswer(invocation -> {
+            Map<Object, Exception> failed = new LinkedHashMap<>();
+            for (Object argument : invocation.getArguments()) {
+                MimeMessage message = (MimeMessage) argument;
+                if (address.equals(recipient(message))) {
+                    failed.put(message, new MessagingException("mailbox unavailable"));
+                }
+            }
+            if (!failed.isEmpty()) {
+                throw new MailSendException(failed);
+            }
+            return null;
+        }).when(mailSender).send(any(MimeMessage[].class));
+    }
+
+    private static String recipient(MimeMessage message) throws MessagingException {
+        return message.getRecipients(Message.RecipientType.TO)[0].toString();
+    }
+
+    /**
+     * The {@code $set} of each outcome recorded in the bulk, by email ID.
+     */
+    private Map<String, Document> recordedSets() {
+        verify(bulk).execute();
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(bulk, atLeastOnce()).updateOne(queries.capture(), updates.capture());
+        Map<String, Document> sets = new HashMap<>();
+        for (int i = 0; i < queries.getAllValues().size(); i++) {
+            String id = (String) queries.getAllValues().get(i).getQueryObject().get("_id");
+            sets.put(id, (Document) updates.getAllValues().get(i).getUpdateObject().get("$set"));
+        }
+        return sets;
+    }
+
+    private static OutboxEmail email(String id, String to, int attempts) {
+        OutboxEmail email = new OutboxEmail(to, "Subject", "<p>Body</p>", new Date());
+        email.setId(id);
+        email.setAttempts(attempts);
+        email.setClaimToken("token");
+        return email;
+    }
+
+    private static void assertBetween(long from, long to, Date actual) {
+        assertTrue(actual.getTime() >= from && actual.getTime() <= to,
+                actual.getTime() + " not in [" + from + ", " + to + "]");
+    }
+}
@@ -0,0 +1,37 @@
+package edu.cit.taskbounty.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * BCrypt verification throughput per cost factor, for choosing {@code security.bcrypt.strength}.
+ * <p>
+ * Not part of the regular test run (the class name doesn't match the surefire includes); run it with
+ * {@code mvn test -Dtest=PasswordHashingBenchmark}. Login throughput is roughly
+ * {@code security.bcrypt.threads} times the rate printed for the configured cost.
+ */
+class PasswordHashingBenchmark {
+
+    private static final long MEASURE_NANOS = 3_000_000_000L;
+
+    @Test
+    void verificationsPerSecondByCost() {
+        for (int cost = 8; cost <= 12; cost++) {
+            BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(cost);
+            String hash = encoder.encode("correct horse battery staple");
+            encoder.matches("correct horse battery staple", hash); // Warm up
+
+            int verifications = 0;
+            long started = System.nanoTime();
+            long elapsed;
+            do {
+                encoder.matches("correct horse battery staple", hash);
+                verifications++;
+                elapsed = System.nanoTime() - started;
+            } while (elapsed < MEASURE_NANOS);
+
+            System.out.printf("cost %2d: %6.1f verifications/s (%.1f ms)%n",
+                    cost, verifications * 1e9 / elapsed, elapsed / 1e6 / verifications);
+        }
+    }
+}
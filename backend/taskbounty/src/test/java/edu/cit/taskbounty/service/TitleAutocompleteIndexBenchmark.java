@@ -0,0 +1,125 @@
+package edu.cit.taskbounty.service;
+
+import edu.cit.taskbounty.model.BountyPost;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Lookup and publish latency of the title autocomplete index over 100k titles, plus rebuild time and heap.
+ * <p>
+ * Titles are 3-8 words drawn from a 5000-word vocabulary with a skewed (Zipf-like) frequency, so short prefixes
+ * hit nodes shared by tens of thousands of posts. Latencies are per call on one thread, as percentiles. Not part
+ * of the regular test run (the class name doesn't match the surefire includes); run it with
+ * {@code mvn test -Dtest=TitleAutocompleteIndexBenchmark}.
+ */
+class TitleAutocompleteIndexBenchmark {
+
+    private static final int POSTS = 100_000;
+    private static final int VOCABULARY = 5_000;
+    private static final int LOOKUPS = 200_000;
+    private static final int PUBLISHES = 20_000;
+
+    @Test
+    void latencyOverOneHundredThousandTitles() {
+        Random random = new Random(42);
+        String[] words = vocabulary(random);
+        List<BountyPost> posts = new ArrayList<>();
+        for (int i = 0; i < POSTS; i++) {
+            BountyPost post = new BountyPost("creator", title(random, words), "", BigDecimal.ONE, true);
+            post.setId(new ObjectId().toHexString());
+            post.setUpvotes(random.nextInt(1_000));
+            posts.add(post);
+        }
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.stream(any(Query.class), eq(BountyPost.class))).thenAnswer(invocation -> posts.stream());
+        TitleAutocompleteIndex index = new TitleAutocompleteIndex(mongoTemplate);
+
+        long heapBefore = usedHeap();
+        long started = System.nanoTime();
+        index.reload();
+        long rebuildMillis = (System.nanoTime() - started) / 1_000_000;
+        System.out.printf("rebuild of %,d titles: %,d ms, ~%,d MB heap held by the index%n",
+                POSTS, rebuildMillis, (usedHeap() - heapBefore) / (1024 * 1024));
+
+        String common = words[0];
+        String uncommon = words[1_000]; // In roughly 65 titles
+        measure("1-char prefix", random, () -> index.suggest(common.substring(0, 1), 8));
+        measure("3-char prefix", random, () -> index.suggest(common.substring(0, 3), 8));
+        measure("uncommon word", random, () -> index.suggest(uncommon, 8));
+        measure("two words", random, () -> index.suggest(words[random.nextInt(50)] + " " + common.substring(0, 2), 8));
+        measure("no match", random, () -> index.suggest("zzzz", 8));
+
+        long[] nanos = new long[PUBLISHES];
+        for (int i = 0; i < PUBLISHES; i++) {
+            String title = title(random, words);
+            long start = System.nanoTime();
+            index.put(new ObjectId().toHexString(), title, random.nextInt(1_000));
+            nanos[i] = System.nanoTime() - start;
+        }
+        report("publish", nanos);
+    }
+
+    private static void measure(String name, Random random, Runnable lookup) {
+        for (int i = 0; i < LOOKUPS / 4; i++) {
+            lookup.run(); // Warm up
+        }
+        long[] nanos = new long[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            long start = System.nanoTime();
+            lookup.run();
+            nanos[i] = System.nanoTime() - start;
+        }
+        report(name, nanos);
+    }
+
+    private static void report(String name, long[] nanos) {
+        Arrays.sort(nanos);
+        System.out.printf("%-14s p50 %6.1f us, p99 %6.1f us, p99.9 %7.1f us, max %8.1f us%n", name,
+                nanos[nanos.length / 2] / 1e3, nanos[(int) (nanos.length * 0.99)] / 1e3,
+                nanos[(int) (nanos.length * 0.999)] / 1e3, nanos[nanos.length - 1] / 1e3);
+    }
+
+    private static String[] vocabulary(Random random) {
+        String[] syllables = {"ba", "ce", "di", "fo", "gu", "ka", "le", "mi", "no", "pu", "ra", "se", "ti", "vo", "za"};
+        String[] words = new String[VOCABULARY];
+        for (int i = 0; i < VOCABULARY; i++) {
+            StringBuilder word = new StringBuilder();
+            int length = 2 + random.nextInt(3);
+            for (int j = 0; j < length; j++) {
+                word.append(syllables[random.nextInt(syllables.length)]);
+            }
+            words[i] = word.toString() + i; // Distinct even when the syllables repeat
+        }
+        return words;
+    }
+
+    // Rank r is drawn with probability roughly proportional to 1/r
+    private static String title(Random random, String[] words) {
+        StringBuilder title = new StringBuilder();
+        int length = 3 + random.nextInt(6);
+        for (int i = 0; i < length; i++) {
+            int rank = (int) Math.pow(VOCABULARY, random.nextDouble()) - 1;
+            title.append(i == 0 ? "" : " ").append(words[rank]);
+        }
+        return title.toString();
+    }
+
+    private static long usedHeap() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
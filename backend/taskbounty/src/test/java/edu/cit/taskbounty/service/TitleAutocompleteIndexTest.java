@@ -0,0 +1,269 @@
+package edu.cit.taskbounty.service;
+
+import edu.cit.taskbounty.model.BountyPost;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TitleAutocompleteIndexTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final TitleAutocompleteIndex index = new TitleAutocompleteIndex(mongoTemplate);
+
+    @Test
+    void suggestsTitlesWithAWordStartingWithTheQueryMostUpvotedFirst() {
+        index.put("p1", "Fix the login page", 3);
+        index.put("p2", "Logging is too noisy", 9);
+        index.put("p3", "Dark mode", 20);
+
+        assertEquals(List.of("p2", "p1"), ids(index.suggest("lo", 10)));
+        assertEquals(List.of("p2"), ids(index.suggest("lo", 1)));
+        assertEquals(List.of(), ids(index.suggest("xyz", 10)));
+        assertEquals(List.of(), ids(index.suggest("  ", 10)));
+    }
+
+    @Test
+    void earlierWordsMustAlsoStartTitleWords() {
+        index.put("p1", "Fix the login page", 3);
+        index.put("p2", "Login page redesign", 9);
+
+        assertEquals(List.of("p1"), ids(index.suggest("fix log", 10)));
+        assertEquals(List.of("p2", "p1"), ids(index.suggest("page log", 10)));
+    }
+
+    @Test
+    void foldsCaseAndAccents() {
+        index.put("p1", "Café déploiement", 1);
+
+        assertEquals(List.of("p1"), ids(index.suggest("CAFE DEPLO", 10)));
+    }
+
+    @Test
+    void putReplacesTheIndexedTitle() {
+        index.put("p1", "Old title", 1);
+        index.put("p1", "New heading", 5);
+
+        assertEquals(List.of(), ids(index.suggest("old", 10)));
+        assertEquals(List.of("p1"), ids(index.suggest("head", 10)));
+        assertEquals(5, index.suggest("head", 10).get(0).upvotes());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void removeHidesThePostAtOnce() {
+        index.put("p1", "Fix the login page", 3);
+        index.remove("p1");
+
+        assertEquals(List.of(), ids(index.suggest("login", 10)));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void compactFreesTopSlotsHeldByRemovedPosts() {
+        for (int i = 0; i < 20; i++) {
+            index.put("p" + i, "Deploy " + i, i);
+        }
+        for (int i = 4; i < 20; i++) {
+            index.remove("p" + i);
+        }
+        // The 16 best slots of every node on "deploy" are held by removed posts until the rebuild
+        assertEquals(List.of(), ids(index.suggest("deploy", 10)));
+
+        index.compact();
+
+        assertEquals(List.of("p3", "p2", "p1", "p0"), ids(index.suggest("deploy", 10)));
+    }
+
+    @Test
+    void reloadKeepsPublishesAndDeletesMadeDuringTheLoad() {
+        when(mongoTemplate.stream(any(Query.class), eq(BountyPost.class))).thenAnswer(invocation -> {
+            // Committed to Mongo after the load read past them
+            index.put("p3", "Freshly published", 1);
+            index.remove("p1");
+            return Stream.of(post("p1", "Deleted meanwhile", 5), post("p2", "Still here", 2));
+        });
+
+        index.reload();
+
+        assertEquals(List.of("p3"), ids(index.suggest("fresh", 10)));
+        assertEquals(List.of(), ids(index.suggest("deleted", 10)));
+        assertEquals(List.of("p2"), ids(index.suggest("still", 10)));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void failedReloadKeepsTheCurrentIndex() {
+        index.put("p1", "Fix the login page", 3);
+        when(mongoTemplate.stream(any(Query.class), eq(BountyPost.class)))
+                .thenThrow(new IllegalStateException("connection refused"));
+
+        index.reload();
+        index.put("p2", "Login page redesign", 9);
+
+        assertEquals(List.of("p2", "p1"), ids(index.suggest("login", 10)));
+    }
+
+    @Test
+    void concurrentPutsRemovesAndCompactsConverge() throws Exception {
+        int writers = 4;
+        int postsPerWriter = 400;
+        Map<String, TitleAutocompleteIndex.Suggestion> expected = new ConcurrentHashMap<>();
+        AtomicBoolean done = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(writers + 2);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < writers; t++) {
+            int writer = t;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < postsPerWriter; i++) {
+                    String id = String.format("w%dn%04d", writer, i);
+                    int upvotes = (i * 37 + writer) % 500;
+                    index.put(id, "Topic " + id, upvotes);
+                    expected.put(id, new TitleAutocompleteIndex.Suggestion(id, "Topic " + id, upvotes));
+                    if (i % 3 == 0) {
+                        index.remove(id);
+                        expected.remove(id);
+                    } else if (i % 5 == 0) {
+                        index.put(id, "Subject " + id, upvotes + 1);
+                        expected.put(id, new TitleAutocompleteIndex.Suggestion(id, "Subject " + id, upvotes + 1));
+                    }
+                }
+            }));
+        }
+        Future<?> compactor = executor.submit(() -> {
+            while (!done.get()) {
+                index.compact();
+            }
+        });
+        Future<?> reader = executor.submit(() -> {
+            while (!done.get()) {
+                index.suggest("topic w", 16).forEach(suggestion -> assertTrue(suggestion.title().startsWith("Topic")));
+            }
+        });
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        done.set(true);
+        compactor.get(5, TimeUnit.SECONDS);
+        reader.get(5, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        index.compact();
+        assertIndexMatches(expected);
+        List<String> best = expected.values().stream()
+                .filter(suggestion -> suggestion.title().startsWith("Topic"))
+                .sorted(Comparator.comparingInt(TitleAutocompleteIndex.Suggestion::upvotes).reversed()
+                        .thenComparing(TitleAutocompleteIndex.Suggestion::id))
+                .limit(16)
+                .map(TitleAutocompleteIndex.Suggestion::id)
+                .toList();
+        assertEquals(best, ids(index.suggest("topic", 16)));
+    }
+
+    @Test
+    void reloadsRacingPublishesAndDeletesEndInStepWithMongo() throws Exception {
+        // Stands in for the posts collection: the service writes Mongo first, then updates the index
+        Map<String, TitleAutocompleteIndex.Suggestion> stored = new ConcurrentHashMap<>();
+        for (int i = 0; i < 200; i++) {
+            String id = String.format("m%04d", i);
+            stored.put(id, new TitleAutocompleteIndex.Suggestion(id, "Stored " + id, i));
+        }
+        when(mongoTemplate.stream(any(Query.class), eq(BountyPost.class))).thenAnswer(invocation ->
+                List.copyOf(stored.values()).stream().map(s -> post(s.id(), s.title(), s.upvotes())));
+        index.reload();
+
+        AtomicBoolean done = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<?> writer = executor.submit(() -> {
+            for (int i = 0; i < 1_000; i++) {
+                String id = String.format("n%04d", i);
+                stored.put(id, new TitleAutocompleteIndex.Suggestion(id, "Published " + id, i));
+                index.put(id, "Published " + id, i);
+                if (i < 200 && i % 2 == 0) {
+                    stored.remove(String.format("m%04d", i));
+                    index.remove(String.format("m%04d", i));
+                }
+            }
+            done.set(true);
+        });
+        Future<?> reloader = executor.submit(() -> {
+            while (!done.get()) {
+                index.reload();
+            }
+        });
+        writer.get(30, TimeUnit.SECONDS);
+        reloader.get(30, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        index.compact();
+        assertIndexMatches(stored);
+    }
+
+    @Test
+    void concurrentReloadsDoNotInterfere() throws Exception {
+        CountDownLatch firstLoading = new CountDownLatch(1);
+        CountDownLatch secondStarted = new CountDownLatch(1);
+        when(mongoTemplate.stream(any(Query.class), eq(BountyPost.class))).thenAnswer(invocation -> {
+            if (firstLoading.getCount() > 0) {
+                firstLoading.countDown();
+                secondStarted.await(200, TimeUnit.MILLISECONDS); // Times out once reloads are serialized
+            }
+            return Stream.of(post("p1", "Fix the login page", 3));
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<?> first = executor.submit(index::reload);
+        assertTrue(firstLoading.await(5, TimeUnit.SECONDS));
+        Future<?> second = executor.submit(() -> {
+            secondStarted.countDown();
+            index.reload();
+        });
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        assertEquals(List.of("p1"), ids(index.suggest("log", 10)));
+    }
+
+    private void assertIndexMatches(Map<String, TitleAutocompleteIndex.Suggestion> expected) {
+        assertEquals(expected.size(), index.size());
+        for (TitleAutocompleteIndex.Suggestion suggestion : expected.values()) {
+            // Ids are fixed-width, so each is a prefix of a word in its own title only
+            List<TitleAutocompleteIndex.Suggestion> found = index.suggest(suggestion.id(), 2);
+            assertEquals(List.of(suggestion), found, suggestion.id());
+        }
+    }
+
+    private static List<String> ids(List<TitleAutocompleteIndex.Suggestion> suggestions) {
+        List<String> ids = new ArrayList<>();
+        suggestions.forEach(suggestion -> ids.add(suggestion.id()));
+        return ids;
+    }
+
+    private static BountyPost post(String id, String title, int upvotes) {
+        BountyPost post = new BountyPost("creator", title, "", BigDecimal.ONE, true);
+        post.setId(id);
+        post.setUpvotes(upvotes);
+        return post;
+    }
+}
@@ -0,0 +1,80 @@
+package edu.cit.taskbounty.service;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Post-document writes per vote with write-behind aggregation, at several vote rates.
+ * <p>
+ * 16 threads vote at a fixed total rate, 80% of the votes on one hot post and the rest spread over 2000 others,
+ * while the main thread drains the aggregator every 500 ms as the scheduled flush does. Each drained post is one
+ * {@code $inc} in the flush bulk, so drained posts per vote is the write amplification; writing the counters on
+ * every vote would be 1.00. Mongo is not involved, since only the number of writes is measured.
+ * <p>
+ * Not part of the regular test run (the class name doesn't match the surefire includes); run it with
+ * {@code mvn test -Dtest=VoteAggregatorBenchmark}.
+ */
+class VoteAggregatorBenchmark {
+
+    private static final int THREADS = 16;
+    private static final int COLD_POSTS = 2000;
+    private static final long FLUSH_INTERVAL_NANOS = 500_000_000L;
+    private static final long MEASURE_NANOS = 5_000_000_000L;
+
+    @Test
+    void postWritesPerVoteByRate() throws InterruptedException {
+        String hotPost = new ObjectId().toHexString();
+        List<String> coldPosts = new ArrayList<>();
+        for (int i = 0; i < COLD_POSTS; i++) {
+            coldPosts.add(new ObjectId().toHexString());
+        }
+
+        for (int rate : new int[]{1_000, 10_000, 100_000}) {
+            VoteAggregator aggregator = new VoteAggregator(mock(MongoTemplate.class), 600_000, 5_000); // drain never touches Mongo
+            long started = System.nanoTime();
+            long deadline = started + MEASURE_NANOS;
+            long pace = THREADS * 1_000_000_000L / rate;
+
+            ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+            for (int t = 0; t < THREADS; t++) {
+                executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    long next = System.nanoTime();
+                    while (next < deadline) {
+                        String postId = random.nextInt(100) < 80 ? hotPost : coldPosts.get(random.nextInt(COLD_POSTS));
+                        aggregator.record(postId, 1, 0);
+                        next += pace;
+                        long wait = next - System.nanoTime();
+                        if (wait > 0) {
+                            LockSupport.parkNanos(wait);
+                        }
+                    }
+                });
+            }
+            executor.shutdown();
+
+            long written = 0;
+            long flushAt = started + FLUSH_INTERVAL_NANOS;
+            while (!executor.awaitTermination(Math.max(0, flushAt - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                written += aggregator.drain().size();
+                flushAt += FLUSH_INTERVAL_NANOS;
+            }
+            written += aggregator.drain().size(); // Shutdown flush
+
+            long votes = aggregator.getVotesRecorded();
+            System.out.printf("%,7d votes/s: %,9d votes, %,7d post writes, before 1.00, after %.3f writes/vote%n",
+                    rate, votes, written, (double) written / votes);
+        }
+    }
+}
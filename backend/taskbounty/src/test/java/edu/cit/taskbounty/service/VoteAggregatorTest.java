@@ -0,0 +1,302 @@
+package edu.cit.taskbounty.service;
+
+import com.mongodb.client.result.UpdateResult;
+import edu.cit.taskbounty.model.BountyPost;
+import edu.cit.taskbounty.model.PostVote;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class VoteAggregatorTest {
+
+    private static final String POST = new ObjectId().toHexString();
+    private static final String OTHER_POST = new ObjectId().toHexString();
+    private static final Date SETTLED = new Date(System.currentTimeMillis() - 60_000);
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final BulkOperations ops = mock(BulkOperations.class);
+    private final VoteAggregator aggregator = new VoteAggregator(mongoTemplate, 600_000, 5_000);
+
+    @BeforeEach
+    void setUp() {
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(BountyPost.class))).thenReturn(ops);
+    }
+
+    @Test
+    void drainTotalsDeltasPerPost() {
+        aggregator.record(POST, 1, 0);
+        aggregator.record(POST, 1, 0);
+        aggregator.record(POST, -1, 1); // A switch to down
+        aggregator.record(OTHER_POST, 0, 1);
+
+        Map<String, long[]> deltas = aggregator.drain();
+
+        assertArrayEquals(new long[]{1, 1}, deltas.get(POST));
+        assertArrayEquals(new long[]{0, 1}, deltas.get(OTHER_POST));
+        assertEquals(4, aggregator.getVotesRecorded());
+    }
+
+    @Test
+    void drainSkipsPostsWhoseVotesCancelledOut() {
+        aggregator.record(POST, 1, 0);
+        aggregator.record(POST, -1, 1);
+        aggregator.record(POST, 0, -1);
+
+        assertTrue(aggregator.drain().isEmpty());
+    }
+
+    @Test
+    void drainStartsANewIntervalForLaterVotes() {
+        aggregator.record(POST, 1, 0);
+        aggregator.drain();
+        aggregator.record(POST, 0, 1);
+
+        assertEquals(1, aggregator.getPendingPosts());
+        assertArrayEquals(new long[]{0, 1}, aggregator.drain().get(POST));
+        assertTrue(aggregator.drain().isEmpty());
+    }
+
+    @Test
+    void concurrentVotesAreCountedExactlyOnceAcrossDrains() throws InterruptedException {
+        String[] posts = {POST, OTHER_POST, new ObjectId().toHexString()};
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 20_000; i++) {
+                    aggregator.record(posts[i % posts.length], 1, i % 2);
+                }
+                return null;
+            });
+        }
+        executor.shutdown();
+
+        long up = 0;
+        long down = 0;
+        start.countDown();
+        while (!executor.isTerminated()) {
+            for (long[] delta : aggregator.drain().values()) {
+                up += delta[0];
+                down += delta[1];
+            }
+        }
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        for (long[] delta : aggregator.drain().values()) {
+            up += delta[0];
+            down += delta[1];
+        }
+
+        assertEquals(160_000, up);
+        assertEquals(80_000, down);
+    }
+
+    @Test
+    void unknownFlushOutcomeMarksPostsInsteadOfRetrying() {
+        aggregator.record(POST, 1, 0);
+        when(ops.execute()).thenThrow(new IllegalStateException("connection reset"));
+
+        aggregator.flush();
+
+        assertEquals(1, aggregator.getFlushFailures());
+        assertEquals(1, aggregator.getUnreconciledPosts());
+        assertEquals(0, aggregator.getPendingPosts());
+        assertTrue(aggregator.drain().isEmpty());
+    }
+
+    @Test
+    void reconcileSetsCountersFromTheLedger() {
+        markUnreconciled(POST);
+        givenLedger(row(POST, PostVote.UP, 3), row(POST, PostVote.DOWN, 1));
+
+        assertEquals(1, aggregator.reconcile());
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(ops).updateOne(any(Query.class), update.capture());
+        assertEquals(new Document("$set", new Document("upvotes", 3).append("downvotes", 1)),
+                update.getValue().getUpdateObject());
+        assertEquals(0, aggregator.getUnreconciledPosts());
+        assertEquals(1, aggregator.getReconciled());
+    }
+
+    @Test
+    void reconcileZeroesCountersOfPostsWithNoVotes() {
+        markUnreconciled(POST);
+        givenLedger();
+
+        aggregator.reconcile();
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(ops).updateOne(any(Query.class), update.capture());
+        assertEquals(new Document("$set", new Document("upvotes", 0).append("downvotes", 0)),
+                update.getValue().getUpdateObject());
+    }
+
+    @Test
+    void reconcileDiscardsPendingDeltasOfMarkedPostsOnly() {
+        markUnreconciled(POST);
+        aggregator.record(POST, 1, 0); // Already in the ledger the recount reads
+        aggregator.record(OTHER_POST, 0, 1);
+        givenLedger(row(POST, PostVote.UP, 2));
+
+        aggregator.reconcile();
+
+        Map<String, long[]> remaining = aggregator.drain();
+        assertEquals(1, remaining.size());
+        assertEquals(1, remaining.get(OTHER_POST)[1]);
+    }
+
+    @Test
+    void failedReconcileKeepsPostsMarked() {
+        markUnreconciled(POST);
+        givenLedger(row(POST, PostVote.UP, 2));
+        when(ops.execute()).thenThrow(new IllegalStateException("connection reset"));
+
+        assertEquals(0, aggregator.reconcile());
+        assertEquals(1, aggregator.getUnreconciledPosts());
+    }
+
+    @Test
+    void reconcileWithNothingMarkedSkipsTheLedger() {
+        assertEquals(0, aggregator.reconcile());
+
+        verify(mongoTemplate, never()).aggregate(any(Aggregation.class), eq(PostVote.class), eq(Document.class));
+    }
+
+    @Test
+    void restartRepairCorrectsCountersThatLostDeltas() {
+        givenRecentlyVoted(POST);
+        givenCounters(POST, 2, 0);
+        givenLedger(row(POST, PostVote.UP, 3, SETTLED), row(POST, PostVote.DOWN, 1, SETTLED));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(BountyPost.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        aggregator.repairAfterRestart();
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(query.capture(), update.capture(), eq(BountyPost.class));
+        assertEquals(new Document("_id", new ObjectId(POST)).append("upvotes", 2).append("downvotes", 0),
+                query.getValue().getQueryObject(), "must only overwrite the counters it read");
+        assertEquals(new Document("$set", new Document("upvotes", 3).append("downvotes", 1)),
+                update.getValue().getUpdateObject());
+        assertEquals(1, aggregator.getRepaired());
+        assertEquals(0, aggregator.getUnrepairedPosts());
+    }
+
+    @Test
+    void repairLeavesCountersThatMatchTheLedger() {
+        givenRecentlyVoted(POST);
+        givenCounters(POST, 3, 0);
+        givenLedger(row(POST, PostVote.UP, 3, SETTLED));
+
+        aggregator.repairAfterRestart();
+
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(BountyPost.class));
+        assertEquals(0, aggregator.getRepaired());
+        assertEquals(0, aggregator.getUnrepairedPosts());
+    }
+
+    @Test
+    void repairWaitsUntilThePostsLatestVotesAreFlushed() {
+        givenRecentlyVoted(POST);
+        givenCounters(POST, 2, 0);
+        givenLedger(row(POST, PostVote.UP, 3, new Date()));
+
+        aggregator.repairAfterRestart();
+
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(BountyPost.class));
+        assertEquals(1, aggregator.getUnrepairedPosts());
+
+        givenLedger(row(POST, PostVote.UP, 3, SETTLED));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(BountyPost.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+        assertEquals(1, aggregator.repair());
+        assertEquals(0, aggregator.getUnrepairedPosts());
+    }
+
+    @Test
+    void repairRetriesWhenAFlushChangedTheCountersMeanwhile() {
+        givenRecentlyVoted(POST);
+        givenCounters(POST, 2, 0);
+        givenLedger(row(POST, PostVote.UP, 3, SETTLED));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(BountyPost.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        aggregator.repairAfterRestart();
+
+        assertEquals(0, aggregator.getRepaired());
+        assertEquals(1, aggregator.getUnrepairedPosts());
+    }
+
+    @Test
+    void repairForgetsDeletedPosts() {
+        givenRecentlyVoted(POST);
+        givenCounters(OTHER_POST, 0, 0);
+        givenLedger();
+
+        aggregator.repairAfterRestart();
+
+        assertEquals(0, aggregator.getUnrepairedPosts());
+    }
+
+    private void givenRecentlyVoted(String... postIds) {
+        when(mongoTemplate.findDistinct(any(Query.class), eq("postId"), eq(PostVote.class), eq(String.class)))
+                .thenReturn(List.of(postIds));
+    }
+
+    private void givenCounters(String postId, int upvotes, int downvotes) {
+        BountyPost post = new BountyPost();
+        post.setId(postId);
+        post.setUpvotes(upvotes);
+        post.setDownvotes(downvotes);
+        when(mongoTemplate.find(any(Query.class), eq(BountyPost.class))).thenReturn(List.of(post));
+    }
+
+    private void markUnreconciled(String postId) {
+        aggregator.record(postId, 1, 0);
+        when(ops.execute()).thenThrow(new IllegalStateException("connection reset")).thenReturn(null);
+        aggregator.flush();
+        clearInvocations(ops);
+    }
+
+    private void givenLedger(Document... rows) {
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(PostVote.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(rows), new Document()));
+    }
+
+    private static Document row(String postId, String type, int count) {
+        return new Document("_id", new Document("postId", postId).append("type", type)).append("count", count);
+    }
+
+    private static Document row(String postId, String type, int count, Date newest) {
+        return row(postId, type, count).append("newest", newest);
+    }
+}
@@ -0,0 +1,49 @@
+package edu.cit.taskbounty.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ClientIpResolverTest {
+
+    private static MockHttpServletRequest request(String forwardedFor) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.1.1.1");
+        if (forwardedFor != null) {
+            request.addHeader("X-Forwarded-For", forwardedFor);
+        }
+        return request;
+    }
+
+    @Test
+    void takesTheAddressAppendedByTheTrustedProxy() {
+        ClientIpResolver resolver = new ClientIpResolver(1);
+
+        assertEquals("203.0.113.7", resolver.resolve(request("203.0.113.7")));
+        assertEquals("203.0.113.7", resolver.resolve(request("6.6.6.6, 203.0.113.7")), "client-sent entries are ignored");
+    }
+
+    @Test
+    void countsTrustedHopsFromTheRight() {
+        ClientIpResolver resolver = new ClientIpResolver(2);
+
+        assertEquals("203.0.113.7", resolver.resolve(request("6.6.6.6, 203.0.113.7, 10.2.2.2")));
+    }
+
+    @Test
+    void fallsBackToThePeerAddress() {
+        ClientIpResolver resolver = new ClientIpResolver(2);
+
+        assertEquals("10.1.1.1", resolver.resolve(request(null)));
+        assertEquals("10.1.1.1", resolver.resolve(request("203.0.113.7")), "fewer hops than trusted proxies");
+        assertEquals("10.1.1.1", resolver.resolve(request("unknown, 10.2.2.2")));
+    }
+
+    @Test
+    void ignoresTheHeaderWithNoTrustedProxies() {
+        ClientIpResolver resolver = new ClientIpResolver(0);
+
+        assertEquals("10.1.1.1", resolver.resolve(request("203.0.113.7")));
+    }
+}
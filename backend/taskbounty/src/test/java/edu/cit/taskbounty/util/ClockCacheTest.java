@@ -0,0 +1,131 @@
+package edu.cit.taskbounty.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClockCacheTest {
+
+    @Test
+    void admitsNewEntriesWhenFullByEvictingOne() {
+        ClockCache<String, Integer> cache = new ClockCache<>(3);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+        cache.put("d", 4);
+
+        assertEquals(3, cache.size());
+        assertEquals(4, cache.get("d"));
+    }
+
+    @Test
+    void recentlyReadEntriesGetASecondChance() {
+        ClockCache<String, Integer> cache = new ClockCache<>(3);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+        cache.get("a");
+
+        cache.put("d", 4);
+
+        assertEquals(1, cache.get("a"));
+        assertNull(cache.get("b"), "b was the oldest entry not read since insertion");
+        assertEquals(3, cache.get("c"));
+    }
+
+    @Test
+    void replacingAKeyKeepsItsSlot() {
+        ClockCache<String, Integer> cache = new ClockCache<>(2);
+        cache.put("a", 1);
+        cache.put("a", 2);
+        cache.put("b", 3);
+
+        assertEquals(2, cache.size());
+        assertEquals(2, cache.get("a"));
+    }
+
+    @Test
+    void removedSlotsAreReused() {
+        ClockCache<String, Integer> cache = new ClockCache<>(2);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+        cache.get("b");
+        cache.remove("a");
+
+        cache.put("c", 3);
+
+        assertEquals(2, cache.get("b"));
+        assertEquals(3, cache.get("c"));
+    }
+
+    @Test
+    void conditionalRemoveAndSweep() {
+        ClockCache<String, Integer> cache = new ClockCache<>(4);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+        cache.remove("a", 99);
+        assertEquals(1, cache.get("a"));
+
+        assertEquals(2, cache.removeIf(value -> value >= 2));
+        assertEquals(1, cache.size());
+        cache.put("d", 4);
+        cache.put("e", 5);
+        cache.put("f", 6);
+        assertEquals(4, cache.size());
+    }
+
+    @Test
+    void neverGrowsPastCapacityUnderConcurrentInserts() throws InterruptedException {
+        ClockCache<Integer, Integer> cache = new ClockCache<>(100);
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            int offset = t * 100_000;
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 20_000; i++) {
+                    cache.put(offset + i, i);
+                    cache.get(offset + i / 2);
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+        assertEquals(100, cache.size());
+    }
+
+    @Test
+    void computeIfAbsentInsertsOnceAndCountsEvictions() {
+        ClockCache<String, Integer> cache = new ClockCache<>(2);
+
+        assertEquals(1, cache.computeIfAbsent("a", k -> 1));
+        assertEquals(1, cache.computeIfAbsent("a", k -> 99), "present values are not recomputed");
+        cache.computeIfAbsent("b", k -> 2);
+        assertEquals(0, cache.getEvictions());
+
+        cache.computeIfAbsent("c", k -> 3);
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+    }
+
+    @Test
+    void rejectsNonPositiveCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new ClockCache<>(0));
+    }
+}
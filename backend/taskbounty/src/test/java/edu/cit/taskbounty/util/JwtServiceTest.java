@@ -0,0 +1,37 @@
+package edu.cit.taskbounty.util;
+
+import edu.cit.taskbounty.model.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtServiceTest {
+
+    @Test
+    void generatedTokenCarriesRegisteredClaims() {
+        SecretKey key = Jwts.SIG.HS256.key().build();
+        JwtService jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "jwtSigningKey", key);
+        ReflectionTestUtils.setField(jwtService, "jwtParser", Jwts.parser().verifyWith(key).build());
+        ReflectionTestUtils.setField(jwtService, "claimsCache", new VerifiedClaimsCache(10));
+
+        User user = new User();
+        user.setId("user-1");
+        user.setUsername("alice");
+
+        Claims claims = jwtService.verify(jwtService.generateToken(user));
+
+        assertNotNull(claims.getId());
+        assertEquals("alice", claims.getSubject());
+        assertEquals("user-1", claims.get(JwtUtil.USER_ID_CLAIM, String.class));
+        assertNotNull(claims.getIssuedAt());
+        assertTrue(claims.getExpiration().after(claims.getIssuedAt()));
+    }
+}
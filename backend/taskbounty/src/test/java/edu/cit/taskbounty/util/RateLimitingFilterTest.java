@@ -0,0 +1,145 @@
+package edu.cit.taskbounty.util;
+
+import edu.cit.taskbounty.ratelimit.InMemoryRateLimitBackend;
+import edu.cit.taskbounty.ratelimit.RateLimitMetrics;
+import edu.cit.taskbounty.ratelimit.RateLimitPolicyRegistry;
+import edu.cit.taskbounty.ratelimit.RateLimiterStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+
+class RateLimitingFilterTest {
+
+    private static final int READ_LIMIT = 3;
+    private static final int EXPENSIVE_LIMIT = 2;
+
+    private final RateLimiterStore store = spy(new RateLimiterStore(new InMemoryRateLimitBackend(), 1_000, 300));
+    private final List<String> keys = new ArrayList<>();
+    private final RateLimitingFilter filter = new RateLimitingFilter(store,
+            new RateLimitPolicyRegistry(READ_LIMIT, 60, 5, 60, EXPENSIVE_LIMIT, 60, 5, 60),
+            new RateLimitMetrics(64, 10_000), new ClientIpResolver(1));
+
+    RateLimitingFilterTest() {
+        doAnswer(invocation -> {
+            keys.add(invocation.getArgument(0));
+            return invocation.callRealMethod();
+        }).when(store).getOrCreate(anyString(), anyInt(), anyLong(), anyLong());
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readsAreKeyedByRouteTemplateAndClientIp() throws Exception {
+        send("GET", "/bounty_post/65f1c0ffee", "203.0.113.7");
+        send("GET", "/bounty_post/65f1c0ffff", "203.0.113.7");
+
+        assertEquals(List.of("read|GET /bounty_post/{id}|ip:203.0.113.7", "read|GET /bounty_post/{id}|ip:203.0.113.7"),
+                keys, "posts behind one template share a budget");
+    }
+
+    @Test
+    void readsStayPerIpForSignedInUsers() throws Exception {
+        signIn("alice");
+
+        send("GET", "/bounty_post/65f1c0ffee", "203.0.113.7");
+
+        assertEquals(List.of("read|GET /bounty_post/{id}|ip:203.0.113.7"), keys);
+    }
+
+    @Test
+    void perUserPoliciesAreKeyedBySignedInUser() throws Exception {
+        signIn("alice");
+
+        send("POST", "/bounty_post/65f1c0ffee/vote", "203.0.113.7");
+
+        assertEquals(List.of("expensive|POST /bounty_post/{id}/vote|user:alice"), keys);
+    }
+
+    @Test
+    void perUserPoliciesFallBackToIpForAnonymousCallers() throws Exception {
+        send("POST", "/auth/login", "203.0.113.7");
+
+        assertEquals(List.of("auth|POST /auth/login|ip:203.0.113.7"), keys);
+    }
+
+    @Test
+    void clientIpComesFromTheTrustedProxyHeader() throws Exception {
+        MockHttpServletRequest request = request("GET", "/bounty_post/1", "10.0.0.1");
+        request.addHeader("X-Forwarded-For", "198.51.100.4");
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertEquals(List.of("read|GET /bounty_post/{id}|ip:198.51.100.4"), keys);
+    }
+
+    @Test
+    void overTheLimitAnswers429WithRetryAfter() throws Exception {
+        signIn("alice");
+        for (int i = 0; i < EXPENSIVE_LIMIT; i++) {
+            assertEquals(200, send("POST", "/bounty_post/1/vote", "203.0.113.7").getStatus());
+        }
+
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("POST", "/bounty_post/1/vote", "203.0.113.7"), response, chain);
+
+        assertEquals(429, response.getStatus());
+        assertNull(chain.getRequest(), "a rejected request must not reach the controller");
+        String retryAfter = response.getHeader(HttpHeaders.RETRY_AFTER);
+        assertNotNull(retryAfter);
+        long seconds = Long.parseLong(retryAfter);
+        assertTrue(seconds >= 1 && seconds <= 120, "Retry-After " + seconds);
+        assertEquals("Too many requests. Please try again later.", response.getContentAsString());
+    }
+
+    @Test
+    void budgetsAreSeparatePerUserAndPerRoute() throws Exception {
+        signIn("alice");
+        for (int i = 0; i < EXPENSIVE_LIMIT; i++) {
+            send("POST", "/bounty_post/1/vote", "203.0.113.7");
+        }
+        assertEquals(429, send("POST", "/bounty_post/1/vote", "203.0.113.7").getStatus());
+
+        assertEquals(200, send("POST", "/comment/1/bounty_post", "203.0.113.7").getStatus(), "another route");
+        signIn("bob");
+        assertEquals(200, send("POST", "/bounty_post/1/vote", "203.0.113.7").getStatus(), "another user, same IP");
+    }
+
+    private MockHttpServletResponse send(String method, String uri, String ip) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(method, uri, ip), response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String uri, String ip) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(ip);
+        return request;
+    }
+
+    private static void signIn(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, List.of()));
+    }
+}
@@ -0,0 +1,85 @@
+package edu.cit.taskbounty.util;
+
+import edu.cit.taskbounty.TestcontainersConfiguration;
+import edu.cit.taskbounty.model.User;
+import edu.cit.taskbounty.repository.UserRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DataMongoTest
+@Testcontainers(disabledWithoutDocker = true)
+@Import({TestcontainersConfiguration.class, MongoIndexInitializer.class, UserIdentityBackfill.class})
+class UserIdentityBackfillTest {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserIdentityBackfill backfill;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void caseVariantDuplicatesKeepSigningInByTheirExactValue() {
+        insertLegacyUser("older", "Dave", "dave@example.com", 1_000);
+        insertLegacyUser("newer", "dave", "DAVE@example.com", 2_000);
+
+        backfill.backfill();
+
+        assertEquals("older", userRepository.findByUsername("Dave").getId());
+        assertEquals("older", userRepository.findByUsername("DAVE").getId(), "the oldest account owns the name");
+        assertEquals("newer", userRepository.findByUsername("dave").getId(), "exact legacy match wins");
+        assertEquals("older", userRepository.findByEmail("dave@example.com").orElseThrow().getId());
+        assertEquals("newer", userRepository.findByEmail("DAVE@example.com").orElseThrow().getId());
+        assertEquals("newer", userRepository.findByIdentifier("DAVE@example.com").orElseThrow().getId());
+    }
+
+    @Test
+    void uniqueLegacyUsersGetNormalizedFields() {
+        insertLegacyUser("only", "Erin", "Erin@Example.com", 1_000);
+
+        backfill.backfill();
+
+        User user = userRepository.findByUsername("ERIN");
+        assertEquals("only", user.getId());
+        assertEquals("erin", user.getNormalizedUsername());
+        assertEquals("erin@example.com", user.getNormalizedEmail());
+        assertNull(mongoTemplate.findById("only", Document.class, "users").get("legacyUsername"));
+    }
+
+    @Test
+    void rerunningIsANoOp() {
+        insertLegacyUser("older", "Frank", "frank@example.com", 1_000);
+        insertLegacyUser("newer", "FRANK", "frank2@example.com", 2_000);
+
+        backfill.backfill();
+        backfill.backfill();
+
+        assertEquals("newer", userRepository.findByUsername("FRANK").getId());
+        assertEquals("older", userRepository.findByUsername("frank").getId());
+    }
+
+    private void insertLegacyUser(String id, String username, String email, long created) {
+        mongoTemplate.insert(new Document("_id", id)
+                .append("username", username)
+                .append("email", email)
+                .append("dateCreated", new Date(created)), "users");
+    }
+}
@@ -0,0 +1,71 @@
+package edu.cit.taskbounty.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class VerifiedClaimsCacheTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private static Claims claims(String subject, long expiresAtMillis) {
+        return Jwts.claims().subject(subject).expiration(new Date(expiresAtMillis)).build();
+    }
+
+    @Test
+    void servesCachedClaimsOnlyForTheSameToken() {
+        VerifiedClaimsCache cache = new VerifiedClaimsCache(10);
+        Claims claims = claims("alice", NOW + 60_000);
+        cache.put("h.p.sig", claims, NOW);
+
+        assertSame(claims, cache.get("h.p.sig", NOW));
+        // Same signature segment but a different token string must not be honoured
+        assertNull(cache.get("h.other.sig", NOW));
+    }
+
+    @Test
+    void neverServesClaimsPastExpiry() {
+        VerifiedClaimsCache cache = new VerifiedClaimsCache(10);
+        cache.put("h.p.sig", claims("alice", NOW + 1000), NOW);
+
+        assertNull(cache.get("h.p.sig", NOW + 1000));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void skipsTokensThatAreAlreadyExpiredOrHaveNoExpiry() {
+        VerifiedClaimsCache cache = new VerifiedClaimsCache(10);
+        cache.put("a.b.expired", claims("alice", NOW - 1), NOW);
+        cache.put("a.b.noexp", Jwts.claims().subject("bob").build(), NOW);
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void keepsCachingNewTokensWhenFullOfLiveOnes() {
+        VerifiedClaimsCache cache = new VerifiedClaimsCache(3);
+        for (int i = 0; i < 3; i++) {
+            cache.put("h.p.old" + i, claims("user" + i, NOW + 86_400_000), NOW);
+        }
+        Claims fresh = claims("newcomer", NOW + 86_400_000);
+        cache.put("h.p.new", fresh, NOW);
+
+        assertSame(fresh, cache.get("h.p.new", NOW));
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    void removeDropsTheToken() {
+        VerifiedClaimsCache cache = new VerifiedClaimsCache(10);
+        cache.put("h.p.sig", claims("alice", NOW + 60_000), NOW);
+        cache.remove("h.p.sig");
+
+        assertNull(cache.get("h.p.sig", NOW));
+    }
+}
@@ -249,6 +249,32 @@ export const voteBountyPost = async (id, type) => {
   }
 };
 
+// Title suggestions for the search box: [{ id, title, upvotes }]
+export const getBountyPostSuggestions = async (query, limit = 8) => {
+  try {
+    const response = await api.get('/bounty_post/autocomplete', {
+      params: { q: query, limit },
+    });
+    return response.data;
+  } catch (error) {
+    console.error('Error getting bounty post suggestions:', error);
+    throw error;
+  }
+};
+
+// Returns { [postId]: 'UP' | 'DOWN' } for the posts the current user has voted on
+export const getBountyPostVoteStates = async (ids) => {
+  try {
+    const response = await api.get('/bounty_post/votes', {
+      params: { ids: ids.join(',') },
+    });
+    return response.data;
+  } catch (error) {
+    console.error('Error getting vote states:', error);
+    throw error;
+  }
+};
+
 // Authentication Endpoints
 export const registerUser = async (userData) => {
   try {
@@ -1,7 +1,7 @@
 import React from 'react';
 import { useNavigate } from 'react-router-dom';
 
-export default function BountyPost({ post }) {
+export default function BountyPost({ post, vote }) {
   const navigate = useNavigate();
 
   return (
@@ -10,10 +10,13 @@ export default function BountyPost({ post }) {
       className="bg-white shadow-md rounded-xl p-6 hover:shadow-lg transition cursor-pointer"
     >
       <h2 className="text-xl font-semibold text-blue-700 mb-2">{post.title}</h2>
-      <p className="text-gray-700 line-clamp-3 mb-4">{post.description}</p>
+      <p className="text-gray-700 line-clamp-3 mb-4">{post.excerpt ?? post.description}</p>
       <div className="flex justify-between text-sm text-gray-600">
         <span>Bounty: <strong className="text-green-600">${post.bountyPrice}</strong></span>
-        <span>▲ {post.upvotes} ▼ {post.downvotes}</span>
+        <span>
+          <span className={vote === 'UP' ? 'text-blue-600 font-semibold' : ''}>▲ {post.upvotes}</span>{' '}
+          <span className={vote === 'DOWN' ? 'text-red-600 font-semibold' : ''}>▼ {post.downvotes}</span>
+        </span>
       </div>
     </div>
   );
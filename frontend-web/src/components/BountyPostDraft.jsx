@@ -35,7 +35,7 @@ export default function BountyPostDraft({ post }) {
       >
         {post.title}
       </h2>
-      <p className="text-gray-700 line-clamp-3 mb-4">{post.description}</p>
+      <p className="text-gray-700 line-clamp-3 mb-4">{post.excerpt ?? post.description}</p>
       <div className="flex justify-between items-center text-sm text-gray-600">
         <span>Bounty: <strong className="text-green-600">${post.bountyPrice}</strong></span>
         <button
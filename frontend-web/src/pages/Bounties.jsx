@@ -1,18 +1,25 @@
 import React, { useEffect, useRef, useState, useCallback } from 'react';
-import { getPublicBountyPosts } from '../api/Api'; // Assuming this API function is defined elsewhere
+import { useNavigate } from 'react-router-dom';
+import { getPublicBountyPosts, getBountyPostSuggestions, getBountyPostVoteStates } from '../api/Api'; // Assuming this API function is defined elsewhere
 import BountyPost from '../components/BountyPost';   // Assuming this component is defined elsewhere
 
 const PAGE_SIZE = 10; // Define a constant for the number of items per page
 
 export default function Bounties() {
+  const navigate = useNavigate();
   const [posts, setPosts] = useState([]);
   const [search, setSearch] = useState('');
+  const [query, setQuery] = useState(''); // What's typed; `search` only changes on submit
+  const [suggestions, setSuggestions] = useState([]);
   const [sortBy, setSortBy] = useState('most_upvoted');
   const [page, setPage] = useState(0);
   const [hasMore, setHasMore] = useState(true);
   const [loading, setLoading] = useState(true); // Start with loading true
   const [error, setError] = useState(null);
   const [isCacheLoaded, setIsCacheLoaded] = useState(false); // To track if localStorage cache is loaded
+  const [votes, setVotes] = useState({}); // The signed-in user's votes: { [postId]: 'UP' | 'DOWN' }
+  const votesChecked = useRef(new Set()); // Post IDs already asked about
+  const signedOut = useRef(false);
 
   const observerRef = useRef();
 
@@ -108,6 +115,47 @@ export default function Bounties() {
     }
   }, [search, sortBy, isCacheLoaded, fetchPosts]); // `WorkspacePosts` is memoized
 
+  // Typeahead: ask the autocomplete endpoint while typing instead of running a full search per keystroke
+  useEffect(() => {
+    if (!query.trim() || query === search) {
+      setSuggestions([]);
+      return;
+    }
+    let cancelled = false;
+    const timer = setTimeout(async () => {
+      try {
+        const data = await getBountyPostSuggestions(query);
+        if (!cancelled) setSuggestions(data);
+      } catch {
+        if (!cancelled) setSuggestions([]);
+      }
+    }, 100);
+    return () => {
+      cancelled = true;
+      clearTimeout(timer);
+    };
+  }, [query, search]);
+
+  // Vote highlights: ask once per newly shown post, since the feed payload carries no per-user state
+  useEffect(() => {
+    if (signedOut.current) return;
+    const ids = posts.map(post => post.id).filter(id => id && !votesChecked.current.has(id)).slice(0, 100);
+    if (ids.length === 0) return;
+    ids.forEach(id => votesChecked.current.add(id));
+    getBountyPostVoteStates(ids)
+      .then(states => setVotes(prev => ({ ...prev, ...states })))
+      .catch(err => {
+        if (err.response?.status === 401 || err.response?.status === 403) signedOut.current = true;
+        else ids.forEach(id => votesChecked.current.delete(id));
+      });
+  }, [posts]);
+
+  const submitSearch = (value) => {
+    setQuery(value);
+    setSearch(value);
+    setSuggestions([]);
+  };
+
   // Effect 3: IntersectionObserver for infinite scrolling subsequent pages
   useEffect(() => {
     if (!hasMore || loading || !isCacheLoaded) return; // Don't observe if no more, loading, or cache not ready
@@ -141,14 +189,40 @@ export default function Bounties() {
     <div className="p-4 max-w-4xl mx-auto">
       {/* Search and Sort UI */}
       <div className="flex flex-col sm:flex-row justify-between mb-4 gap-2">
-        <input
-          type="text"
-          className="w-full sm:w-2/3 p-2 border border-gray-300 rounded-md shadow-sm focus:ring-indigo-500 focus:border-indigo-500"
-          placeholder="Search bounty posts..."
-          value={search}
-          onChange={(e) => setSearch(e.target.value)}
-          aria-label="Search bounty posts"
-        />
+        <form
+          className="relative w-full sm:w-2/3"
+          onSubmit={(e) => {
+            e.preventDefault();
+            submitSearch(query);
+          }}
+        >
+          <input
+            type="text"
+            className="w-full p-2 border border-gray-300 rounded-md shadow-sm focus:ring-indigo-500 focus:border-indigo-500"
+            placeholder="Search bounty posts..."
+            value={query}
+            onChange={(e) => {
+              setQuery(e.target.value);
+              if (!e.target.value.trim()) setSearch('');
+            }}
+            aria-label="Search bounty posts"
+          />
+          {suggestions.length > 0 && (
+            <ul className="absolute z-10 w-full mt-1 bg-white border border-gray-300 rounded-md shadow-lg">
+              {suggestions.map((suggestion) => (
+                <li key={suggestion.id}>
+                  <button
+                    type="button"
+                    className="w-full text-left px-3 py-2 hover:bg-gray-100"
+                    onClick={() => navigate(`/bounties/${suggestion.id}`)}
+                  >
+                    {suggestion.title}
+                  </button>
+                </li>
+              ))}
+            </ul>
+          )}
+        </form>
         <select
           className="w-full sm:w-1/3 p-2 border border-gray-300 rounded-md shadow-sm focus:ring-indigo-500 focus:border-indigo-500"
           value={sortBy}
@@ -164,7 +238,7 @@ export default function Bounties() {
       {posts.length > 0 && (
         <div className="grid grid-cols-1 sm:grid-cols-2 md:grid-cols-3 gap-4">
           {posts.map((post, index) => (
-            <BountyPost key={post.id || `post-${index}`} post={post} />
+            <BountyPost key={post.id || `post-${index}`} post={post} vote={votes[post.id]} />
           ))}
         </div>
       )}
@@ -1,6 +1,6 @@
 import React, { useEffect, useState, useRef, useCallback, useMemo } from 'react';
 import { useParams } from 'react-router-dom';
-import { getBountyPost, getComments, createComment, voteBountyPost } from '../api/Api';
+import { getBountyPost, getComments, createComment, voteBountyPost, getBountyPostVoteStates } from '../api/Api';
 import Comment from '../components/Comment';
 
 const PAGE_SIZE = 10;
@@ -8,6 +8,7 @@ const PAGE_SIZE = 10;
 export default function BountyDetail() {
   const { id } = useParams();
   const [post, setPost] = useState(null);
+  const [myVote, setMyVote] = useState(null); // 'UP', 'DOWN' or null
   const [comments, setComments] = useState([]);
   const [commentInput, setCommentInput] = useState('');
   const [page, setPage] = useState(0);
@@ -66,10 +67,27 @@ export default function BountyDetail() {
     }
   };
 
+  const fetchMyVote = async () => {
+    try {
+      const states = await getBountyPostVoteStates([id]);
+      setMyVote(states[id] ?? null);
+    } catch {
+      setMyVote(null); // Signed out
+    }
+  };
+
   const handleVote = async (type) => {
+    const vote = type === 'upvote' ? 'UP' : 'DOWN';
+    if (vote === myVote) return;
     try {
       await voteBountyPost(id, type);
-      fetchPost();
+      // Counters are flushed in the background, so refetching the post could still show the old counts
+      setPost(prev => ({
+        ...prev,
+        upvotes: prev.upvotes + (vote === 'UP' ? 1 : myVote === 'UP' ? -1 : 0),
+        downvotes: prev.downvotes + (vote === 'DOWN' ? 1 : myVote === 'DOWN' ? -1 : 0),
+      }));
+      setMyVote(vote);
     } catch (err) {
       console.error(`Error ${type}ing post:`, err);
     }
@@ -77,6 +95,7 @@ export default function BountyDetail() {
 
   useEffect(() => {
     fetchPost();
+    fetchMyVote();
     const savedCache = localStorage.getItem(CACHE_KEY);
     if (savedCache) {
       cache.current = JSON.parse(savedCache);
@@ -134,11 +153,17 @@ export default function BountyDetail() {
           <p className="text-gray-800 whitespace-pre-line mb-6">{post.description}</p>
           <div className="flex items-center space-x-4 text-sm text-gray-600 mb-4">
             <span>Bounty: <span className="text-green-600 font-semibold">${post.bountyPrice}</span></span>
-            <button onClick={() => handleVote('upvote')} className="flex items-center space-x-1">
+            <button
+              onClick={() => handleVote('upvote')}
+              className={`flex items-center space-x-1 ${myVote === 'UP' ? 'text-blue-600 font-semibold' : ''}`}
+            >
               <span>▲</span>
               <span>{post.upvotes}</span>
             </button>
-            <button onClick={() => handleVote('downvote')} className="flex items-center space-x-1">
+            <button
+              onClick={() => handleVote('downvote')}
+              className={`flex items-center space-x-1 ${myVote === 'DOWN' ? 'text-red-600 font-semibold' : ''}`}
+            >
               <span>▼</span>
               <span>{post.downvotes}</span>
             </button>
@@ -189,7 +189,7 @@ const UserSolutionPage = () => {
                   className="bg-white shadow-md rounded-xl p-6 hover:shadow-lg transition cursor-pointer"
                 >
                   <h3 className="text-lg font-semibold text-blue-700 mb-2">{post.title}</h3>
-                  <p className="text-gray-700 line-clamp-2">{post.description}</p>
+                  <p className="text-gray-700 line-clamp-2">{post.excerpt ?? post.description}</p>
                   <p className="text-sm text-gray-600 mt-2">
                     Bounty: <span className="text-green-600 font-semibold">${post.bountyPrice}</span>
                   </p>